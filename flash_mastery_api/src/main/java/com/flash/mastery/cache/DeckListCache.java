@@ -0,0 +1,80 @@
+package com.flash.mastery.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.flash.mastery.dto.response.DeckResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of deck list results keyed by the query tuple plus a version counter.
+ * Changes bump the version of the affected folder (and the global version used by
+ * unfiltered listings) after commit, so stale entries are never read again and simply
+ * age out through size/time eviction.
+ */
+@Component
+public class DeckListCache {
+
+    private static final String CACHE_NAME = "deckList";
+
+    private final Cache<Key, List<DeckResponse>> cache;
+    private final Map<UUID, AtomicLong> folderVersions = new ConcurrentHashMap<>();
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    public DeckListCache(
+            @Value("${flash-mastery.cache.deck-list.max-size:10000}") long maxSize,
+            @Value("${flash-mastery.cache.deck-list.expire-after-write:30s}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, CACHE_NAME);
+    }
+
+    /**
+     * Return the cached result for the query tuple or compute and cache it.
+     */
+    public List<DeckResponse> get(UUID folderId, String sort, int page, int size, String query, String mode,
+            Supplier<List<DeckResponse>> loader) {
+        final var key = new Key(folderId, sort, page, size, query, mode, currentVersion(folderId));
+        return this.cache.get(key, ignored -> loader.get());
+    }
+
+    /**
+     * Bump versions once the change is committed so readers never cache uncommitted state.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDeckListChanged(DeckListChangedEvent event) {
+        if (event.folderId() != null) {
+            this.folderVersions.computeIfAbsent(event.folderId(), id -> new AtomicLong()).incrementAndGet();
+        }
+        this.globalVersion.incrementAndGet();
+    }
+
+    private long currentVersion(UUID folderId) {
+        if (folderId == null) {
+            return this.globalVersion.get();
+        }
+        final var version = this.folderVersions.get(folderId);
+        return version != null ? version.get() : 0L;
+    }
+
+    private record Key(UUID folderId, String sort, int page, int size, String query, String mode, long version) {
+    }
+}
@@ -0,0 +1,12 @@
+package com.flash.mastery.cache;
+
+import java.util.UUID;
+
+/**
+ * Signals that decks of a folder changed (created, renamed, moved, deleted, imported
+ * or card counts updated), so cached deck lists for that folder are outdated.
+ *
+ * @param folderId the affected folder, or null for decks without a folder
+ */
+public record DeckListChangedEvent(UUID folderId) {
+}
@@ -0,0 +1,42 @@
+package com.flash.mastery.config;
+
+import java.sql.SQLException;
+import java.util.Locale;
+
+import javax.sql.DataSource;
+
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Detects the database vendor once at startup so services can choose between
+ * PostgreSQL-specific fast paths and portable fallbacks (e.g. the H2 test profile).
+ */
+@Component
+@Slf4j
+public class DatabaseFeatures {
+
+    private final boolean postgres;
+
+    public DatabaseFeatures(DataSource dataSource) {
+        this.postgres = detectPostgres(dataSource);
+    }
+
+    /**
+     * Whether the datasource is PostgreSQL (pg_trgm, COPY, advisory locks available).
+     */
+    public boolean isPostgres() {
+        return this.postgres;
+    }
+
+    private static boolean detectPostgres(DataSource dataSource) {
+        try (var connection = dataSource.getConnection()) {
+            final var product = connection.getMetaData().getDatabaseProductName();
+            return (product != null) && product.toLowerCase(Locale.ROOT).contains("postgresql");
+        } catch (SQLException ex) {
+            log.warn("Could not detect database vendor, using portable queries: {}", ex.getMessage());
+            return false;
+        }
+    }
+}
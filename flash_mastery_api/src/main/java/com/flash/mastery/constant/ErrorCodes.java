@@ -9,6 +9,8 @@ public final class ErrorCodes {
   public static final String DECK_NOT_FOUND = "DECK_NOT_FOUND";
   public static final String FLASHCARD_NOT_FOUND = "FLASHCARD_NOT_FOUND";
   public static final String SESSION_NOT_FOUND = "SESSION_NOT_FOUND";
+  public static final String IMPORT_JOB_NOT_FOUND = "IMPORT_JOB_NOT_FOUND";
+  public static final String IMPORT_UPLOAD_NOT_FOUND = "IMPORT_UPLOAD_NOT_FOUND";
 
   // ── Business logic ──
   public static final String FOLDER_SELF_REFERENCE = "FOLDER_SELF_REFERENCE";
@@ -19,6 +21,17 @@ public final class ErrorCodes {
   public static final String ALL_FLASHCARDS_STUDIED = "ALL_FLASHCARDS_STUDIED";
   public static final String FLASHCARD_NOT_IN_SESSION = "FLASHCARD_NOT_IN_SESSION";
   public static final String UNSUPPORTED_FILE_TYPE = "UNSUPPORTED_FILE_TYPE";
+  public static final String INVALID_CURSOR = "INVALID_CURSOR";
+  public static final String IMPORT_QUEUE_FULL = "IMPORT_QUEUE_FULL";
+  public static final String IMPORT_UPLOAD_INVALID = "IMPORT_UPLOAD_INVALID";
+  public static final String IMPORT_UPLOAD_INVALID_CHUNK = "IMPORT_UPLOAD_INVALID_CHUNK";
+  public static final String IMPORT_UPLOAD_INCOMPLETE = "IMPORT_UPLOAD_INCOMPLETE";
+  public static final String IMPORT_UPLOAD_CHECKSUM_MISMATCH = "IMPORT_UPLOAD_CHECKSUM_MISMATCH";
+  public static final String IMPORT_UPLOAD_COMPLETING = "IMPORT_UPLOAD_COMPLETING";
+  public static final String IMPORT_IN_PROGRESS = "IMPORT_IN_PROGRESS";
+  public static final String IMPORT_ZIP_INVALID = "IMPORT_ZIP_INVALID";
+  public static final String IMPORT_WORKBOOK_INVALID = "IMPORT_WORKBOOK_INVALID";
+  public static final String BUNDLE_INVALID = "BUNDLE_INVALID";
 
   // ── Generic (for Spring framework exceptions) ──
   public static final String VALIDATION_ERROR = "VALIDATION_ERROR";
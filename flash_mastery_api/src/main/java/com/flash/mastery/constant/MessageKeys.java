@@ -9,6 +9,8 @@ public final class MessageKeys {
   public static final String ERROR_DECK_NOT_FOUND = "error.deck_not_found";
   public static final String ERROR_FLASHCARD_NOT_FOUND = "error.flashcard_not_found";
   public static final String ERROR_SESSION_NOT_FOUND = "error.session_not_found";
+  public static final String ERROR_IMPORT_JOB_NOT_FOUND = "error.import_job_not_found";
+  public static final String ERROR_IMPORT_UPLOAD_NOT_FOUND = "error.import_upload_not_found";
 
   // ── Business logic ──
   public static final String ERROR_FOLDER_SELF_REFERENCE = "error.folder_self_reference";
@@ -19,6 +21,21 @@ public final class MessageKeys {
   public static final String ERROR_ALL_FLASHCARDS_STUDIED = "error.all_flashcards_studied";
   public static final String ERROR_FLASHCARD_NOT_IN_SESSION = "error.flashcard_not_in_session";
   public static final String ERROR_UNSUPPORTED_FILE_TYPE = "error.unsupported_file_type";
+  public static final String ERROR_INVALID_CURSOR = "error.invalid_cursor";
+  public static final String ERROR_IMPORT_QUEUE_FULL = "error.import_queue_full";
+  public static final String ERROR_IMPORT_UPLOAD_INVALID = "error.import_upload_invalid";
+  public static final String ERROR_IMPORT_UPLOAD_INVALID_CHUNK = "error.import_upload_invalid_chunk";
+  public static final String ERROR_IMPORT_UPLOAD_INCOMPLETE = "error.import_upload_incomplete";
+  public static final String ERROR_IMPORT_UPLOAD_CHECKSUM_MISMATCH = "error.import_upload_checksum_mismatch";
+  public static final String ERROR_IMPORT_UPLOAD_COMPLETING = "error.import_upload_completing";
+  public static final String ERROR_IMPORT_IN_PROGRESS = "error.import_in_progress";
+  public static final String ERROR_IMPORT_ZIP_INVALID = "error.import_zip_invalid";
+  public static final String ERROR_IMPORT_ZIP_ENTRY_TOO_LARGE = "error.import_zip_entry_too_large";
+  public static final String ERROR_IMPORT_ZIP_TOO_MANY_ENTRIES = "error.import_zip_too_many_entries";
+  public static final String ERROR_IMPORT_PART_FAILED = "error.import_part_failed";
+  public static final String ERROR_IMPORT_WORKBOOK_INVALID = "error.import_workbook_invalid";
+  public static final String ERROR_BUNDLE_INVALID = "error.bundle_invalid";
+  public static final String ERROR_BUNDLE_VERSION_UNSUPPORTED = "error.bundle_version_unsupported";
 
   // ── Generic ──
   public static final String ERROR_VALIDATION = "error.validation";
@@ -2,19 +2,29 @@ package com.flash.mastery.controller;
 
 import com.flash.mastery.dto.request.DeckCreateRequest;
 import com.flash.mastery.dto.request.DeckUpdateRequest;
+import com.flash.mastery.dto.response.BatchImportSummaryResponse;
+import com.flash.mastery.dto.response.CursorPageResponse;
 import com.flash.mastery.dto.response.DeckResponse;
 import com.flash.mastery.dto.response.ImportSummaryResponse;
 import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.service.BatchImportService;
+import com.flash.mastery.service.DeckExportService;
 import com.flash.mastery.service.DeckService;
+import com.flash.mastery.util.exporter.ExportFormat;
+import com.flash.mastery.util.importer.ImportErrorCsvWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -35,16 +45,39 @@ import org.springframework.web.multipart.MultipartFile;
 public class DeckController {
 
   private final DeckService deckService;
+  private final BatchImportService batchImportService;
+  private final DeckExportService deckExportService;
 
   @GetMapping
-  @Operation(summary = "List decks", description = "Optionally filter by folder", responses = @ApiResponse(responseCode = "200", description = "List of decks"))
+  @Operation(
+      summary = "List decks",
+      description = "Optionally filter by folder; mode=ranked orders name matches by similarity to q",
+      responses = @ApiResponse(responseCode = "200", description = "List of decks"))
   public List<DeckResponse> list(
       @RequestParam(value = "folderId", required = false) UUID folderId,
       @RequestParam(value = "sort", required = false, defaultValue = "latest") String sort,
       @RequestParam(value = "page", required = false, defaultValue = "0") int page,
       @RequestParam(value = "size", required = false, defaultValue = "20") int size,
-      @RequestParam(value = "q", required = false, defaultValue = "") String query) {
-    return deckService.getDecks(folderId, sort, page, size, query);
+      @RequestParam(value = "q", required = false, defaultValue = "") String query,
+      @RequestParam(value = "mode", required = false, defaultValue = "contains") String mode) {
+    return deckService.getDecks(folderId, sort, page, size, query, mode);
+  }
+
+  @GetMapping("/scroll")
+  @Operation(
+      summary = "Scroll decks with a cursor",
+      description = "Keyset pagination; pass the returned nextCursor as cursor to load the next window",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Window of decks"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public CursorPageResponse<DeckResponse> scroll(
+      @RequestParam(value = "folderId", required = false) UUID folderId,
+      @RequestParam(value = "sort", required = false, defaultValue = "latest") String sort,
+      @RequestParam(value = "size", required = false, defaultValue = "20") int size,
+      @RequestParam(value = "q", required = false, defaultValue = "") String query,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+    return deckService.scrollDecks(folderId, sort, size, query, cursor);
   }
 
   @GetMapping("/{id}")
@@ -89,22 +122,101 @@ public class DeckController {
   }
 
   @PostMapping("/import/{folderId}")
-  @Operation(summary = "Import decks + flashcards from CSV/Excel into a folder")
+  @Operation(
+      summary = "Import decks + flashcards from CSV/Excel/JSON Lines into a folder",
+      description = "bulk=true loads cards with PostgreSQL COPY (ignored on other databases); "
+          + "dryRun=true only validates the file and writes nothing. "
+          + "Re-submitting identical content with the same options replays the earlier summary (replayed=true)")
   public ImportSummaryResponse importDecks(
       @PathVariable UUID folderId,
       @RequestParam("file") MultipartFile file,
       @RequestParam(value = "type", defaultValue = "VOCABULARY") FlashcardType type,
-      @RequestParam(value = "skipHeader", defaultValue = "false") boolean skipHeader) throws java.io.IOException {
-    var result = deckService.importDecks(folderId, file, type, skipHeader);
-    return ImportSummaryResponse.builder()
-        .successCount(result.getCardsImported())
-        .cardsImported(result.getCardsImported())
-        .cardsSkippedDuplicate(result.getCardsSkippedDuplicate())
-        .invalidRows(result.getInvalidRows())
-        .decksCreated(result.getDecksCreated())
-        .decksSkipped(result.getDecksSkipped())
-        .skippedDeckNames(result.getSkippedDeckNames())
-        .errors(result.getErrors())
-        .build();
+      @RequestParam(value = "skipHeader", defaultValue = "false") boolean skipHeader,
+      @RequestParam(value = "bulk", defaultValue = "false") boolean bulk,
+      @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) throws java.io.IOException {
+    return dryRun
+        ? deckService.validateImport(folderId, file, type, skipHeader, null)
+        : deckService.importDecks(folderId, file, type, skipHeader, bulk);
+  }
+
+  @PostMapping("/import/{folderId}/zip")
+  @Operation(
+      summary = "Import every CSV/TSV/Excel/JSON Lines file of a ZIP archive into a folder",
+      description = "Files are imported concurrently, each in its own transaction; "
+          + "the response lists a summary or an error per file",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Per-file and total import summary"),
+        @ApiResponse(responseCode = "400", description = "Not a ZIP archive or no importable files", content = @Content(schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "404", description = "Folder not found", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public BatchImportSummaryResponse importZip(
+      @PathVariable UUID folderId,
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(value = "type", defaultValue = "VOCABULARY") FlashcardType type,
+      @RequestParam(value = "skipHeader", defaultValue = "false") boolean skipHeader,
+      @RequestParam(value = "bulk", defaultValue = "false") boolean bulk) throws java.io.IOException {
+    return batchImportService.importZip(folderId, file, type, skipHeader, bulk);
+  }
+
+  @PostMapping("/import/{folderId}/sheets")
+  @Operation(
+      summary = "Import every worksheet of an XLSX workbook into a folder, one deck per sheet",
+      description = "Each sheet becomes a deck named after the sheet (\"*Name\" rows still start other decks). "
+          + "Sheets are imported concurrently, each in its own transaction; "
+          + "the response lists a summary or an error per sheet",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Per-sheet and total import summary"),
+        @ApiResponse(responseCode = "400", description = "Not an XLSX workbook", content = @Content(schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "404", description = "Folder not found", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public BatchImportSummaryResponse importSheets(
+      @PathVariable UUID folderId,
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(value = "type", defaultValue = "VOCABULARY") FlashcardType type,
+      @RequestParam(value = "skipHeader", defaultValue = "false") boolean skipHeader,
+      @RequestParam(value = "bulk", defaultValue = "false") boolean bulk) throws java.io.IOException {
+    return batchImportService.importSheets(folderId, file, type, skipHeader, bulk);
+  }
+
+  @PostMapping("/import/{folderId}/errors")
+  @Operation(
+      summary = "Validate an import file without writing and download every error as CSV",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Error report (header only when the file is clean)"),
+        @ApiResponse(responseCode = "404", description = "Folder not found", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public void importErrorReport(
+      @PathVariable UUID folderId,
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(value = "type", defaultValue = "VOCABULARY") FlashcardType type,
+      @RequestParam(value = "skipHeader", defaultValue = "false") boolean skipHeader,
+      HttpServletResponse response) throws java.io.IOException {
+    // Errors are written to the response as they are found; nothing beyond the CSV buffer is kept.
+    // The response is only set up once validation produces output, so earlier failures render as JSON.
+    var report = new ImportErrorCsvWriter(() -> {
+      response.setContentType("text/csv");
+      response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+      response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+          ContentDisposition.attachment().filename("import-errors.csv").build().toString());
+      return response.getWriter();
+    });
+    deckService.validateImport(folderId, file, type, skipHeader, report);
+    report.finish();
+  }
+
+  @GetMapping("/{id}/export")
+  @Operation(
+      summary = "Export a deck to CSV or XLSX",
+      description = "Streams a \"*Deck name\" row followed by one row per card (question, answer, hint, type), "
+          + "the layout accepted by the import endpoints",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Deck file"),
+        @ApiResponse(responseCode = "404", description = "Deck not found", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public void export(
+      @PathVariable UUID id,
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+      HttpServletResponse response) throws java.io.IOException {
+    deckExportService.exportDeck(id, format, filename -> ExportResponses.open(response, format.getContentType(), filename));
   }
 }
@@ -0,0 +1,24 @@
+package com.flash.mastery.controller;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Sets up a response as a file download for an export.
+ */
+final class ExportResponses {
+
+  private ExportResponses() {
+  }
+
+  static OutputStream open(HttpServletResponse response, String contentType, String filename) throws IOException {
+    response.setContentType(contentType);
+    response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+        ContentDisposition.attachment().filename(filename, StandardCharsets.UTF_8).build().toString());
+    return response.getOutputStream();
+  }
+}
@@ -2,6 +2,7 @@ package com.flash.mastery.controller;
 
 import com.flash.mastery.dto.request.FlashcardCreateRequest;
 import com.flash.mastery.dto.request.FlashcardUpdateRequest;
+import com.flash.mastery.dto.response.CursorPageResponse;
 import com.flash.mastery.dto.response.FlashcardResponse;
 import com.flash.mastery.service.FlashcardService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -42,6 +43,33 @@ public class FlashcardController {
     return flashcardService.getByDeck(deckId, page, size);
   }
 
+  @GetMapping("/decks/{deckId}/cards/scroll")
+  @Operation(
+      summary = "Scroll flashcards by deck with a cursor",
+      description = "Keyset pagination newest first; pass the returned nextCursor as cursor to load the next window",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Window of flashcards"),
+        @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public CursorPageResponse<FlashcardResponse> scrollByDeck(
+      @PathVariable UUID deckId,
+      @RequestParam(value = "size", required = false, defaultValue = "50") int size,
+      @RequestParam(value = "cursor", required = false) String cursor) {
+    return flashcardService.scrollByDeck(deckId, size, cursor);
+  }
+
+  @GetMapping("/cards/search")
+  @Operation(
+      summary = "Search flashcards by content",
+      description = "Full-text search over question, answer and hint; accents and case are ignored",
+      responses = @ApiResponse(responseCode = "200", description = "Matching flashcards, best first"))
+  public List<FlashcardResponse> search(
+      @RequestParam("q") String query,
+      @RequestParam(value = "deckId", required = false) UUID deckId,
+      @RequestParam(value = "limit", required = false, defaultValue = "20") int limit) {
+    return flashcardService.search(query, deckId, limit);
+  }
+
   @GetMapping("/cards/{id}")
   @Operation(
       summary = "Get flashcard detail",
@@ -2,13 +2,19 @@ package com.flash.mastery.controller;
 
 import com.flash.mastery.dto.request.FolderCreateRequest;
 import com.flash.mastery.dto.request.FolderUpdateRequest;
+import com.flash.mastery.dto.response.BundleRestoreResponse;
 import com.flash.mastery.dto.response.FolderResponse;
+import com.flash.mastery.service.DeckBundleService;
+import com.flash.mastery.service.DeckExportService;
 import com.flash.mastery.service.FolderService;
+import com.flash.mastery.util.bundle.BundleFormat;
+import com.flash.mastery.util.exporter.ExportFormat;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import java.util.List;
 import java.util.UUID;
@@ -24,6 +30,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("/api/v1/folders")
@@ -32,6 +39,8 @@ import org.springframework.web.bind.annotation.RestController;
 public class FolderController {
 
   private final FolderService folderService;
+  private final DeckExportService deckExportService;
+  private final DeckBundleService deckBundleService;
 
   @GetMapping
   @Operation(summary = "List folders", responses = @ApiResponse(responseCode = "200", description = "List of folders"))
@@ -79,4 +88,51 @@ public class FolderController {
   public void delete(@PathVariable UUID id) {
     folderService.delete(id);
   }
+
+  @GetMapping("/{id}/export")
+  @Operation(
+      summary = "Export every deck of a folder and its sub-folders to CSV or XLSX",
+      description = "Decks are written one after another in the import layout, in natural name order",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Folder file"),
+        @ApiResponse(responseCode = "404", description = "Folder not found", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public void export(
+      @PathVariable UUID id,
+      @RequestParam(value = "format", defaultValue = "CSV") ExportFormat format,
+      HttpServletResponse response) throws java.io.IOException {
+    deckExportService.exportFolder(id, format, filename -> ExportResponses.open(response, format.getContentType(), filename));
+  }
+
+  @GetMapping("/{id}/bundle")
+  @Operation(
+      summary = "Back up a folder, its sub-folders, decks and cards to a compact binary bundle",
+      description = "sessions=true also includes the study sessions and their progress",
+      responses = {
+        @ApiResponse(responseCode = "200", description = "Bundle file"),
+        @ApiResponse(responseCode = "404", description = "Folder not found", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public void exportBundle(
+      @PathVariable UUID id,
+      @RequestParam(value = "sessions", defaultValue = "false") boolean sessions,
+      HttpServletResponse response) throws java.io.IOException {
+    deckBundleService.exportFolder(id, sessions,
+        filename -> ExportResponses.open(response, BundleFormat.CONTENT_TYPE, filename));
+  }
+
+  @PostMapping("/bundle")
+  @ResponseStatus(HttpStatus.CREATED)
+  @Operation(
+      summary = "Restore a bundle as new folders, under parentId or at the root",
+      responses = {
+        @ApiResponse(responseCode = "201", description = "Bundle restored"),
+        @ApiResponse(responseCode = "400", description = "Not a bundle, corrupt, or from a newer version",
+            content = @Content(schema = @Schema(hidden = true))),
+        @ApiResponse(responseCode = "404", description = "Parent folder not found", content = @Content(schema = @Schema(hidden = true)))
+      })
+  public BundleRestoreResponse restoreBundle(
+      @RequestParam("file") MultipartFile file,
+      @RequestParam(value = "parentId", required = false) UUID parentId) throws java.io.IOException {
+    return deckBundleService.restore(parentId, file);
+  }
 }
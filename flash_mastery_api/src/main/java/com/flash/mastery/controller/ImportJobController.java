@@ -0,0 +1,70 @@
+package com.flash.mastery.controller;
+
+import com.flash.mastery.dto.response.ImportJobResponse;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.service.ImportJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+@RestController
+@RequestMapping("/api/v1/import-jobs")
+@RequiredArgsConstructor
+@Tag(name = "Import Jobs", description = "Run deck imports in the background")
+public class ImportJobController {
+
+    private final ImportJobService importJobService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(
+            summary = "Start an asynchronous import of decks + flashcards from CSV/Excel into a folder",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Import job queued"),
+                    @ApiResponse(responseCode = "404", description = "Folder not found", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "503", description = "Import queue full", content = @Content(schema = @Schema(hidden = true)))
+            })
+    public ImportJobResponse submit(
+            @RequestParam("folderId") UUID folderId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(value = "type", defaultValue = "VOCABULARY") FlashcardType type,
+            @RequestParam(value = "skipHeader", defaultValue = "false") boolean skipHeader) throws IOException {
+        return importJobService.submit(folderId, file, type, skipHeader);
+    }
+
+    @GetMapping("/{jobId}")
+    @Operation(
+            summary = "Get import job status and progress",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import job found"),
+                    @ApiResponse(responseCode = "404", description = "Import job not found", content = @Content(schema = @Schema(hidden = true)))
+            })
+    public ImportJobResponse getJob(@PathVariable UUID jobId) {
+        return importJobService.getJob(jobId);
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    @Operation(
+            summary = "Cancel an import job; chunks already committed are kept",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cancellation requested"),
+                    @ApiResponse(responseCode = "404", description = "Import job not found", content = @Content(schema = @Schema(hidden = true)))
+            })
+    public ImportJobResponse cancel(@PathVariable UUID jobId) {
+        return importJobService.cancel(jobId);
+    }
+}
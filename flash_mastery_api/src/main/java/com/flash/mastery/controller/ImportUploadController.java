@@ -0,0 +1,89 @@
+package com.flash.mastery.controller;
+
+import com.flash.mastery.dto.request.ImportUploadCreateRequest;
+import com.flash.mastery.dto.response.ImportJobResponse;
+import com.flash.mastery.dto.response.ImportUploadResponse;
+import com.flash.mastery.service.ImportUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/v1/import-uploads")
+@RequiredArgsConstructor
+@Tag(name = "Import Uploads", description = "Upload large import files in resumable chunks")
+public class ImportUploadController {
+
+    private final ImportUploadService importUploadService;
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    @Operation(
+            summary = "Start a resumable upload of a CSV/TSV (optionally .gz) or XLSX import file",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Upload created"),
+                    @ApiResponse(responseCode = "400", description = "Unsupported file type or size out of range", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "404", description = "Folder not found", content = @Content(schema = @Schema(hidden = true)))
+            })
+    public ImportUploadResponse create(@Valid @RequestBody ImportUploadCreateRequest request) {
+        return importUploadService.create(request);
+    }
+
+    @PutMapping(value = "/{uploadId}/chunks/{index}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+            summary = "Store one chunk (raw bytes); re-sending a chunk replaces it",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Chunk stored"),
+                    @ApiResponse(responseCode = "400", description = "Chunk index or length invalid", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "404", description = "Upload not found", content = @Content(schema = @Schema(hidden = true)))
+            })
+    public ImportUploadResponse putChunk(
+            @PathVariable UUID uploadId,
+            @PathVariable int index,
+            InputStream body) throws IOException {
+        return importUploadService.putChunk(uploadId, index, body);
+    }
+
+    @GetMapping("/{uploadId}")
+    @Operation(
+            summary = "Get upload status, including the chunks received so far",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Upload found"),
+                    @ApiResponse(responseCode = "404", description = "Upload not found", content = @Content(schema = @Schema(hidden = true)))
+            })
+    public ImportUploadResponse getUpload(@PathVariable UUID uploadId) throws IOException {
+        return importUploadService.getUpload(uploadId);
+    }
+
+    @PostMapping("/{uploadId}/complete")
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @Operation(
+            summary = "Assemble the chunks, verify the SHA-256 checksum and start an import job",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Import job queued"),
+                    @ApiResponse(responseCode = "400", description = "Chunks missing or checksum mismatch", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "404", description = "Upload not found", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "409", description = "Upload is already being completed", content = @Content(schema = @Schema(hidden = true))),
+                    @ApiResponse(responseCode = "503", description = "Import queue full", content = @Content(schema = @Schema(hidden = true)))
+            })
+    public ImportJobResponse complete(@PathVariable UUID uploadId) throws IOException {
+        return importUploadService.complete(uploadId);
+    }
+}
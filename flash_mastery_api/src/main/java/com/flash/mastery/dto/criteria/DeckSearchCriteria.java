@@ -1,7 +1,10 @@
 package com.flash.mastery.dto.criteria;
 
+import java.util.Locale;
 import java.util.UUID;
 
+import com.flash.mastery.util.DeckSearchMode;
+
 import lombok.Builder;
 import lombok.Value;
 
@@ -11,8 +14,13 @@ import lombok.Value;
 @Value
 @Builder
 public class DeckSearchCriteria {
+    /** Escape character used in LIKE patterns built from the query. */
+    public static final char LIKE_ESCAPE = '!';
+
     UUID folderId;
     String query;
+    @Builder.Default
+    DeckSearchMode mode = DeckSearchMode.CONTAINS;
 
     /**
      * Check if folder filter is applied.
@@ -34,6 +42,45 @@ public class DeckSearchCriteria {
     public boolean hasAnyFilter() {
         return hasFolderFilter() || hasQueryFilter();
     }
+
+    /**
+     * Check if matches should be ranked by similarity to the query.
+     */
+    public boolean isRankedSearch() {
+        return (mode == DeckSearchMode.RANKED) && hasQueryFilter();
+    }
+
+    /**
+     * Trimmed, lower-cased query used for similarity ranking.
+     */
+    public String getNormalizedQuery() {
+        return hasQueryFilter() ? query.trim().toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Substring LIKE pattern for the normalized query, escaped with {@link #LIKE_ESCAPE}.
+     */
+    public String getContainsPattern() {
+        return "%" + escapeLike(getNormalizedQuery()) + "%";
+    }
+
+    /**
+     * Prefix LIKE pattern for the normalized query, escaped with {@link #LIKE_ESCAPE}.
+     */
+    public String getPrefixPattern() {
+        return escapeLike(getNormalizedQuery()) + "%";
+    }
+
+    private static String escapeLike(String value) {
+        final var escaped = new StringBuilder(value.length());
+        for (final char c : value.toCharArray()) {
+            if ((c == '%') || (c == '_') || (c == LIKE_ESCAPE)) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
 }
 
 
@@ -0,0 +1,18 @@
+package com.flash.mastery.dto.projection;
+
+import java.util.UUID;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * One card written to a bundle. The id is only used to point sessions at the card's
+ * position in its deck; it is not written.
+ */
+public record BundleCardRow(
+        UUID id,
+        UUID deckId,
+        String question,
+        String answer,
+        String hint,
+        FlashcardType type) {
+}
@@ -0,0 +1,16 @@
+package com.flash.mastery.dto.projection;
+
+import java.util.UUID;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * One deck written to a bundle, selected straight from JPQL.
+ */
+public record BundleDeckRow(
+        UUID id,
+        UUID folderId,
+        String name,
+        String description,
+        FlashcardType type) {
+}
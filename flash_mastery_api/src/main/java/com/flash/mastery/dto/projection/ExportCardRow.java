@@ -0,0 +1,19 @@
+package com.flash.mastery.dto.projection;
+
+import java.util.UUID;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * One exported card with its deck, selected straight from JPQL so an export never
+ * manages entities or initializes {@code Deck.flashcards}. The card fields are null
+ * for a deck without cards.
+ */
+public record ExportCardRow(
+        UUID deckId,
+        String deckName,
+        String question,
+        String answer,
+        String hint,
+        FlashcardType type) {
+}
@@ -0,0 +1,20 @@
+package com.flash.mastery.dto.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only folder row selected straight from JPQL, including the number of direct
+ * sub-folders so listings never initialize {@code Folder.children}.
+ */
+public record FolderSummary(
+        UUID id,
+        String name,
+        String description,
+        String color,
+        int deckCount,
+        UUID parentId,
+        long subFolderCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
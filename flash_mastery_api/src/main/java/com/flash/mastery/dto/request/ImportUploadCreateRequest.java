@@ -0,0 +1,37 @@
+package com.flash.mastery.dto.request;
+
+import com.flash.mastery.constant.ValidationConstants;
+import com.flash.mastery.entity.FlashcardType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import java.util.UUID;
+import lombok.Data;
+
+@Data
+public class ImportUploadCreateRequest {
+  @NotNull
+  private UUID folderId;
+
+  @NotBlank
+  @Size(max = ValidationConstants.NAME_MAX_LENGTH)
+  private String filename;
+
+  @Positive
+  private long totalSize;
+
+  @Positive
+  private int chunkSize;
+
+  /** Hex SHA-256 of the whole file, verified once all chunks are in. */
+  @NotBlank
+  @Pattern(regexp = "[0-9a-fA-F]{64}")
+  private String checksum;
+
+  @NotNull
+  private FlashcardType type = FlashcardType.VOCABULARY;
+
+  private boolean skipHeader;
+}
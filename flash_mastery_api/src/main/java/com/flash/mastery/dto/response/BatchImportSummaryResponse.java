@@ -0,0 +1,41 @@
+package com.flash.mastery.dto.response;
+
+import java.util.List;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Result of an import made of several independently committed parts: the files of a
+ * ZIP archive or the worksheets of a workbook.
+ */
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+public class BatchImportSummaryResponse {
+    int partsImported;
+    int partsFailed;
+    int decksCreated;
+    int decksSkipped;
+    int cardsImported;
+    int cardsSkippedDuplicate;
+    int invalidRows;
+    /** One entry per part, in archive or workbook order. */
+    List<PartResult> parts;
+
+    @Value
+    @Builder
+    @Jacksonized
+    @AllArgsConstructor(access = AccessLevel.PUBLIC)
+    public static class PartResult {
+        /** Path of the file inside the archive, or the sheet name. */
+        String name;
+        /** Null when the part failed; its changes were rolled back. */
+        ImportSummaryResponse summary;
+        String error;
+    }
+}
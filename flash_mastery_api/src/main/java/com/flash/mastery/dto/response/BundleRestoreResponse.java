@@ -0,0 +1,25 @@
+package com.flash.mastery.dto.response;
+
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Result of restoring a deck bundle. Everything restored has new ids.
+ */
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+public class BundleRestoreResponse {
+    /** The restored top folder; null when the bundle held decks only. */
+    UUID rootFolderId;
+    int foldersRestored;
+    int decksRestored;
+    int cardsRestored;
+    int sessionsRestored;
+}
@@ -0,0 +1,20 @@
+package com.flash.mastery.dto.response;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * One window of a keyset-paginated listing. Pass {@code nextCursor} back as
+ * {@code cursor} to fetch the following window; it is null on the last one.
+ */
+@Value
+@Builder
+@Jacksonized
+public class CursorPageResponse<T> {
+    List<T> items;
+    String nextCursor;
+    boolean hasNext;
+}
@@ -0,0 +1,38 @@
+package com.flash.mastery.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.flash.mastery.entity.enums.ImportJobStatus;
+import com.flash.mastery.util.importer.ImportError;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+public class ImportJobResponse {
+    UUID id;
+    UUID folderId;
+    String filename;
+    ImportJobStatus status;
+    boolean cancelRequested;
+    int rowsParsed;
+    int cardsImported;
+    int decksCreated;
+    int decksSkipped;
+    int cardsSkippedDuplicate;
+    int invalidRows;
+    List<ImportError> errors;
+    boolean errorsTruncated;
+    String errorMessage;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    LocalDateTime finishedAt;
+}
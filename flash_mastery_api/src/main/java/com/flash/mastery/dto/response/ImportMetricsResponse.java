@@ -0,0 +1,31 @@
+package com.flash.mastery.dto.response;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Where the time of an import went. Read covers parsing and mapping, dedup the batched
+ * duplicate lookups and persist the inserts; flushes are the individual card batch inserts.
+ */
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+public class ImportMetricsResponse {
+    long elapsedMillis;
+    long readMillis;
+    long mapMillis;
+    long dedupMillis;
+    long persistMillis;
+    long flushMillis;
+    int flushCount;
+    long flushMaxMillis;
+    int rowsRead;
+    double rowsPerSecond;
+    long bytesRead;
+    int peakBufferedRows;
+    int chunkSize;
+}
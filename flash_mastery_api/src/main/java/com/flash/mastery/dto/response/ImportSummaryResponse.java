@@ -2,11 +2,16 @@ package com.flash.mastery.dto.response;
 
 import java.util.List;
 import com.flash.mastery.util.importer.ImportError;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 @Value
-@Builder
+@Builder(toBuilder = true)
+@Jacksonized
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
 public class ImportSummaryResponse {
     int successCount;
     int decksCreated;
@@ -16,4 +21,10 @@ public class ImportSummaryResponse {
     int cardsSkippedDuplicate;
     int invalidRows;
     List<ImportError> errors;
+    /** True when more errors occurred than are listed in errors (see invalidRows). */
+    boolean errorsTruncated;
+    /** True when this is the stored summary of an identical earlier import. */
+    boolean replayed;
+    /** Stage timings and throughput of the run; absent for replayed summaries. */
+    ImportMetricsResponse metrics;
 }
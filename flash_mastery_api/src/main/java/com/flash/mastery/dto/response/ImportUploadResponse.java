@@ -0,0 +1,29 @@
+package com.flash.mastery.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor(access = AccessLevel.PUBLIC)
+public class ImportUploadResponse {
+    UUID id;
+    UUID folderId;
+    String filename;
+    long totalSize;
+    int chunkSize;
+    int totalChunks;
+    /** Indexes of the chunks stored so far; a resuming client sends the rest. */
+    List<Integer> receivedChunks;
+    UUID jobId;
+    LocalDateTime createdAt;
+    LocalDateTime expiresAt;
+}
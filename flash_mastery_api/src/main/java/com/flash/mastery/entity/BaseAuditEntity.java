@@ -3,6 +3,8 @@ package com.flash.mastery.entity;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import com.flash.mastery.util.TimeOrderedUuid;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Id;
 import jakarta.persistence.MappedSuperclass;
@@ -32,7 +34,7 @@ public abstract class BaseAuditEntity {
     @PrePersist
     protected void onCreate() {
         if (this.id == null) {
-            this.id = UUID.randomUUID();
+            this.id = TimeOrderedUuid.next();
         }
         final var now = LocalDateTime.now();
         this.createdAt = now;
@@ -4,6 +4,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import com.flash.mastery.constant.ValidationConstants;
+import com.flash.mastery.util.NaturalSortKey;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -14,6 +15,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,10 +38,14 @@ public class Deck extends BaseAuditEntity {
     @Column(name = "name", nullable = false, length = ValidationConstants.NAME_MAX_LENGTH)
     private String name;
 
+    @Column(name = "name_sort_key", length = NaturalSortKey.MAX_LENGTH)
+    private String nameSortKey;
+
     @Column(name = "description")
     private String description;
 
-    @Column(name = "card_count", nullable = false)
+    /** Maintained only by atomic SQL updates (DeckRepository.adjustCardCount). */
+    @Column(name = "card_count", nullable = false, updatable = false)
     private int cardCount;
 
     @Enumerated(EnumType.STRING)
@@ -55,4 +62,13 @@ public class Deck extends BaseAuditEntity {
     @ToString.Exclude
     @Default
     private Set<Flashcard> flashcards = new HashSet<>();
+
+    /**
+     * Keep the natural-order sort key in sync with the name before persisting or updating.
+     */
+    @PrePersist
+    @PreUpdate
+    private void refreshNameSortKey() {
+        this.nameSortKey = NaturalSortKey.of(this.name);
+    }
 }
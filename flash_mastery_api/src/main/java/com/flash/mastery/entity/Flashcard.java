@@ -1,5 +1,7 @@
 package com.flash.mastery.entity;
 
+import com.flash.mastery.util.TermHash;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -7,6 +9,8 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,6 +36,10 @@ public class Flashcard extends BaseAuditEntity {
   @Column(name = "question", nullable = false)
   private String question;
 
+  /** Normalized question hash for duplicate lookups; see {@link TermHash}. */
+  @Column(name = "term_hash", length = TermHash.LENGTH)
+  private String termHash;
+
   @Column(name = "answer", nullable = false)
   private String answer;
 
@@ -41,4 +49,13 @@ public class Flashcard extends BaseAuditEntity {
   @Enumerated(EnumType.STRING)
   @Column(name = "type", nullable = true, length = 32)
   private FlashcardType type;
+
+  /**
+   * Keep the term hash in sync with the question before persisting or updating.
+   */
+  @PrePersist
+  @PreUpdate
+  private void refreshTermHash() {
+    this.termHash = TermHash.of(this.question);
+  }
 }
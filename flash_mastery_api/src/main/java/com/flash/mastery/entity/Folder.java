@@ -37,7 +37,8 @@ public class Folder extends BaseAuditEntity {
   @Column(name = "color", length = ValidationConstants.COLOR_MAX_LENGTH)
   private String color;
 
-  @Column(name = "deck_count", nullable = false)
+  /** Maintained only by atomic SQL updates (FolderRepository.adjustDeckCount). */
+  @Column(name = "deck_count", nullable = false, updatable = false)
   private int deckCount;
 
   @ManyToOne(fetch = FetchType.LAZY)
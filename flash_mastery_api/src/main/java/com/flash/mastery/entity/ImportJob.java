@@ -0,0 +1,133 @@
+package com.flash.mastery.entity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.hibernate.annotations.DynamicUpdate;
+
+import com.flash.mastery.entity.enums.ImportJobStatus;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Builder.Default;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * An asynchronous deck import. Progress counters and the resume checkpoint are
+ * updated in the same transaction as each committed chunk. Updates write only the
+ * changed columns, so a checkpoint never resets a concurrently set cancel flag.
+ */
+@Entity
+@DynamicUpdate
+@Table(name = "import_jobs")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJob extends BaseAuditEntity {
+
+    @Column(name = "folder_id", nullable = false)
+    private UUID folderId;
+
+    @Column(name = "filename", nullable = false)
+    private String filename;
+
+    @Column(name = "spool_path", nullable = false, length = 1024)
+    private String spoolPath;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flashcard_type", nullable = false, length = 32)
+    private FlashcardType flashcardType;
+
+    @Column(name = "skip_header", nullable = false)
+    private boolean skipHeader;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Default
+    private ImportJobStatus status = ImportJobStatus.QUEUED;
+
+    @Column(name = "cancel_requested", nullable = false)
+    private boolean cancelRequested;
+
+    /** Instance holding the job; another may take it once the heartbeat is older than the lease. */
+    @Column(name = "lease_owner", length = 64)
+    private String owner;
+
+    @Column(name = "heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "rows_parsed", nullable = false)
+    private int rowsParsed;
+
+    @Column(name = "cards_imported", nullable = false)
+    private int cardsImported;
+
+    @Column(name = "decks_created", nullable = false)
+    private int decksCreated;
+
+    @Column(name = "decks_skipped", nullable = false)
+    private int decksSkipped;
+
+    @Column(name = "cards_skipped_duplicate", nullable = false)
+    private int cardsSkippedDuplicate;
+
+    @Column(name = "invalid_rows", nullable = false)
+    private int invalidRows;
+
+    /** Last physical row whose effects are committed; a resumed run starts after it. */
+    @Column(name = "last_committed_row", nullable = false)
+    private int lastCommittedRow;
+
+    /** Deck being filled at the checkpoint, if any. */
+    @Column(name = "current_deck_id")
+    private UUID currentDeckId;
+
+    @Column(name = "skip_current_deck", nullable = false)
+    private boolean skipCurrentDeck;
+
+    @Column(name = "default_deck_skip_logged", nullable = false)
+    private boolean defaultDeckSkipLogged;
+
+    /** Decks created by the job by lower-cased name; JSON Lines cards may switch back to them. */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "import_job_decks", joinColumns = @JoinColumn(name = "job_id"))
+    @MapKeyColumn(name = "name_key")
+    @Column(name = "deck_id", nullable = false)
+    @ToString.Exclude
+    @Default
+    private Map<String, UUID> openedDecks = new HashMap<>();
+
+    @Column(name = "error_message", length = 1024)
+    private String errorMessage;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @OneToMany(mappedBy = "job", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("rowIndex ASC")
+    @ToString.Exclude
+    @Default
+    private List<ImportJobError> errors = new ArrayList<>();
+}
@@ -0,0 +1,46 @@
+package com.flash.mastery.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * One entry of an import job's capped error sample.
+ */
+@Entity
+@Table(name = "import_job_errors")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobError extends BaseAuditEntity {
+
+    public static final int MESSAGE_LENGTH = 1024;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "job_id", nullable = false)
+    @ToString.Exclude
+    private ImportJob job;
+
+    @Column(name = "row_index", nullable = false)
+    private int rowIndex;
+
+    @Column(name = "message", length = MESSAGE_LENGTH)
+    private String message;
+
+    @Column(name = "deck_name")
+    private String deckName;
+
+    @Column(name = "term")
+    private String term;
+}
@@ -0,0 +1,48 @@
+package com.flash.mastery.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A completed synchronous import, keyed by the SHA-256 of the uploaded file and the
+ * options that affect its outcome. Holds the JSON summary returned to the client.
+ */
+@Entity
+@Table(name = "import_ledger", uniqueConstraints = @UniqueConstraint(
+        name = "uq_import_ledger_submission",
+        columnNames = {"folder_id", "content_hash", "flashcard_type", "skip_header"}))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportLedgerEntry extends BaseAuditEntity {
+
+    @Column(name = "folder_id", nullable = false)
+    private UUID folderId;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flashcard_type", nullable = false, length = 32)
+    private FlashcardType flashcardType;
+
+    @Column(name = "skip_header", nullable = false)
+    private boolean skipHeader;
+
+    /** ImportSummaryResponse as JSON; null until the import finishes in the same transaction. */
+    @Column(name = "summary", columnDefinition = "TEXT")
+    private String summary;
+}
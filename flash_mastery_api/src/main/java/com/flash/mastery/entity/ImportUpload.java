@@ -0,0 +1,67 @@
+package com.flash.mastery.entity;
+
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A resumable chunked upload. Chunks live on disk next to the import spool; this row
+ * records the expected layout and checksum, and the import job once completed.
+ */
+@Entity
+@Table(name = "import_uploads")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportUpload extends BaseAuditEntity {
+
+    @Column(name = "folder_id", nullable = false)
+    private UUID folderId;
+
+    @Column(name = "filename", nullable = false)
+    private String filename;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "flashcard_type", nullable = false, length = 32)
+    private FlashcardType flashcardType;
+
+    @Column(name = "skip_header", nullable = false)
+    private boolean skipHeader;
+
+    @Column(name = "total_size", nullable = false)
+    private long totalSize;
+
+    @Column(name = "chunk_size", nullable = false)
+    private int chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private int totalChunks;
+
+    /** Lower-case hex SHA-256 of the whole file. */
+    @Column(name = "checksum", nullable = false, length = 64)
+    private String checksum;
+
+    /** Import job started from the assembled file; null while chunks are still arriving. */
+    @Column(name = "job_id")
+    private UUID jobId;
+
+    /**
+     * Expected length of a chunk; only the last one may be shorter.
+     */
+    public long expectedChunkLength(int index) {
+        return index < this.totalChunks - 1
+                ? this.chunkSize
+                : this.totalSize - (long) this.chunkSize * (this.totalChunks - 1);
+    }
+}
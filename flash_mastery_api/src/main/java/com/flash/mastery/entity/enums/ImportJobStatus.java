@@ -0,0 +1,35 @@
+package com.flash.mastery.entity.enums;
+
+/**
+ * Lifecycle of an asynchronous import job.
+ */
+public enum ImportJobStatus {
+    /**
+     * Upload spooled, waiting for an executor thread.
+     */
+    QUEUED,
+
+    /**
+     * Rows are being parsed and committed in chunks.
+     */
+    RUNNING,
+
+    /**
+     * All rows processed.
+     */
+    COMPLETED,
+
+    /**
+     * Stopped by an error; chunks committed before it are kept.
+     */
+    FAILED,
+
+    /**
+     * Stopped on request; chunks committed before it are kept.
+     */
+    CANCELLED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,14 @@
+package com.flash.mastery.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class ServiceUnavailableException extends BusinessException {
+
+    public ServiceUnavailableException(String errorCode, String messageKey) {
+        super(messageKey, errorCode, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    public ServiceUnavailableException(String errorCode, String messageKey, String logMessage) {
+        super(messageKey, errorCode, HttpStatus.SERVICE_UNAVAILABLE, logMessage);
+    }
+}
@@ -0,0 +1,38 @@
+package com.flash.mastery.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FolderRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly safety net for the denormalized deck/folder counters. Counters are kept
+ * current by atomic increments, so this normally finds nothing to fix; it repairs
+ * drift left behind by manual data changes or out-of-band bulk loads.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CounterReconciliationJob {
+
+    private final DeckRepository deckRepository;
+    private final FolderRepository folderRepository;
+
+    @Scheduled(cron = "${flash-mastery.reconciliation.cron:0 30 3 * * *}")
+    @Transactional
+    public void reconcile() {
+        final var decksFixed = this.deckRepository.reconcileCardCounts();
+        final var foldersFixed = this.folderRepository.reconcileDeckCounts();
+        if ((decksFixed > 0) || (foldersFixed > 0)) {
+            log.warn("Counter reconciliation corrected {} deck card count(s) and {} folder deck count(s)",
+                    decksFixed, foldersFixed);
+        } else {
+            log.info("Counter reconciliation found no drift");
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.flash.mastery.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.flash.mastery.service.impl.ImportLedger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes import ledger entries past their time-to-live; lookups already ignore them.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportLedgerCleanupJob {
+
+    private final ImportLedger importLedger;
+
+    @Scheduled(cron = "${flash-mastery.import.ledger.cleanup-cron:0 45 * * * *}")
+    public void purge() {
+        final var purged = this.importLedger.purgeExpired();
+        if (purged > 0) {
+            log.info("Purged {} expired import ledger entries", purged);
+        }
+    }
+}
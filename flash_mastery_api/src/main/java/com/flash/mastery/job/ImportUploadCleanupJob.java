@@ -0,0 +1,35 @@
+package com.flash.mastery.job;
+
+import java.io.IOException;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.flash.mastery.service.ImportUploadService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Removes resumable uploads that were abandoned or completed long ago, so their
+ * spooled chunks do not accumulate on disk.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportUploadCleanupJob {
+
+    private final ImportUploadService importUploadService;
+
+    @Scheduled(cron = "${flash-mastery.import.upload.cleanup-cron:0 15 * * * *}")
+    public void purge() {
+        try {
+            final var purged = this.importUploadService.purgeExpired();
+            if (purged > 0) {
+                log.info("Purged {} expired import upload(s)", purged);
+            }
+        } catch (IOException ex) {
+            log.warn("Purging expired import uploads failed", ex);
+        }
+    }
+}
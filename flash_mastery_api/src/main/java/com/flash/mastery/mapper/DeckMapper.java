@@ -31,6 +31,7 @@ public interface DeckMapper {
   @Mapping(target = "cardCount", expression = "java(NumberConstants.ZERO)")
   @Mapping(target = "type", expression = "java(request.getType() != null ? request.getType() : com.flash.mastery.entity.FlashcardType.VOCABULARY)")
   @Mapping(target = "folder", source = "folder")
+  @Mapping(target = "nameSortKey", ignore = true)
   @Mapping(target = "flashcards", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
@@ -43,6 +44,7 @@ public interface DeckMapper {
   @Mapping(target = "folder", source = "folder")
   @Mapping(target = "cardCount", ignore = true)
   @Mapping(target = "type", ignore = true)
+  @Mapping(target = "nameSortKey", ignore = true)
   @Mapping(target = "flashcards", ignore = true)
   @Mapping(target = "createdAt", ignore = true)
   @Mapping(target = "updatedAt", ignore = true)
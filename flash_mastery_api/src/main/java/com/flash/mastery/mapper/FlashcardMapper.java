@@ -26,6 +26,7 @@ public interface FlashcardMapper {
     @Mapping(target = "answer", source = "request.answer")
     @Mapping(target = "hint", source = "request.hint")
     @Mapping(target = "type", expression = "java(request.getType() != null ? request.getType() : FlashcardType.VOCABULARY)")
+    @Mapping(target = "termHash", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     Flashcard fromCreate(FlashcardCreateRequest request, Deck deck);
@@ -33,6 +34,7 @@ public interface FlashcardMapper {
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deck", ignore = true)
+    @Mapping(target = "termHash", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "type", expression = "java(request.getType() != null ? request.getType() : flashcard.getType())")
@@ -8,6 +8,7 @@ import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 import com.flash.mastery.constant.NumberConstants;
+import com.flash.mastery.dto.projection.FolderSummary;
 import com.flash.mastery.dto.request.FolderCreateRequest;
 import com.flash.mastery.dto.request.FolderUpdateRequest;
 import com.flash.mastery.dto.response.FolderResponse;
@@ -22,6 +23,10 @@ public interface FolderMapper {
     @Mapping(target = "level", ignore = true)
     FolderResponse toResponse(Folder entity);
 
+    @Mapping(target = "path", ignore = true)
+    @Mapping(target = "level", ignore = true)
+    FolderResponse toResponse(FolderSummary summary);
+
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "name", source = "request.name")
     @Mapping(target = "description", source = "request.description")
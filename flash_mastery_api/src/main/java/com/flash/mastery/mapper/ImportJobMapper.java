@@ -0,0 +1,36 @@
+package com.flash.mastery.mapper;
+
+import java.util.List;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.flash.mastery.dto.response.ImportJobResponse;
+import com.flash.mastery.entity.ImportJob;
+import com.flash.mastery.entity.ImportJobError;
+import com.flash.mastery.util.importer.ImportError;
+
+@Mapper(componentModel = "spring")
+public interface ImportJobMapper {
+    @Mapping(target = "errors", expression = "java(mapErrors(job.getErrors()))")
+    @Mapping(target = "errorsTruncated", expression = "java(job.getInvalidRows() > job.getErrors().size())")
+    ImportJobResponse toResponse(ImportJob job);
+
+    default List<ImportError> mapErrors(List<ImportJobError> errors) {
+        if (errors == null) {
+            return List.of();
+        }
+        return errors.stream()
+                .map(this::toImportError)
+                .toList();
+    }
+
+    default ImportError toImportError(ImportJobError error) {
+        return ImportError.builder()
+                .rowIndex(error.getRowIndex())
+                .message(error.getMessage())
+                .deckName(error.getDeckName())
+                .term(error.getTerm())
+                .build();
+    }
+}
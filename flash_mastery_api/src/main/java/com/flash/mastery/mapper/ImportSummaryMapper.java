@@ -0,0 +1,16 @@
+package com.flash.mastery.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import com.flash.mastery.dto.response.ImportSummaryResponse;
+import com.flash.mastery.util.importer.ImportResult;
+
+@Mapper(componentModel = "spring")
+public interface ImportSummaryMapper {
+    @Mapping(target = "successCount", source = "cardsImported")
+    @Mapping(target = "errorsTruncated", expression = "java(result.isErrorsTruncated())")
+    @Mapping(target = "replayed", ignore = true)
+    @Mapping(target = "metrics", source = "stats")
+    ImportSummaryResponse toResponse(ImportResult<?> result);
+}
@@ -1,29 +1,153 @@
 package com.flash.mastery.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.flash.mastery.dto.criteria.DeckSearchCriteria;
+import com.flash.mastery.dto.projection.BundleDeckRow;
+import com.flash.mastery.dto.response.DeckResponse;
 import com.flash.mastery.entity.Deck;
 
 public interface DeckRepository extends JpaRepository<Deck, UUID> {
-    Page<Deck> findByFolderId(UUID folderId, Pageable pageable);
+    String RESPONSE_SELECT = """
+            SELECT new com.flash.mastery.dto.response.DeckResponse(
+                d.id, d.name, d.description, d.folder.id, d.cardCount,
+                COALESCE(d.type, com.flash.mastery.entity.FlashcardType.VOCABULARY),
+                d.createdAt, d.updatedAt)
+            FROM Deck d
+            """;
 
-    Page<Deck> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    Slice<Deck> findAllBy(Pageable pageable);
 
-    Page<Deck> findByFolderIdAndNameContainingIgnoreCase(UUID folderId, String name, Pageable pageable);
+    Slice<Deck> findByFolderId(UUID folderId, Pageable pageable);
+
+    Slice<Deck> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    Slice<Deck> findByFolderIdAndNameContainingIgnoreCase(UUID folderId, String name, Pageable pageable);
 
     boolean existsByFolderIdAndNameIgnoreCase(UUID folderId, String name);
 
+    /**
+     * The given lower-cased names that are taken by decks in the folder, lower-cased.
+     */
+    @Query("SELECT LOWER(d.name) FROM Deck d WHERE d.folder.id = :folderId AND LOWER(d.name) IN :nameKeys")
+    List<String> findNameKeysByFolderIdAndNameKeyIn(@Param("folderId") UUID folderId,
+            @Param("nameKeys") Collection<String> nameKeys);
+
+    /**
+     * The decks of the folders, newest id first, in the order the bundle card stream
+     * reads them.
+     */
+    @Query("""
+            SELECT new com.flash.mastery.dto.projection.BundleDeckRow(d.id, d.folder.id, d.name, d.description, d.type)
+            FROM Deck d WHERE d.folder.id IN :folderIds ORDER BY d.id DESC
+            """)
+    List<BundleDeckRow> findBundleRowsByFolderIdIn(@Param("folderIds") Collection<UUID> folderIds);
+
+    /**
+     * Atomically add delta to a deck's card count (never below zero).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Deck d
+            SET d.cardCount = CASE WHEN d.cardCount + :delta < 0 THEN 0 ELSE d.cardCount + :delta END,
+                d.updatedAt = LOCAL DATETIME
+            WHERE d.id = :deckId
+            """)
+    int adjustCardCount(@Param("deckId") UUID deckId, @Param("delta") int delta);
+
+    /**
+     * Recompute card counts that drifted from the flashcards table.
+     *
+     * @return number of decks corrected
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE {h-schema}decks d
+            SET card_count = (SELECT COUNT(*) FROM {h-schema}flashcards f WHERE f.deck_id = d.id)
+            WHERE d.card_count <> (SELECT COUNT(*) FROM {h-schema}flashcards f WHERE f.deck_id = d.id)
+            """, nativeQuery = true)
+    int reconcileCardCounts();
+
+    @Query(RESPONSE_SELECT)
+    Slice<DeckResponse> findAllResponses(Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE d.folder.id = :folderId")
+    Slice<DeckResponse> findResponsesByFolderId(@Param("folderId") UUID folderId, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE LOWER(d.name) LIKE :pattern ESCAPE '!'")
+    Slice<DeckResponse> findResponsesByNameLike(@Param("pattern") String pattern, Pageable pageable);
+
+    @Query(RESPONSE_SELECT + "WHERE d.folder.id = :folderId AND LOWER(d.name) LIKE :pattern ESCAPE '!'")
+    Slice<DeckResponse> findResponsesByFolderIdAndNameLike(@Param("folderId") UUID folderId,
+            @Param("pattern") String pattern, Pageable pageable);
+
+    Window<Deck> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Deck> findByFolderId(UUID folderId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Deck> findByNameContainingIgnoreCase(String name, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Deck> findByFolderIdAndNameContainingIgnoreCase(UUID folderId, String name, ScrollPosition position,
+            Sort sort, Limit limit);
+
+    /**
+     * Trigram search over all decks (PostgreSQL only, served by idx_decks_name_trgm).
+     */
+    @Query(value = """
+            SELECT d.* FROM {h-schema}decks d
+            WHERE lower(d.name) LIKE :pattern ESCAPE '!'
+               OR :query OPERATOR(public.<%) lower(d.name)
+            ORDER BY public.word_similarity(:query, lower(d.name)) DESC, d.name_sort_key, d.id
+            """, nativeQuery = true)
+    Slice<Deck> searchByTrigram(@Param("query") String query, @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Trigram search within a folder (PostgreSQL only, served by idx_decks_name_trgm).
+     */
+    @Query(value = """
+            SELECT d.* FROM {h-schema}decks d
+            WHERE d.folder_id = :folderId
+              AND (lower(d.name) LIKE :pattern ESCAPE '!'
+                   OR :query OPERATOR(public.<%) lower(d.name))
+            ORDER BY public.word_similarity(:query, lower(d.name)) DESC, d.name_sort_key, d.id
+            """, nativeQuery = true)
+    Slice<Deck> searchByTrigramInFolder(@Param("folderId") UUID folderId, @Param("query") String query,
+            @Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Portable ranked search: exact match, then prefix, then earliest and shortest substring match.
+     */
+    @Query("""
+            SELECT d FROM Deck d
+            WHERE (:folderId IS NULL OR d.folder.id = :folderId)
+              AND LOWER(d.name) LIKE :pattern ESCAPE '!'
+            ORDER BY CASE WHEN LOWER(d.name) = :query THEN 0
+                          WHEN LOWER(d.name) LIKE :prefix ESCAPE '!' THEN 1
+                          ELSE 2 END,
+                     LOCATE(:query, LOWER(d.name)), LENGTH(d.name), d.nameSortKey, d.id
+            """)
+    Slice<Deck> searchByRelevance(@Param("folderId") UUID folderId, @Param("query") String query,
+            @Param("pattern") String pattern, @Param("prefix") String prefix, Pageable pageable);
+
     /**
      * Find decks based on search criteria.
      */
-    default Page<Deck> findByCriteria(DeckSearchCriteria criteria, Pageable pageable) {
+    default Slice<Deck> findByCriteria(DeckSearchCriteria criteria, Pageable pageable) {
         if (!criteria.hasAnyFilter()) {
-            return findAll(pageable);
+            return findAllBy(pageable);
         }
 
         if (criteria.hasFolderFilter() && criteria.hasQueryFilter()) {
@@ -41,6 +165,78 @@ public interface DeckRepository extends JpaRepository<Deck, UUID> {
             return findByNameContainingIgnoreCase(criteria.getQuery(), pageable);
         }
 
-        return findAll(pageable);
+        return findAllBy(pageable);
+    }
+
+    /**
+     * Read-only deck responses based on search criteria, selected straight into the DTO.
+     */
+    default Slice<DeckResponse> findResponsesByCriteria(DeckSearchCriteria criteria, Pageable pageable) {
+        if (criteria.hasFolderFilter() && criteria.hasQueryFilter()) {
+            return findResponsesByFolderIdAndNameLike(
+                    criteria.getFolderId(),
+                    criteria.getContainsPattern(),
+                    pageable);
+        }
+
+        if (criteria.hasFolderFilter()) {
+            return findResponsesByFolderId(criteria.getFolderId(), pageable);
+        }
+
+        if (criteria.hasQueryFilter()) {
+            return findResponsesByNameLike(criteria.getContainsPattern(), pageable);
+        }
+
+        return findAllResponses(pageable);
+    }
+
+    /**
+     * Find decks matching the query ranked by relevance.
+     *
+     * @param trigramSupported whether pg_trgm is available (PostgreSQL)
+     */
+    default Slice<Deck> findRankedByCriteria(DeckSearchCriteria criteria, boolean trigramSupported,
+            Pageable pageable) {
+        if (!trigramSupported) {
+            return searchByRelevance(
+                    criteria.getFolderId(),
+                    criteria.getNormalizedQuery(),
+                    criteria.getContainsPattern(),
+                    criteria.getPrefixPattern(),
+                    pageable);
+        }
+
+        if (criteria.hasFolderFilter()) {
+            return searchByTrigramInFolder(
+                    criteria.getFolderId(),
+                    criteria.getNormalizedQuery(),
+                    criteria.getContainsPattern(),
+                    pageable);
+        }
+
+        return searchByTrigram(criteria.getNormalizedQuery(), criteria.getContainsPattern(), pageable);
+    }
+
+    /**
+     * Scroll decks matching the search criteria using keyset pagination.
+     */
+    default Window<Deck> scrollByCriteria(DeckSearchCriteria criteria, ScrollPosition position, Sort sort,
+            Limit limit) {
+        if (criteria.hasFolderFilter() && criteria.hasQueryFilter()) {
+            return findByFolderIdAndNameContainingIgnoreCase(
+                    criteria.getFolderId(),
+                    criteria.getQuery(),
+                    position, sort, limit);
+        }
+
+        if (criteria.hasFolderFilter()) {
+            return findByFolderId(criteria.getFolderId(), position, sort, limit);
+        }
+
+        if (criteria.hasQueryFilter()) {
+            return findByNameContainingIgnoreCase(criteria.getQuery(), position, sort, limit);
+        }
+
+        return findAllBy(position, sort, limit);
     }
 }
@@ -0,0 +1,111 @@
+package com.flash.mastery.repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang3.StringUtils;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+
+import com.flash.mastery.config.DatabaseFeatures;
+import com.flash.mastery.entity.Flashcard;
+import com.flash.mastery.util.TermHash;
+import com.flash.mastery.util.TimeOrderedUuid;
+
+/**
+ * Bulk-inserts flashcards with the PostgreSQL COPY protocol on the connection of the
+ * current transaction, bypassing entity instantiation, lifecycle callbacks and
+ * per-row INSERT statements. Callers must flush pending deck inserts first, and
+ * should only use it when {@link #isAvailable()}.
+ */
+@Component
+public class FlashcardCopyLoader {
+
+    private static final String COLUMNS = "(id, deck_id, question, term_hash, answer, hint, type, created_at, updated_at)";
+
+    private final DataSource dataSource;
+    private final DatabaseFeatures databaseFeatures;
+    private final String copySql;
+
+    public FlashcardCopyLoader(
+            DataSource dataSource,
+            DatabaseFeatures databaseFeatures,
+            @Value("${spring.jpa.properties.hibernate.default_schema:}") String schema) {
+        this.dataSource = dataSource;
+        this.databaseFeatures = databaseFeatures;
+        final var table = StringUtils.isBlank(schema) ? "flashcards" : schema + ".flashcards";
+        this.copySql = "COPY " + table + " " + COLUMNS + " FROM STDIN WITH (FORMAT csv)";
+    }
+
+    /**
+     * Whether COPY can be used (PostgreSQL only).
+     */
+    public boolean isAvailable() {
+        return this.databaseFeatures.isPostgres();
+    }
+
+    /**
+     * Insert the cards in one COPY statement. Ids and timestamps are assigned here, as
+     * {@code @PrePersist} does not run.
+     *
+     * @return number of rows copied
+     */
+    public long copy(List<Flashcard> cards) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+        final var now = LocalDateTime.now();
+        final var csv = new StringBuilder(cards.size() * 64);
+        for (final Flashcard card : cards) {
+            if (card.getId() == null) {
+                card.setId(TimeOrderedUuid.next());
+            }
+            csv.append(card.getId()).append(',')
+                    .append(card.getDeck().getId()).append(',');
+            appendField(csv, card.getQuestion());
+            final var termHash = card.getTermHash() != null ? card.getTermHash() : TermHash.of(card.getQuestion());
+            csv.append(',').append(StringUtils.defaultString(termHash)).append(',');
+            appendField(csv, card.getAnswer());
+            csv.append(',');
+            appendField(csv, card.getHint());
+            csv.append(',');
+            appendField(csv, card.getType() != null ? card.getType().name() : null);
+            csv.append(',').append(now).append(',').append(now).append('\n');
+        }
+        final var connection = DataSourceUtils.getConnection(this.dataSource);
+        try {
+            final var copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            return copyManager.copyIn(this.copySql, new StringReader(csv.toString()));
+        } catch (SQLException | IOException ex) {
+            throw new DataAccessResourceFailureException("COPY into flashcards failed: " + ex.getMessage(), ex);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, this.dataSource);
+        }
+    }
+
+    /**
+     * CSV-quote a value; null stays an unquoted empty field, which COPY reads as NULL.
+     */
+    private static void appendField(StringBuilder csv, String value) {
+        if (value == null) {
+            return;
+        }
+        csv.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        csv.append('"');
+    }
+}
@@ -1,22 +1,106 @@
 package com.flash.mastery.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.flash.mastery.dto.criteria.FlashcardSearchCriteria;
+import com.flash.mastery.dto.projection.BundleCardRow;
+import com.flash.mastery.dto.projection.ExportCardRow;
+import com.flash.mastery.dto.response.FlashcardResponse;
 import com.flash.mastery.entity.Flashcard;
 
+import jakarta.persistence.QueryHint;
+
 public interface FlashcardRepository extends JpaRepository<Flashcard, UUID> {
+    String RESPONSE_SELECT = """
+            SELECT new com.flash.mastery.dto.response.FlashcardResponse(
+                c.id, c.deck.id, c.question, c.answer, c.hint,
+                COALESCE(c.type, com.flash.mastery.entity.FlashcardType.VOCABULARY),
+                c.createdAt, c.updatedAt)
+            FROM Flashcard c
+            WHERE c.deck.id = :deckId
+            """;
+
+    /**
+     * Every deck left-joined with its cards; ordered by creation, cards are read along
+     * the (deck_id, created_at, id) index.
+     */
+    String EXPORT_SELECT = """
+            SELECT new com.flash.mastery.dto.projection.ExportCardRow(
+                d.id, d.name, c.question, c.answer, c.hint, c.type)
+            FROM Deck d LEFT JOIN Flashcard c ON c.deck = d
+            """;
+
+    /** Rows fetched per round trip while streaming, so the driver reads through a cursor. */
+    String EXPORT_FETCH_SIZE = "1000";
+
     List<Flashcard> findByDeckId(UUID deckId);
 
     Page<Flashcard> findByDeckId(UUID deckId, Pageable pageable);
 
+    Window<Flashcard> findByDeckId(UUID deckId, ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Flashcard> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query(RESPONSE_SELECT)
+    List<FlashcardResponse> findResponsesByDeckId(@Param("deckId") UUID deckId);
+
+    @Query(RESPONSE_SELECT)
+    Slice<FlashcardResponse> findResponsesByDeckId(@Param("deckId") UUID deckId, Pageable pageable);
+
+    /**
+     * The given term hashes that already exist in the deck (indexed on deck_id, term_hash).
+     */
+    @Query("SELECT f.termHash FROM Flashcard f WHERE f.deck.id = :deckId AND f.termHash IN :termHashes")
+    List<String> findTermHashesByDeckIdAndTermHashIn(@Param("deckId") UUID deckId,
+            @Param("termHashes") Collection<String> termHashes);
+
+    /**
+     * Stream the deck's export rows; must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + "WHERE d.id = :deckId ORDER BY c.createdAt, c.id")
+    Stream<ExportCardRow> streamExportRowsByDeckId(@Param("deckId") UUID deckId);
+
+    /**
+     * Stream the export rows of every deck in the folders, deck by deck in natural name order;
+     * must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query(EXPORT_SELECT + "WHERE d.folder.id IN :folderIds ORDER BY d.nameSortKey, d.id, c.createdAt, c.id")
+    Stream<ExportCardRow> streamExportRowsByFolderIdIn(@Param("folderIds") Collection<UUID> folderIds);
+
+    /**
+     * Stream the cards of every deck in the folders for a bundle, deck by deck in
+     * descending deck id (a backward scan of the (deck_id, created_at DESC, id DESC)
+     * index), oldest card first; must be consumed inside a transaction and closed.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("""
+            SELECT new com.flash.mastery.dto.projection.BundleCardRow(
+                c.id, c.deck.id, c.question, c.answer, c.hint, c.type)
+            FROM Flashcard c WHERE c.deck.folder.id IN :folderIds
+            ORDER BY c.deck.id DESC, c.createdAt, c.id
+            """)
+    Stream<BundleCardRow> streamBundleRowsByFolderIdIn(@Param("folderIds") Collection<UUID> folderIds);
+
     /**
      * Find flashcards based on search criteria.
      */
@@ -31,4 +115,30 @@ public interface FlashcardRepository extends JpaRepository<Flashcard, UUID> {
                 Sort.by(Sort.Direction.DESC, "createdAt"));
         return findByDeckId(criteria.getDeckId(), pageable).getContent();
     }
+
+    /**
+     * Read-only flashcard responses based on search criteria, selected straight into the DTO.
+     */
+    default List<FlashcardResponse> findResponsesByCriteria(FlashcardSearchCriteria criteria) {
+        if (!criteria.hasPagination()) {
+            return findResponsesByDeckId(criteria.getDeckId());
+        }
+
+        final var pageable = PageRequest.of(
+                criteria.getPage(),
+                criteria.getSize(),
+                Sort.by(Sort.Direction.DESC, "createdAt"));
+        return findResponsesByDeckId(criteria.getDeckId(), pageable).getContent();
+    }
+
+    /**
+     * Scroll flashcards of a deck newest first using keyset pagination on (created_at, id).
+     */
+    default Window<Flashcard> scrollByCriteria(FlashcardSearchCriteria criteria, ScrollPosition position) {
+        return findByDeckId(
+                criteria.getDeckId(),
+                position,
+                Sort.by(Sort.Direction.DESC, "createdAt", "id"),
+                Limit.of(criteria.getSize()));
+    }
 }
@@ -1,17 +1,88 @@
 package com.flash.mastery.repository;
 
 import com.flash.mastery.entity.Folder;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.flash.mastery.dto.criteria.FolderSearchCriteria;
+import com.flash.mastery.dto.projection.FolderSummary;
 
 public interface FolderRepository extends JpaRepository<Folder, UUID> {
+    String SUMMARY_SELECT = """
+            SELECT new com.flash.mastery.dto.projection.FolderSummary(
+                f.id, f.name, f.description, f.color, f.deckCount, f.parent.id,
+                (SELECT COUNT(c.id) FROM Folder c WHERE c.parent.id = f.id),
+                f.createdAt, f.updatedAt)
+            FROM Folder f
+            """;
+
     List<Folder> findByParentId(UUID parentId);
 
     List<Folder> findByParentIsNull();
 
+    @Query("SELECT f.id FROM Folder f WHERE f.parent.id IN :parentIds")
+    List<UUID> findIdsByParentIdIn(@Param("parentIds") Collection<UUID> parentIds);
+
+    /**
+     * The folder and all its descendants, resolved one tree level per query; parents
+     * come before their children.
+     */
+    default Set<UUID> findSubtreeIds(UUID folderId) {
+        final Set<UUID> ids = new LinkedHashSet<>();
+        List<UUID> level = List.of(folderId);
+        while (!level.isEmpty()) {
+            ids.addAll(level);
+            final List<UUID> next = new ArrayList<>();
+            for (final UUID childId : findIdsByParentIdIn(level)) {
+                // Guards against a cycle in corrupt data
+                if (!ids.contains(childId)) {
+                    next.add(childId);
+                }
+            }
+            level = next;
+        }
+        return ids;
+    }
+
+    /**
+     * Atomically add delta to a folder's deck count (never below zero).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Folder f
+            SET f.deckCount = CASE WHEN f.deckCount + :delta < 0 THEN 0 ELSE f.deckCount + :delta END,
+                f.updatedAt = LOCAL DATETIME
+            WHERE f.id = :folderId
+            """)
+    int adjustDeckCount(@Param("folderId") UUID folderId, @Param("delta") int delta);
+
+    /**
+     * Recompute deck counts that drifted from the decks table.
+     *
+     * @return number of folders corrected
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE {h-schema}folders f
+            SET deck_count = (SELECT COUNT(*) FROM {h-schema}decks d WHERE d.folder_id = f.id)
+            WHERE f.deck_count <> (SELECT COUNT(*) FROM {h-schema}decks d WHERE d.folder_id = f.id)
+            """, nativeQuery = true)
+    int reconcileDeckCounts();
+
+    @Query(SUMMARY_SELECT + "WHERE f.parent.id = :parentId ORDER BY f.createdAt")
+    List<FolderSummary> findSummariesByParentId(@Param("parentId") UUID parentId);
+
+    @Query(SUMMARY_SELECT + "WHERE f.parent IS NULL ORDER BY f.createdAt")
+    List<FolderSummary> findRootSummaries();
+
     /**
      * Find folders based on search criteria.
      */
@@ -26,4 +97,15 @@ public interface FolderRepository extends JpaRepository<Folder, UUID> {
 
         return findByParentIsNull();
     }
+
+    /**
+     * Read-only folder summaries based on search criteria (one statement, no managed entities).
+     */
+    default List<FolderSummary> findSummariesByCriteria(FolderSearchCriteria criteria) {
+        if (criteria.hasParentFilter()) {
+            return findSummariesByParentId(criteria.getParentId());
+        }
+
+        return findRootSummaries();
+    }
 }
@@ -0,0 +1,60 @@
+package com.flash.mastery.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.flash.mastery.entity.ImportJob;
+import com.flash.mastery.entity.enums.ImportJobStatus;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+    /**
+     * Unfinished jobs no live instance holds: without an owner, or whose owner stopped
+     * renewing its lease.
+     */
+    @Query("""
+            SELECT j.id FROM ImportJob j
+            WHERE j.status IN :statuses
+              AND (j.owner IS NULL OR (j.owner <> :owner AND j.heartbeatAt < :expiredBefore))
+            ORDER BY j.createdAt
+            """)
+    List<UUID> findResumableIds(@Param("statuses") Collection<ImportJobStatus> statuses,
+            @Param("owner") String owner, @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    /**
+     * Atomically take the lease of an unfinished job that has no owner, is already owned
+     * by this instance, or whose owner's lease expired.
+     *
+     * @return 1 if the lease was taken
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            UPDATE ImportJob j SET j.owner = :owner, j.heartbeatAt = :now
+            WHERE j.id = :jobId AND j.status IN :statuses
+              AND (j.owner IS NULL OR j.owner = :owner OR j.heartbeatAt < :expiredBefore)
+            """)
+    int claim(@Param("jobId") UUID jobId, @Param("owner") String owner,
+            @Param("statuses") Collection<ImportJobStatus> statuses, @Param("now") LocalDateTime now,
+            @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    /**
+     * Renew the lease of every unfinished job an instance owns.
+     */
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.heartbeatAt = :now WHERE j.owner = :owner AND j.status IN :statuses")
+    int renewLeases(@Param("owner") String owner, @Param("statuses") Collection<ImportJobStatus> statuses,
+            @Param("now") LocalDateTime now);
+
+    /**
+     * Set only the cancel flag, so progress committed by the running job is never overwritten.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE ImportJob j SET j.cancelRequested = true WHERE j.id = :jobId")
+    int requestCancel(@Param("jobId") UUID jobId);
+}
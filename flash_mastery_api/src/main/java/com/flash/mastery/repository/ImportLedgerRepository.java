@@ -0,0 +1,22 @@
+package com.flash.mastery.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.ImportLedgerEntry;
+
+public interface ImportLedgerRepository extends JpaRepository<ImportLedgerEntry, UUID> {
+    Optional<ImportLedgerEntry> findByFolderIdAndContentHashAndFlashcardTypeAndSkipHeader(
+            UUID folderId, String contentHash, FlashcardType flashcardType, boolean skipHeader);
+
+    @Modifying
+    @Query("delete from ImportLedgerEntry e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,13 @@
+package com.flash.mastery.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.flash.mastery.entity.ImportUpload;
+
+public interface ImportUploadRepository extends JpaRepository<ImportUpload, UUID> {
+    List<ImportUpload> findByCreatedAtBefore(LocalDateTime cutoff);
+}
@@ -0,0 +1,20 @@
+package com.flash.mastery.search;
+
+import java.util.UUID;
+
+import com.flash.mastery.entity.Flashcard;
+
+/**
+ * Snapshot of the flashcard fields that are indexed for full-text search.
+ */
+public record FlashcardDocument(UUID id, UUID deckId, String question, String answer, String hint) {
+
+    public static FlashcardDocument from(Flashcard flashcard) {
+        return new FlashcardDocument(
+                flashcard.getId(),
+                flashcard.getDeck() != null ? flashcard.getDeck().getId() : null,
+                flashcard.getQuestion(),
+                flashcard.getAnswer(),
+                flashcard.getHint());
+    }
+}
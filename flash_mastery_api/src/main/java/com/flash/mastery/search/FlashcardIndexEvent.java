@@ -0,0 +1,36 @@
+package com.flash.mastery.search;
+
+import java.util.UUID;
+
+/**
+ * Change to apply to the flashcard search index once the surrounding transaction commits.
+ */
+public record FlashcardIndexEvent(Type type, UUID id, FlashcardDocument document) {
+
+    public enum Type {
+        /** Add or replace a single card. */
+        UPSERT,
+        /** Remove a single card. */
+        DELETE,
+        /** Re-read every card of a deck from the database (e.g. after an import). */
+        REINDEX_DECK,
+        /** Remove every card of a deck. */
+        DELETE_DECK
+    }
+
+    public static FlashcardIndexEvent upsert(FlashcardDocument document) {
+        return new FlashcardIndexEvent(Type.UPSERT, document.id(), document);
+    }
+
+    public static FlashcardIndexEvent delete(UUID flashcardId) {
+        return new FlashcardIndexEvent(Type.DELETE, flashcardId, null);
+    }
+
+    public static FlashcardIndexEvent reindexDeck(UUID deckId) {
+        return new FlashcardIndexEvent(Type.REINDEX_DECK, deckId, null);
+    }
+
+    public static FlashcardIndexEvent deleteDeck(UUID deckId) {
+        return new FlashcardIndexEvent(Type.DELETE_DECK, deckId, null);
+    }
+}
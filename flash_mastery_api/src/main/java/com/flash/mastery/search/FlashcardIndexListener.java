@@ -0,0 +1,89 @@
+package com.flash.mastery.search;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.flash.mastery.entity.Flashcard;
+import com.flash.mastery.repository.FlashcardRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps {@link FlashcardSearchIndex} in sync with the flashcards table. Changes are
+ * applied only after the publishing transaction commits, so rolled-back writes never
+ * reach the index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FlashcardIndexListener {
+
+    private static final int REINDEX_BATCH_SIZE = 1000;
+    private static final Sort REINDEX_SORT = Sort.by(Sort.Direction.ASC, "id");
+
+    private final FlashcardSearchIndex searchIndex;
+    private final FlashcardRepository flashcardRepository;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onIndexEvent(FlashcardIndexEvent event) {
+        try {
+            switch (event.type()) {
+            case UPSERT -> this.searchIndex.upsert(event.document());
+            case DELETE -> this.searchIndex.delete(event.id());
+            case DELETE_DECK -> this.searchIndex.deleteDeck(event.id());
+            case REINDEX_DECK -> reindexDeck(event.id());
+            }
+            this.searchIndex.commit();
+        } catch (RuntimeException ex) {
+            // The database is the source of truth; a stale index only affects search recall
+            log.warn("Failed to apply {} for {} to flashcard search index: {}", event.type(), event.id(),
+                    ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Rebuild the index at startup when it does not match the flashcards table
+     * (first boot, lost index directory, or writes made while the index was unavailable).
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfStale() {
+        final var indexed = this.searchIndex.numDocs();
+        final var stored = this.flashcardRepository.count();
+        if (indexed == stored) {
+            return;
+        }
+        log.info("Rebuilding flashcard search index ({} indexed, {} stored)", indexed, stored);
+        this.searchIndex.deleteAll();
+        scroll(position -> this.flashcardRepository.findAllBy(position, REINDEX_SORT, Limit.of(REINDEX_BATCH_SIZE)));
+        this.searchIndex.commit();
+        log.info("Flashcard search index rebuilt ({} documents)", this.searchIndex.numDocs());
+    }
+
+    private void reindexDeck(UUID deckId) {
+        this.searchIndex.deleteDeck(deckId);
+        scroll(position -> this.flashcardRepository.findByDeckId(
+                deckId, position, REINDEX_SORT, Limit.of(REINDEX_BATCH_SIZE)));
+    }
+
+    private void scroll(Function<ScrollPosition, Window<Flashcard>> fetch) {
+        var window = fetch.apply(ScrollPosition.keyset());
+        while (!window.isEmpty()) {
+            this.searchIndex.addAll(window.getContent().stream().map(FlashcardDocument::from).toList());
+            if (!window.hasNext()) {
+                break;
+            }
+            window = fetch.apply(window.positionAt(window.size() - 1));
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.flash.mastery.search;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Embedded on-disk inverted index over flashcard question, answer and hint.
+ * The database stays the source of truth: the index only returns card ids,
+ * which callers hydrate through the repository.
+ */
+@Component
+@Slf4j
+public class FlashcardSearchIndex {
+
+    static final String FIELD_ID = "id";
+    static final String FIELD_DECK_ID = "deckId";
+    static final String FIELD_QUESTION = "question";
+    static final String FIELD_ANSWER = "answer";
+    static final String FIELD_HINT = "hint";
+
+    private static final float QUESTION_BOOST = 3f;
+    private static final float ANSWER_BOOST = 2f;
+    private static final float HINT_BOOST = 1f;
+
+    private final Path indexDir;
+    private final Analyzer analyzer = new FoldingAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public FlashcardSearchIndex(
+            @Value("${flash-mastery.search.index-dir:${java.io.tmpdir}/flash-mastery/flashcard-index}") String indexDir) {
+        this.indexDir = Path.of(indexDir);
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        Files.createDirectories(this.indexDir);
+        this.directory = FSDirectory.open(this.indexDir);
+        final var config = new IndexWriterConfig(this.analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        this.writer = new IndexWriter(this.directory, config);
+        this.searcherManager = new SearcherManager(this.writer, null);
+        log.info("Flashcard search index opened at {} ({} documents)", this.indexDir, numDocs());
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        this.searcherManager.close();
+        this.writer.close();
+        this.directory.close();
+    }
+
+    /**
+     * Add or replace a card. Call {@link #commit()} to make it durable and searchable.
+     */
+    public void upsert(FlashcardDocument document) {
+        try {
+            this.writer.updateDocument(idTerm(document.id()), toDocument(document));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Append cards known not to be in the index yet (e.g. after {@link #deleteDeck(UUID)}).
+     */
+    public void addAll(Collection<FlashcardDocument> documents) {
+        try {
+            final List<Document> docs = new ArrayList<>(documents.size());
+            documents.forEach(document -> docs.add(toDocument(document)));
+            this.writer.addDocuments(docs);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void delete(UUID flashcardId) {
+        try {
+            this.writer.deleteDocuments(idTerm(flashcardId));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void deleteDeck(UUID deckId) {
+        try {
+            this.writer.deleteDocuments(new Term(FIELD_DECK_ID, deckId.toString()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void deleteAll() {
+        try {
+            this.writer.deleteAll();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Persist pending changes and refresh searchers so they become visible.
+     */
+    public void commit() {
+        try {
+            this.writer.commit();
+            this.searcherManager.maybeRefresh();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public long numDocs() {
+        return this.writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Search cards by content, best matches first.
+     *
+     * @param text   free-text query (accents and case are ignored)
+     * @param deckId optional deck to restrict results to
+     * @param limit  maximum number of hits
+     * @return matching card ids ordered by relevance
+     */
+    public List<UUID> search(String text, UUID deckId, int limit) {
+        final var query = buildQuery(text, deckId);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            final var searcher = this.searcherManager.acquire();
+            try {
+                final var topDocs = searcher.search(query, limit);
+                final var storedFields = searcher.storedFields();
+                final List<UUID> ids = new ArrayList<>(topDocs.scoreDocs.length);
+                for (final var scoreDoc : topDocs.scoreDocs) {
+                    final var id = storedFields.document(scoreDoc.doc, Set.of(FIELD_ID)).get(FIELD_ID);
+                    ids.add(UUID.fromString(id));
+                }
+                return ids;
+            } finally {
+                this.searcherManager.release(searcher);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private Query buildQuery(String text, UUID deckId) {
+        if ((text == null) || text.isBlank()) {
+            return null;
+        }
+        final var normalized = normalize(text);
+        final var queryBuilder = new QueryBuilder(this.analyzer);
+        final var fields = new BooleanQuery.Builder();
+        addField(fields, queryBuilder, FIELD_QUESTION, normalized, QUESTION_BOOST);
+        addField(fields, queryBuilder, FIELD_ANSWER, normalized, ANSWER_BOOST);
+        addField(fields, queryBuilder, FIELD_HINT, normalized, HINT_BOOST);
+        final var contentQuery = fields.build();
+        if (contentQuery.clauses().isEmpty()) {
+            return null;
+        }
+        if (deckId == null) {
+            return contentQuery;
+        }
+        return new BooleanQuery.Builder()
+                .add(contentQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_DECK_ID, deckId.toString())), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private static void addField(BooleanQuery.Builder fields, QueryBuilder queryBuilder, String field, String text,
+            float boost) {
+        final var fieldQuery = queryBuilder.createBooleanQuery(field, text, BooleanClause.Occur.SHOULD);
+        if (fieldQuery != null) {
+            fields.add(new BoostQuery(fieldQuery, boost), BooleanClause.Occur.SHOULD);
+        }
+    }
+
+    private static Document toDocument(FlashcardDocument document) {
+        final var doc = new Document();
+        doc.add(new StringField(FIELD_ID, document.id().toString(), Field.Store.YES));
+        if (document.deckId() != null) {
+            doc.add(new StringField(FIELD_DECK_ID, document.deckId().toString(), Field.Store.NO));
+        }
+        addText(doc, FIELD_QUESTION, document.question());
+        addText(doc, FIELD_ANSWER, document.answer());
+        addText(doc, FIELD_HINT, document.hint());
+        return doc;
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null) {
+            doc.add(new TextField(field, normalize(value), Field.Store.NO));
+        }
+    }
+
+    private static Term idTerm(UUID id) {
+        return new Term(FIELD_ID, id.toString());
+    }
+
+    /**
+     * Compose Unicode (NFKC) so decomposed Hangul jamo and Vietnamese combining marks
+     * index the same way as their precomposed forms.
+     */
+    private static String normalize(String value) {
+        return Normalizer.normalize(value, Normalizer.Form.NFKC);
+    }
+}
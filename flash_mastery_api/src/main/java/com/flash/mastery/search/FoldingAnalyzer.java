@@ -0,0 +1,34 @@
+package com.flash.mastery.search;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.cjk.CJKBigramFilter;
+import org.apache.lucene.analysis.cjk.CJKWidthFilter;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Analyzer for vocabulary content: lower-cases, folds Latin diacritics
+ * (Vietnamese "Đường" matches "duong") and splits Hangul words into bigrams so
+ * Korean terms match on partial words without a morphological dictionary.
+ */
+final class FoldingAnalyzer extends Analyzer {
+
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+        final var source = new StandardTokenizer();
+        TokenStream stream = new CJKWidthFilter(source);
+        stream = new LowerCaseFilter(stream);
+        stream = new ASCIIFoldingFilter(stream);
+        stream = new CJKBigramFilter(stream, CJKBigramFilter.HANGUL, true);
+        return new TokenStreamComponents(source, stream);
+    }
+
+    @Override
+    protected TokenStream normalize(String fieldName, TokenStream in) {
+        TokenStream stream = new CJKWidthFilter(in);
+        stream = new LowerCaseFilter(stream);
+        return new ASCIIFoldingFilter(stream);
+    }
+}
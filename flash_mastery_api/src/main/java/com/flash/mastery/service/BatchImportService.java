@@ -0,0 +1,28 @@
+package com.flash.mastery.service;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.flash.mastery.dto.response.BatchImportSummaryResponse;
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * Imports made of several parts that are imported concurrently, each in its own
+ * transaction, so one failing part does not undo the others.
+ */
+public interface BatchImportService {
+    /**
+     * Import every CSV/TSV/Excel/JSON Lines file of a ZIP archive into the folder.
+     */
+    BatchImportSummaryResponse importZip(UUID folderId, MultipartFile archive, FlashcardType type, boolean skipHeader,
+            boolean bulkLoad) throws IOException;
+
+    /**
+     * Import every worksheet of an XLSX workbook into the folder, each into a deck
+     * named after the sheet.
+     */
+    BatchImportSummaryResponse importSheets(UUID folderId, MultipartFile workbook, FlashcardType type,
+            boolean skipHeader, boolean bulkLoad) throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.flash.mastery.service;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.flash.mastery.dto.response.BundleRestoreResponse;
+import com.flash.mastery.util.exporter.ExportTarget;
+
+/**
+ * Backs up a folder tree to a compact binary bundle and restores it as new folders.
+ */
+public interface DeckBundleService {
+    /**
+     * Write the folder, its sub-folders, their decks and cards and, optionally, the
+     * study sessions of those decks.
+     */
+    void exportFolder(UUID folderId, boolean includeSessions, ExportTarget target) throws IOException;
+
+    /**
+     * Recreate a bundle's contents under the parent folder, or at the root when the
+     * parent is null.
+     */
+    BundleRestoreResponse restore(UUID parentFolderId, MultipartFile file) throws IOException;
+}
@@ -0,0 +1,22 @@
+package com.flash.mastery.service;
+
+import java.io.IOException;
+import java.util.UUID;
+
+import com.flash.mastery.util.exporter.ExportFormat;
+import com.flash.mastery.util.exporter.ExportTarget;
+
+/**
+ * Streams decks to a file in the import layout, row by row from a database cursor.
+ */
+public interface DeckExportService {
+    /**
+     * Export one deck.
+     */
+    void exportDeck(UUID deckId, ExportFormat format, ExportTarget target) throws IOException;
+
+    /**
+     * Export every deck of the folder and its sub-folders.
+     */
+    void exportFolder(UUID folderId, ExportFormat format, ExportTarget target) throws IOException;
+}
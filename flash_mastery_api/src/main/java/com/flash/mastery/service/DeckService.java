@@ -2,20 +2,37 @@ package com.flash.mastery.service;
 
 import com.flash.mastery.dto.request.DeckCreateRequest;
 import com.flash.mastery.dto.request.DeckUpdateRequest;
+import com.flash.mastery.dto.response.CursorPageResponse;
 import com.flash.mastery.dto.response.DeckResponse;
+import com.flash.mastery.dto.response.ImportSummaryResponse;
 import com.flash.mastery.entity.FlashcardType;
-import com.flash.mastery.util.importer.ImportResult;
+import com.flash.mastery.util.importer.ImportError;
 import java.util.List;
 import java.util.UUID;
 import java.io.IOException;
+import java.util.function.Consumer;
 import org.springframework.web.multipart.MultipartFile;
 
 public interface DeckService {
-  List<DeckResponse> getDecks(UUID folderId, String sort, int page, int size, String query);
+  List<DeckResponse> getDecks(UUID folderId, String sort, int page, int size, String query, String mode);
+  CursorPageResponse<DeckResponse> scrollDecks(UUID folderId, String sort, int size, String query, String cursor);
   DeckResponse getDeck(UUID id);
   DeckResponse create(DeckCreateRequest request);
   DeckResponse update(UUID id, DeckUpdateRequest request);
   void delete(UUID id);
 
-  ImportResult<?> importDecks(UUID folderId, MultipartFile file, FlashcardType type, boolean skipHeader) throws IOException;
+  /**
+   * Import the file, or replay the summary of an identical recent import of the same
+   * content with the same options.
+   */
+  ImportSummaryResponse importDecks(UUID folderId, MultipartFile file, FlashcardType type, boolean skipHeader,
+      boolean bulkLoad) throws IOException;
+
+  /**
+   * Run parse, mapping and duplicate checks without writing anything.
+   *
+   * @param errorSink receives every error in row order, or null to keep only the capped sample
+   */
+  ImportSummaryResponse validateImport(UUID folderId, MultipartFile file, FlashcardType type, boolean skipHeader,
+      Consumer<ImportError> errorSink) throws IOException;
 }
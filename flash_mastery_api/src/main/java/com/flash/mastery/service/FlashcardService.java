@@ -2,12 +2,15 @@ package com.flash.mastery.service;
 
 import com.flash.mastery.dto.request.FlashcardCreateRequest;
 import com.flash.mastery.dto.request.FlashcardUpdateRequest;
+import com.flash.mastery.dto.response.CursorPageResponse;
 import com.flash.mastery.dto.response.FlashcardResponse;
 import java.util.List;
 import java.util.UUID;
 
 public interface FlashcardService {
   List<FlashcardResponse> getByDeck(UUID deckId, Integer page, Integer size);
+  CursorPageResponse<FlashcardResponse> scrollByDeck(UUID deckId, int size, String cursor);
+  List<FlashcardResponse> search(String query, UUID deckId, int limit);
   FlashcardResponse getById(UUID id);
   FlashcardResponse create(FlashcardCreateRequest request);
   FlashcardResponse update(UUID id, FlashcardUpdateRequest request);
@@ -0,0 +1,25 @@
+package com.flash.mastery.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import com.flash.mastery.dto.response.ImportJobResponse;
+import com.flash.mastery.entity.FlashcardType;
+
+public interface ImportJobService {
+    ImportJobResponse submit(UUID folderId, MultipartFile file, FlashcardType type, boolean skipHeader) throws IOException;
+
+    /**
+     * Queue an import of a file already written to the spool directory; the job takes
+     * ownership of the file.
+     */
+    ImportJobResponse submitSpooled(UUID folderId, String filename, Path spooledFile, FlashcardType type,
+            boolean skipHeader) throws IOException;
+
+    ImportJobResponse getJob(UUID jobId);
+
+    ImportJobResponse cancel(UUID jobId);
+}
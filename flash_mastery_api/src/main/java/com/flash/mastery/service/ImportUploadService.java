@@ -0,0 +1,26 @@
+package com.flash.mastery.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+import com.flash.mastery.dto.request.ImportUploadCreateRequest;
+import com.flash.mastery.dto.response.ImportJobResponse;
+import com.flash.mastery.dto.response.ImportUploadResponse;
+
+public interface ImportUploadService {
+    ImportUploadResponse create(ImportUploadCreateRequest request);
+
+    ImportUploadResponse putChunk(UUID uploadId, int index, InputStream body) throws IOException;
+
+    ImportUploadResponse getUpload(UUID uploadId) throws IOException;
+
+    ImportJobResponse complete(UUID uploadId) throws IOException;
+
+    /**
+     * Delete uploads older than the configured time-to-live, with their chunks.
+     *
+     * @return number of uploads removed
+     */
+    int purgeExpired() throws IOException;
+}
@@ -0,0 +1,458 @@
+package com.flash.mastery.service.impl;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.flash.mastery.cache.DeckListChangedEvent;
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.constant.MessageKeys;
+import com.flash.mastery.dto.response.BatchImportSummaryResponse;
+import com.flash.mastery.dto.response.ImportSummaryResponse;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.exception.BadRequestException;
+import com.flash.mastery.exception.BusinessException;
+import com.flash.mastery.exception.NotFoundException;
+import com.flash.mastery.mapper.ImportSummaryMapper;
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardCopyLoader;
+import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.search.FlashcardIndexEvent;
+import com.flash.mastery.service.BaseService;
+import com.flash.mastery.service.BatchImportService;
+import com.flash.mastery.util.importer.ImportPipeline;
+import com.flash.mastery.util.importer.ImportResult;
+import com.flash.mastery.util.importer.ImporterFactory;
+import com.flash.mastery.util.importer.RowMapper;
+import com.flash.mastery.util.importer.SpoolFiles;
+import com.flash.mastery.util.importer.excel.XlsxWorkbook;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Imports the parts of a ZIP archive or XLSX workbook on a bounded pool shared by all
+ * requests, each part in its own transaction through a {@link DeckImportWriter}. ZIP
+ * archives are read as a stream: each importable entry is spooled to disk while
+ * earlier ones are imported, and at most pool-size spooled entries of one request
+ * exist at a time. Parts of one batch share their deck names, so a deck name is only
+ * created once; the folder is locked against other imports for the whole batch.
+ */
+@Service
+@Slf4j
+public class BatchImportServiceImpl extends BaseService implements BatchImportService {
+
+    private static final String MAC_METADATA_DIR = "__MACOSX/";
+
+    private final FolderRepository folderRepository;
+    private final DeckRepository deckRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final FlashcardCopyLoader flashcardCopyLoader;
+    private final ImportSummaryMapper importSummaryMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FolderImportLocks folderImportLocks;
+    private final ImportMeters importMeters;
+    private final Path spoolDir;
+    private final int poolSize;
+    private final int chunkSize;
+    private final int maxEntries;
+    private final long maxEntrySize;
+    private final ThreadPoolExecutor executor;
+
+    public BatchImportServiceImpl(
+            FolderRepository folderRepository,
+            DeckRepository deckRepository,
+            FlashcardRepository flashcardRepository,
+            FlashcardCopyLoader flashcardCopyLoader,
+            ImportSummaryMapper importSummaryMapper,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            FolderImportLocks folderImportLocks,
+            ImportMeters importMeters,
+            @Value("${flash-mastery.import.spool-dir:${java.io.tmpdir}/flash-mastery/import-spool}") String spoolDir,
+            @Value("${flash-mastery.import.batch.pool-size:4}") int poolSize,
+            @Value("${flash-mastery.import.chunk-size:500}") int chunkSize,
+            @Value("${flash-mastery.import.zip.max-entries:100}") int maxEntries,
+            @Value("${flash-mastery.import.zip.max-entry-size:256MB}") DataSize maxEntrySize,
+            MessageSource messageSource) {
+        super(messageSource);
+        this.folderRepository = folderRepository;
+        this.deckRepository = deckRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.flashcardCopyLoader = flashcardCopyLoader;
+        this.importSummaryMapper = importSummaryMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.folderImportLocks = folderImportLocks;
+        this.importMeters = importMeters;
+        this.spoolDir = Path.of(spoolDir);
+        this.poolSize = Math.max(1, poolSize);
+        this.chunkSize = chunkSize;
+        this.maxEntries = maxEntries;
+        this.maxEntrySize = maxEntrySize.toBytes();
+        this.executor = new ThreadPoolExecutor(this.poolSize, this.poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("batch-import-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Pushes the rows of one part through the pipeline and finishes it.
+     */
+    @FunctionalInterface
+    private interface PartSource {
+        void stream(ImportPipeline<ImportRow> pipeline) throws IOException;
+    }
+
+    /**
+     * Outcome of one part; messages are resolved on the request thread.
+     */
+    private record PartOutcome(String name, ImportSummaryResponse summary, String errorKey) {
+
+        static Future<PartOutcome> failed(String name, String errorKey) {
+            return CompletableFuture.completedFuture(new PartOutcome(name, null, errorKey));
+        }
+    }
+
+    @Override
+    public BatchImportSummaryResponse importZip(UUID folderId, MultipartFile archive, FlashcardType type,
+            boolean skipHeader, boolean bulkLoad) throws IOException {
+        final var batch = newBatch(folderId, type, skipHeader, bulkLoad);
+        final List<Future<PartOutcome>> pending = new ArrayList<>();
+        final List<PartOutcome> outcomes;
+        try (var folderLock = this.folderImportLocks.lockForBatch(folderId)) {
+            try (var zip = new ZipInputStream(new BufferedInputStream(archive.getInputStream()))) {
+                dispatchEntries(zip, batch, pending);
+            } catch (ZipException | IllegalArgumentException ex) {
+                if (pending.isEmpty()) {
+                    throw new BadRequestException(ErrorCodes.IMPORT_ZIP_INVALID, MessageKeys.ERROR_IMPORT_ZIP_INVALID,
+                            "Unreadable ZIP archive " + archive.getOriginalFilename() + ": " + ex.getMessage());
+                }
+                // Files read before the damaged entry are imported; report the rest of the archive as failed
+                log.warn("ZIP archive {} is damaged after {} entries", archive.getOriginalFilename(), pending.size(), ex);
+                pending.add(PartOutcome.failed(archive.getOriginalFilename(), MessageKeys.ERROR_IMPORT_ZIP_INVALID));
+            }
+            if (pending.isEmpty()) {
+                throw new BadRequestException(ErrorCodes.IMPORT_ZIP_INVALID, MessageKeys.ERROR_IMPORT_ZIP_INVALID);
+            }
+            // Parts commit on worker threads; the folder stays locked until all of them are done
+            outcomes = awaitAll(pending);
+        }
+        return summarize(outcomes);
+    }
+
+    @Override
+    public BatchImportSummaryResponse importSheets(UUID folderId, MultipartFile workbook, FlashcardType type,
+            boolean skipHeader, boolean bulkLoad) throws IOException {
+        if (!StringUtils.endsWithIgnoreCase(workbook.getOriginalFilename(), ".xlsx")) {
+            throw new BadRequestException(ErrorCodes.UNSUPPORTED_FILE_TYPE, MessageKeys.ERROR_UNSUPPORTED_FILE_TYPE,
+                    "Unsupported file type: " + workbook.getOriginalFilename());
+        }
+        final var batch = newBatch(folderId, type, skipHeader, bulkLoad);
+        Files.createDirectories(this.spoolDir);
+        // The package is read by random access, and sheets are read concurrently
+        final var spooled = Files.createTempFile(this.spoolDir, "sheets-", ".xlsx");
+        try {
+            try (InputStream in = workbook.getInputStream()) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            final List<PartOutcome> outcomes;
+            try (var folderLock = this.folderImportLocks.lockForBatch(folderId);
+                    XlsxWorkbook xlsx = openWorkbook(spooled, workbook.getOriginalFilename())) {
+                final var sheetNames = xlsx.getSheetNames();
+                final List<Future<PartOutcome>> pending = new ArrayList<>(sheetNames.size());
+                for (int i = 0; i < sheetNames.size(); i++) {
+                    final var index = i;
+                    final var sheetName = sheetNames.get(i);
+                    pending.add(batch.submit(sheetName, sheetName, ImportRow::map,
+                            pipeline -> xlsx.streamSheet(index, pipeline), () -> { }));
+                }
+                // The workbook must stay open until every sheet has been read
+                outcomes = awaitAll(pending);
+            }
+            return summarize(outcomes);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    private Batch newBatch(UUID folderId, FlashcardType type, boolean skipHeader, boolean bulkLoad) {
+        if (!this.folderRepository.existsById(folderId)) {
+            throw new NotFoundException(ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
+        }
+        // COPY needs PostgreSQL; other datasources (e.g. H2 in tests) use the JPA path
+        final var copyLoader = bulkLoad && this.flashcardCopyLoader.isAvailable() ? this.flashcardCopyLoader : null;
+        return new Batch(folderId, type, skipHeader, copyLoader);
+    }
+
+    private static XlsxWorkbook openWorkbook(Path file, String filename) {
+        try {
+            final var workbook = XlsxWorkbook.open(file);
+            if (workbook.getSheetNames().isEmpty()) {
+                workbook.close();
+                throw new BadRequestException(
+                        ErrorCodes.IMPORT_WORKBOOK_INVALID, MessageKeys.ERROR_IMPORT_WORKBOOK_INVALID);
+            }
+            return workbook;
+        } catch (IOException ex) {
+            throw new BadRequestException(ErrorCodes.IMPORT_WORKBOOK_INVALID, MessageKeys.ERROR_IMPORT_WORKBOOK_INVALID,
+                    "Unreadable workbook " + filename + ": " + ex.getMessage());
+        }
+    }
+
+    private void dispatchEntries(ZipInputStream zip, Batch batch, List<Future<PartOutcome>> pending)
+            throws IOException {
+        Files.createDirectories(this.spoolDir);
+        int dispatched = 0;
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null) {
+            final var name = entry.getName();
+            if (entry.isDirectory() || isMetadata(name)) {
+                continue;
+            }
+            if (!isImportable(name)) {
+                pending.add(PartOutcome.failed(name, MessageKeys.ERROR_UNSUPPORTED_FILE_TYPE));
+                continue;
+            }
+            if (dispatched == this.maxEntries) {
+                pending.add(PartOutcome.failed(name, MessageKeys.ERROR_IMPORT_ZIP_TOO_MANY_ENTRIES));
+                continue;
+            }
+            batch.acquireSlot();
+            final var spooled = Files.createTempFile(this.spoolDir, "zip-", ".entry");
+            final Runnable cleanup = () -> {
+                deleteQuietly(spooled);
+                batch.releaseSlot();
+            };
+            var handedOff = false;
+            try {
+                // Read at most one byte past the limit to detect oversized entries
+                if (SpoolFiles.copy(zip, spooled, this.maxEntrySize + 1) > this.maxEntrySize) {
+                    pending.add(PartOutcome.failed(name, MessageKeys.ERROR_IMPORT_ZIP_ENTRY_TOO_LARGE));
+                    continue;
+                }
+                final var mapper = ImporterFactory.<ImportRow>mapperFor(name, ImportRow::map, ImportRow::mapJsonLine);
+                pending.add(batch.submit(name, null, mapper, pipeline -> {
+                    final long size = Files.size(spooled);
+                    pipeline.getStats().setBytesRead(size);
+                    ImporterFactory.<ImportRow>forFilename(name, size).stream(spooled, pipeline);
+                }, cleanup));
+                handedOff = true;
+                dispatched++;
+            } finally {
+                if (!handedOff) {
+                    cleanup.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Shared state of the parts of one request.
+     */
+    private final class Batch {
+
+        private final UUID folderId;
+        private final FlashcardType type;
+        private final boolean skipHeader;
+        private final FlashcardCopyLoader copyLoader;
+        private final Set<String> deckNames = ConcurrentHashMap.newKeySet();
+        private final Semaphore slots = new Semaphore(BatchImportServiceImpl.this.poolSize);
+
+        Batch(UUID folderId, FlashcardType type, boolean skipHeader, FlashcardCopyLoader copyLoader) {
+            this.folderId = folderId;
+            this.type = type;
+            this.skipHeader = skipHeader;
+            this.copyLoader = copyLoader;
+        }
+
+        void acquireSlot() throws InterruptedIOException {
+            try {
+                this.slots.acquire();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while reading import batch");
+            }
+        }
+
+        void releaseSlot() {
+            this.slots.release();
+        }
+
+        /**
+         * Queue a part for import in its own transaction.
+         *
+         * @param deckName deck for cards before any deck row, or null for the default
+         * @param mapper   row mapper for the part's format
+         * @param cleanup  runs once the part is done, whatever the outcome
+         */
+        Future<PartOutcome> submit(String name, String deckName, RowMapper<ImportRow> mapper, PartSource source,
+                Runnable cleanup) {
+            return BatchImportServiceImpl.this.executor.submit(() -> run(name, deckName, mapper, source, cleanup));
+        }
+
+        private PartOutcome run(String name, String deckName, RowMapper<ImportRow> mapper, PartSource source,
+                Runnable cleanup) {
+            try {
+                final var summary = ImportResult.<ImportRow>builder()
+                        .stats(BatchImportServiceImpl.this.importMeters.newStats())
+                        .build();
+                BatchImportServiceImpl.this.transactionTemplate.executeWithoutResult(
+                        status -> write(deckName, mapper, source, summary));
+                return new PartOutcome(name, BatchImportServiceImpl.this.importSummaryMapper.toResponse(summary), null);
+            } catch (BusinessException ex) {
+                return new PartOutcome(name, null, ex.getMessageKey());
+            } catch (RuntimeException ex) {
+                log.warn("Import of {} into folder {} failed", name, this.folderId, ex);
+                return new PartOutcome(name, null, MessageKeys.ERROR_IMPORT_PART_FAILED);
+            } finally {
+                cleanup.run();
+            }
+        }
+
+        private void write(String deckName, RowMapper<ImportRow> mapper, PartSource source,
+                ImportResult<ImportRow> summary) {
+            final var writer = new DeckImportWriter(BatchImportServiceImpl.this.deckRepository,
+                    BatchImportServiceImpl.this.flashcardRepository, BatchImportServiceImpl.this.entityManager,
+                    this.copyLoader, false, this.folderId, this.type, summary);
+            writer.shareDeckNames(this.deckNames);
+            if (deckName != null) {
+                writer.defaultDeckName(deckName);
+            }
+            final var pipeline = new ImportPipeline<>(mapper, this.skipHeader, summary, writer::write,
+                    BatchImportServiceImpl.this.chunkSize);
+            final long start = System.nanoTime();
+            try {
+                source.stream(pipeline);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            writer.finish();
+            summary.getStats().complete(System.nanoTime() - start, pipeline.getRowsRead());
+            BatchImportServiceImpl.this.importMeters.record("batch", summary.getStats());
+            final var importedDeckIds = writer.getImportedDeckIds();
+            if (!importedDeckIds.isEmpty()) {
+                BatchImportServiceImpl.this.folderRepository.adjustDeckCount(this.folderId, importedDeckIds.size());
+            }
+            importedDeckIds.forEach(deckId -> BatchImportServiceImpl.this.eventPublisher
+                    .publishEvent(FlashcardIndexEvent.reindexDeck(deckId)));
+            BatchImportServiceImpl.this.eventPublisher.publishEvent(new DeckListChangedEvent(this.folderId));
+        }
+    }
+
+    private BatchImportSummaryResponse summarize(List<PartOutcome> outcomes) {
+        int imported = 0;
+        int decksCreated = 0;
+        int decksSkipped = 0;
+        int cardsImported = 0;
+        int cardsSkippedDuplicate = 0;
+        int invalidRows = 0;
+        final List<BatchImportSummaryResponse.PartResult> parts = new ArrayList<>(outcomes.size());
+        for (final PartOutcome outcome : outcomes) {
+            final var summary = outcome.summary();
+            if (summary != null) {
+                imported++;
+                decksCreated += summary.getDecksCreated();
+                decksSkipped += summary.getDecksSkipped();
+                cardsImported += summary.getCardsImported();
+                cardsSkippedDuplicate += summary.getCardsSkippedDuplicate();
+                invalidRows += summary.getInvalidRows();
+            }
+            parts.add(BatchImportSummaryResponse.PartResult.builder()
+                    .name(outcome.name())
+                    .summary(summary)
+                    .error(outcome.errorKey() != null ? msg(outcome.errorKey()) : null)
+                    .build());
+        }
+        return BatchImportSummaryResponse.builder()
+                .partsImported(imported)
+                .partsFailed(outcomes.size() - imported)
+                .decksCreated(decksCreated)
+                .decksSkipped(decksSkipped)
+                .cardsImported(cardsImported)
+                .cardsSkippedDuplicate(cardsSkippedDuplicate)
+                .invalidRows(invalidRows)
+                .parts(parts)
+                .build();
+    }
+
+    private static List<PartOutcome> awaitAll(List<Future<PartOutcome>> pending) throws IOException {
+        final List<PartOutcome> outcomes = new ArrayList<>(pending.size());
+        for (final Future<PartOutcome> future : pending) {
+            try {
+                outcomes.add(future.get());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for import batch");
+            } catch (ExecutionException ex) {
+                // Batch.run reports failures as outcomes, so only errors get here
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Directory metadata added by archivers and hidden files, which are not imported or reported.
+     */
+    private static boolean isMetadata(String name) {
+        final var baseName = StringUtils.substringAfterLast("/" + name, "/");
+        return name.startsWith(MAC_METADATA_DIR) || name.contains("/" + MAC_METADATA_DIR) || baseName.startsWith(".");
+    }
+
+    private static boolean isImportable(String name) {
+        try {
+            ImporterFactory.forFilename(name);
+            return true;
+        } catch (BadRequestException ex) {
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled import part {}", file, ex);
+        }
+    }
+}
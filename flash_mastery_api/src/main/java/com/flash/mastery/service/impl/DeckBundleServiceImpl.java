@@ -0,0 +1,435 @@
+package com.flash.mastery.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.flash.mastery.cache.DeckListChangedEvent;
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.constant.MessageKeys;
+import com.flash.mastery.constant.ValidationConstants;
+import com.flash.mastery.dto.projection.BundleCardRow;
+import com.flash.mastery.dto.projection.BundleDeckRow;
+import com.flash.mastery.dto.response.BundleRestoreResponse;
+import com.flash.mastery.entity.Deck;
+import com.flash.mastery.entity.Flashcard;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.Folder;
+import com.flash.mastery.entity.StudySession;
+import com.flash.mastery.entity.StudySessionProgress;
+import com.flash.mastery.exception.BadRequestException;
+import com.flash.mastery.exception.NotFoundException;
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardCopyLoader;
+import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.repository.StudySessionRepository;
+import com.flash.mastery.search.FlashcardIndexEvent;
+import com.flash.mastery.service.BaseService;
+import com.flash.mastery.service.DeckBundleService;
+import com.flash.mastery.util.bundle.BundleCard;
+import com.flash.mastery.util.bundle.BundleDeck;
+import com.flash.mastery.util.bundle.BundleFolder;
+import com.flash.mastery.util.bundle.BundleFormat;
+import com.flash.mastery.util.bundle.BundleFormatException;
+import com.flash.mastery.util.bundle.BundleProgress;
+import com.flash.mastery.util.bundle.BundleReader;
+import com.flash.mastery.util.bundle.BundleSession;
+import com.flash.mastery.util.bundle.BundleVisitor;
+import com.flash.mastery.util.bundle.BundleWriter;
+import com.flash.mastery.util.bundle.UnsupportedBundleVersionException;
+import com.flash.mastery.util.exporter.ExportTarget;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes bundles from a forward-only card cursor, merged with the deck list, so
+ * memory stays constant whatever the folder size. Restores insert cards in batches,
+ * with COPY on PostgreSQL, and give every restored row a new id.
+ */
+@Service
+public class DeckBundleServiceImpl extends BaseService implements DeckBundleService {
+
+    private final FolderRepository folderRepository;
+    private final DeckRepository deckRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final StudySessionRepository studySessionRepository;
+    private final FlashcardCopyLoader flashcardCopyLoader;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public DeckBundleServiceImpl(
+            FolderRepository folderRepository,
+            DeckRepository deckRepository,
+            FlashcardRepository flashcardRepository,
+            StudySessionRepository studySessionRepository,
+            FlashcardCopyLoader flashcardCopyLoader,
+            EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${flash-mastery.import.chunk-size:500}") int batchSize,
+            MessageSource messageSource) {
+        super(messageSource);
+        this.folderRepository = folderRepository;
+        this.deckRepository = deckRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.studySessionRepository = studySessionRepository;
+        this.flashcardCopyLoader = flashcardCopyLoader;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportFolder(UUID folderId, boolean includeSessions, ExportTarget target) throws IOException {
+        final var root = findByIdOrThrow(
+                this.folderRepository.findById(folderId),
+                ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
+        final var folderIds = this.folderRepository.findSubtreeIds(folderId);
+        final var decks = this.deckRepository.findBundleRowsByFolderIdIn(folderIds);
+        try (Stream<BundleCardRow> cards = this.flashcardRepository.streamBundleRowsByFolderIdIn(folderIds);
+                BundleWriter writer = new BundleWriter(
+                        target.open(root.getName() + BundleFormat.EXTENSION), includeSessions)) {
+            final var folderOrdinals = writeFolders(writer, folderId, folderIds);
+            new DeckStream(writer, decks, folderOrdinals, includeSessions).write(cards);
+        }
+    }
+
+    @Override
+    @Transactional
+    public BundleRestoreResponse restore(UUID parentFolderId, MultipartFile file) throws IOException {
+        if (parentFolderId != null && !this.folderRepository.existsById(parentFolderId)) {
+            throw new NotFoundException(ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
+        }
+        final var restorer = new Restorer(parentFolderId);
+        try (InputStream in = file.getInputStream()) {
+            BundleReader.read(in, restorer);
+        } catch (UnsupportedBundleVersionException ex) {
+            throw new BadRequestException(ErrorCodes.BUNDLE_INVALID, MessageKeys.ERROR_BUNDLE_VERSION_UNSUPPORTED,
+                    ex.getMessage());
+        } catch (BundleFormatException ex) {
+            throw new BadRequestException(ErrorCodes.BUNDLE_INVALID, MessageKeys.ERROR_BUNDLE_INVALID,
+                    ex.getMessage());
+        }
+        return restorer.finish();
+    }
+
+    /**
+     * Write the folders parent first.
+     *
+     * @return ordinal of each written folder by id
+     */
+    private Map<UUID, Integer> writeFolders(BundleWriter writer, UUID rootId, Set<UUID> folderIds)
+            throws IOException {
+        final Map<UUID, Folder> folders = new HashMap<>();
+        this.folderRepository.findAllById(folderIds).forEach(folder -> folders.put(folder.getId(), folder));
+        final Map<UUID, Integer> ordinals = new HashMap<>();
+        for (final UUID id : folderIds) {
+            final var folder = folders.get(id);
+            if (folder == null) {
+                continue;
+            }
+            final int parent = !id.equals(rootId) && folder.getParent() != null
+                    ? ordinals.getOrDefault(folder.getParent().getId(), BundleFormat.NONE)
+                    : BundleFormat.NONE;
+            ordinals.put(id, writer.folder(
+                    new BundleFolder(parent, folder.getName(), folder.getDescription(), folder.getColor())));
+        }
+        return ordinals;
+    }
+
+    /**
+     * Merges the deck list with the card cursor; both are in descending deck id order,
+     * so each deck is written once, followed by its cards and sessions.
+     */
+    private final class DeckStream {
+
+        private final BundleWriter writer;
+        private final List<BundleDeckRow> decks;
+        private final Map<UUID, Integer> folderOrdinals;
+        private final boolean includeSessions;
+        private final Map<UUID, Integer> positions = new HashMap<>();
+        /** Index within the current deck of each of its cards, by card id. */
+        private final Map<UUID, Integer> cardIndexes = new HashMap<>();
+        private int next;
+
+        DeckStream(BundleWriter writer, List<BundleDeckRow> decks, Map<UUID, Integer> folderOrdinals,
+                boolean includeSessions) {
+            this.writer = writer;
+            this.decks = decks;
+            this.folderOrdinals = folderOrdinals;
+            this.includeSessions = includeSessions;
+            for (int i = 0; i < decks.size(); i++) {
+                this.positions.put(decks.get(i).id(), i);
+            }
+        }
+
+        void write(Stream<BundleCardRow> cards) throws IOException {
+            for (final var it = cards.iterator(); it.hasNext();) {
+                final var card = it.next();
+                final var position = this.positions.get(card.deckId());
+                // A deck created after the deck list was read is left out
+                if (position == null || position < this.next - 1) {
+                    continue;
+                }
+                advanceTo(position);
+                final int index = this.writer.card(
+                        new BundleCard(card.question(), card.answer(), card.hint(), card.type()));
+                if (this.includeSessions) {
+                    this.cardIndexes.put(card.id(), index);
+                }
+            }
+            advanceTo(this.decks.size() - 1);
+            closeDeck();
+        }
+
+        /**
+         * Write the decks up to and including the given position; those before it have
+         * no cards.
+         */
+        private void advanceTo(int position) throws IOException {
+            while (this.next <= position) {
+                closeDeck();
+                final var deck = this.decks.get(this.next++);
+                this.writer.deck(new BundleDeck(
+                        this.folderOrdinals.getOrDefault(deck.folderId(), BundleFormat.NONE),
+                        deck.name(), deck.description(), deck.type()));
+            }
+        }
+
+        private void closeDeck() throws IOException {
+            if (this.next > 0 && this.includeSessions) {
+                writeSessions(this.decks.get(this.next - 1).id());
+            }
+            this.cardIndexes.clear();
+        }
+
+        /**
+         * Cards are referenced by their index in the deck; those deleted since the
+         * session started are dropped.
+         */
+        private void writeSessions(UUID deckId) throws IOException {
+            for (final StudySession session : studySessionRepository.findByDeckId(deckId)) {
+                final List<Integer> cards = new ArrayList<>(session.getFlashcardIds().size());
+                for (final UUID flashcardId : session.getFlashcardIds()) {
+                    final var index = this.cardIndexes.get(flashcardId);
+                    if (index != null) {
+                        cards.add(index);
+                    }
+                }
+                this.writer.session(new BundleSession(session.getCurrentMode(), session.getNextMode(),
+                        session.getCurrentBatchIndex(), session.getStatus(), session.getCompletedAt(), cards));
+                for (final StudySessionProgress progress : session.getProgressRecords()) {
+                    final var index = this.cardIndexes.get(progress.getFlashcard().getId());
+                    if (index != null) {
+                        this.writer.progress(new BundleProgress(index, progress.isOverviewCompleted(),
+                                progress.isMatchingCompleted(), progress.isGuessCompleted(),
+                                progress.isRecallCompleted(), progress.isFillInBlankCompleted(),
+                                progress.getCorrectAnswers(), progress.getTotalAttempts(),
+                                progress.getLastStudiedAt()));
+                    }
+                }
+                // Sessions are not needed again; keeps the context small on large folders
+                entityManager.detach(session);
+            }
+        }
+    }
+
+    /**
+     * Persists records as the reader decodes them. Cards are buffered per deck and
+     * inserted in batches; their new ids are kept until the deck ends so sessions can
+     * be remapped.
+     */
+    private final class Restorer implements BundleVisitor {
+
+        private final UUID parentFolderId;
+        private final FlashcardCopyLoader copyLoader;
+        private final List<UUID> folderIds = new ArrayList<>();
+        private final List<UUID> deckIds = new ArrayList<>();
+        private final Map<UUID, Integer> decksPerFolder = new LinkedHashMap<>();
+        /** New id of each card of the current deck, by index. */
+        private final List<UUID> cardIds = new ArrayList<>();
+        private final List<Flashcard> buffer = new ArrayList<>();
+        private UUID deckId;
+        private Deck deckRef;
+        private UUID sessionId;
+        private int cards;
+        private int sessions;
+
+        Restorer(UUID parentFolderId) {
+            this.parentFolderId = parentFolderId;
+            this.copyLoader = flashcardCopyLoader.isAvailable() ? flashcardCopyLoader : null;
+        }
+
+        @Override
+        public void folder(int ordinal, BundleFolder folder) {
+            checkName(folder.name(), "Folder");
+            if (folder.color() != null && folder.color().length() > ValidationConstants.COLOR_MAX_LENGTH) {
+                throw invalid("Folder color longer than " + ValidationConstants.COLOR_MAX_LENGTH);
+            }
+            final var parentId = folderId(folder.parent());
+            final var saved = folderRepository.save(Folder.builder()
+                    .name(folder.name())
+                    .description(folder.description())
+                    .color(folder.color())
+                    .parent(parentId != null ? entityManager.getReference(Folder.class, parentId) : null)
+                    .build());
+            this.folderIds.add(saved.getId());
+        }
+
+        @Override
+        public void deck(int ordinal, BundleDeck deck) {
+            checkName(deck.name(), "Deck");
+            flushCards();
+            this.cardIds.clear();
+            this.sessionId = null;
+            final var folderId = folderId(deck.folder());
+            final var saved = deckRepository.save(Deck.builder()
+                    .name(deck.name())
+                    .description(deck.description())
+                    .type(deck.type() != null ? deck.type() : FlashcardType.VOCABULARY)
+                    .folder(folderId != null ? entityManager.getReference(Folder.class, folderId) : null)
+                    .cardCount(0)
+                    .build());
+            this.deckId = saved.getId();
+            this.deckRef = saved;
+            this.deckIds.add(this.deckId);
+            if (folderId != null) {
+                this.decksPerFolder.merge(folderId, 1, Integer::sum);
+            }
+        }
+
+        @Override
+        public void card(int index, BundleCard card) {
+            if (StringUtils.isAnyBlank(card.question(), card.answer())) {
+                throw invalid("Card without question or answer");
+            }
+            if (this.deckRef == null) {
+                this.deckRef = entityManager.getReference(Deck.class, this.deckId);
+            }
+            this.buffer.add(Flashcard.builder()
+                    .deck(this.deckRef)
+                    .question(card.question())
+                    .answer(card.answer())
+                    .hint(card.hint())
+                    .type(card.type())
+                    .build());
+            if (this.buffer.size() >= batchSize) {
+                flushCards();
+            }
+        }
+
+        @Override
+        public void session(BundleSession session) {
+            if (session.currentMode() == null || session.status() == null || session.currentBatchIndex() < 0) {
+                throw invalid("Session without mode or status");
+            }
+            // Progress rows reference the cards, so they must be inserted first
+            flushCards();
+            final var saved = studySessionRepository.save(StudySession.builder()
+                    .deck(entityManager.getReference(Deck.class, this.deckId))
+                    .flashcardIds(new ArrayList<>(session.cards().stream().map(this.cardIds::get).toList()))
+                    .currentMode(session.currentMode())
+                    .nextMode(session.nextMode())
+                    .currentBatchIndex(session.currentBatchIndex())
+                    .status(session.status())
+                    .completedAt(session.completedAt())
+                    .build());
+            this.sessionId = saved.getId();
+            this.sessions++;
+        }
+
+        @Override
+        public void progress(BundleProgress progress) {
+            entityManager.persist(StudySessionProgress.builder()
+                    .session(entityManager.getReference(StudySession.class, this.sessionId))
+                    .flashcard(entityManager.getReference(Flashcard.class, this.cardIds.get(progress.card())))
+                    .overviewCompleted(progress.overviewCompleted())
+                    .matchingCompleted(progress.matchingCompleted())
+                    .guessCompleted(progress.guessCompleted())
+                    .recallCompleted(progress.recallCompleted())
+                    .fillInBlankCompleted(progress.fillInBlankCompleted())
+                    .correctAnswers(progress.correctAnswers())
+                    .totalAttempts(progress.totalAttempts())
+                    .lastStudiedAt(progress.lastStudiedAt())
+                    .build());
+        }
+
+        BundleRestoreResponse finish() {
+            flushCards();
+            this.decksPerFolder.forEach(folderRepository::adjustDeckCount);
+            this.deckIds.forEach(id -> eventPublisher.publishEvent(FlashcardIndexEvent.reindexDeck(id)));
+            final Set<UUID> changedFolders = new LinkedHashSet<>(this.decksPerFolder.keySet());
+            changedFolders.addAll(this.folderIds);
+            changedFolders.forEach(id -> eventPublisher.publishEvent(new DeckListChangedEvent(id)));
+            return BundleRestoreResponse.builder()
+                    .rootFolderId(this.folderIds.isEmpty() ? null : this.folderIds.get(0))
+                    .foldersRestored(this.folderIds.size())
+                    .decksRestored(this.deckIds.size())
+                    .cardsRestored(this.cards)
+                    .sessionsRestored(this.sessions)
+                    .build();
+        }
+
+        private static void checkName(String name, String what) {
+            if (StringUtils.isBlank(name)) {
+                throw invalid(what + " without a name");
+            }
+            if (name.length() > ValidationConstants.NAME_MAX_LENGTH) {
+                throw invalid(what + " name longer than " + ValidationConstants.NAME_MAX_LENGTH);
+            }
+        }
+
+        /**
+         * A well-formed record the database would reject; the whole restore is rolled back.
+         */
+        private static BadRequestException invalid(String detail) {
+            return new BadRequestException(ErrorCodes.BUNDLE_INVALID, MessageKeys.ERROR_BUNDLE_INVALID, detail);
+        }
+
+        private UUID folderId(int ordinal) {
+            return ordinal == BundleFormat.NONE ? this.parentFolderId : this.folderIds.get(ordinal);
+        }
+
+        /**
+         * Insert the buffered cards of the current deck, then detach everything so the
+         * context does not grow with the bundle.
+         */
+        private void flushCards() {
+            if (this.buffer.isEmpty()) {
+                return;
+            }
+            if (this.copyLoader != null) {
+                // Deck rows must be inserted before COPY references them
+                entityManager.flush();
+                this.copyLoader.copy(this.buffer);
+            } else {
+                flashcardRepository.saveAll(this.buffer);
+            }
+            this.buffer.forEach(card -> this.cardIds.add(card.getId()));
+            deckRepository.adjustCardCount(this.deckId, this.buffer.size());
+            this.cards += this.buffer.size();
+            this.buffer.clear();
+            entityManager.flush();
+            entityManager.clear();
+            this.deckRef = null;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.flash.mastery.service.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.constant.MessageKeys;
+import com.flash.mastery.dto.projection.ExportCardRow;
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.service.BaseService;
+import com.flash.mastery.service.DeckExportService;
+import com.flash.mastery.util.exporter.CsvDeckExportWriter;
+import com.flash.mastery.util.exporter.DeckExportWriter;
+import com.flash.mastery.util.exporter.ExportFormat;
+import com.flash.mastery.util.exporter.ExportTarget;
+import com.flash.mastery.util.exporter.XlsxDeckExportWriter;
+
+/**
+ * Reads card rows as JPQL projections from a forward-only cursor and writes each one
+ * out immediately, so memory stays constant however many cards are exported. The
+ * read-only transaction stays open until the last row is written.
+ */
+@Service
+@Transactional(readOnly = true)
+public class DeckExportServiceImpl extends BaseService implements DeckExportService {
+
+    private final DeckRepository deckRepository;
+    private final FolderRepository folderRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final int xlsxRowWindow;
+
+    public DeckExportServiceImpl(
+            DeckRepository deckRepository,
+            FolderRepository folderRepository,
+            FlashcardRepository flashcardRepository,
+            @Value("${flash-mastery.export.xlsx.row-window:100}") int xlsxRowWindow,
+            MessageSource messageSource) {
+        super(messageSource);
+        this.deckRepository = deckRepository;
+        this.folderRepository = folderRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.xlsxRowWindow = xlsxRowWindow;
+    }
+
+    @Override
+    public void exportDeck(UUID deckId, ExportFormat format, ExportTarget target) throws IOException {
+        final var deck = findByIdOrThrow(
+                this.deckRepository.findById(deckId),
+                ErrorCodes.DECK_NOT_FOUND, MessageKeys.ERROR_DECK_NOT_FOUND);
+        try (Stream<ExportCardRow> rows = this.flashcardRepository.streamExportRowsByDeckId(deckId)) {
+            write(rows, format, target.open(format.filename(deck.getName())));
+        }
+    }
+
+    @Override
+    public void exportFolder(UUID folderId, ExportFormat format, ExportTarget target) throws IOException {
+        final var folder = findByIdOrThrow(
+                this.folderRepository.findById(folderId),
+                ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
+        final var folderIds = this.folderRepository.findSubtreeIds(folderId);
+        try (Stream<ExportCardRow> rows = this.flashcardRepository.streamExportRowsByFolderIdIn(folderIds)) {
+            write(rows, format, target.open(format.filename(folder.getName())));
+        }
+    }
+
+    private void write(Stream<ExportCardRow> rows, ExportFormat format, OutputStream out) throws IOException {
+        try (DeckExportWriter writer = newWriter(format, out)) {
+            UUID currentDeckId = null;
+            for (final var it = rows.iterator(); it.hasNext();) {
+                final var row = it.next();
+                if (!row.deckId().equals(currentDeckId)) {
+                    writer.deck(row.deckName());
+                    currentDeckId = row.deckId();
+                }
+                // Null card fields: the deck has no cards
+                if (row.question() != null) {
+                    writer.card(ImportRow.escapeVocab(row.question()), row.answer(), row.hint(), row.type());
+                }
+            }
+        }
+    }
+
+    private DeckExportWriter newWriter(ExportFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvDeckExportWriter(out);
+            case XLSX -> new XlsxDeckExportWriter(out, this.xlsxRowWindow);
+        };
+    }
+}
@@ -0,0 +1,448 @@
+package com.flash.mastery.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.StringUtils;
+
+import com.flash.mastery.entity.Deck;
+import com.flash.mastery.entity.Flashcard;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.Folder;
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardCopyLoader;
+import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.util.TermHash;
+import com.flash.mastery.util.TimeOrderedUuid;
+import com.flash.mastery.util.importer.ImportResult;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Persistence stage of a deck import. Receives mapped rows chunk by chunk, creates a
+ * deck for every deck row, skips duplicate deck names and terms, and inserts cards in
+ * batches. The persistence context is flushed and cleared after every chunk, so only
+ * the state of the current deck is kept between chunks. Deck names of a chunk, and the
+ * terms of a deck continued from an earlier run, are checked against the database in
+ * batched IN lookups before the chunk is written; nothing is loaded up front. With a {@link FlashcardCopyLoader}
+ * cards are bulk-loaded with COPY instead of going through JPA. In dry-run mode the same
+ * decisions are made and counted, but nothing is written.
+ */
+class DeckImportWriter {
+
+    static final String DEFAULT_DECK_NAME = "Imported Deck";
+
+    /** Maximum number of values bound to one IN lookup. */
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+
+    private final DeckRepository deckRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final EntityManager entityManager;
+    private final FlashcardCopyLoader copyLoader;
+    private final boolean dryRun;
+    private final UUID folderId;
+    private final FlashcardType defaultType;
+    private final ImportResult<ImportRow> summary;
+
+    private final Set<UUID> importedDeckIds = new LinkedHashSet<>();
+    private final List<UUID> completedDeckIds = new ArrayList<>();
+    private final List<Flashcard> buffer = new ArrayList<>();
+    /** Lower-cased names of decks known to exist: found by a lookup or created by this run. */
+    private final Set<String> existingDeckNames = new HashSet<>();
+    /** Decks started by this run by lower-cased name: the deck id, or null if the name was skipped. */
+    private final Map<String, UUID> openedDecks = new HashMap<>();
+    /** Lower-cased deck names claimed by imports running concurrently into the same folder, if any. */
+    private Set<String> sharedDeckNames;
+    /** Deck receiving cards that precede any deck row. */
+    private String defaultDeckName = DEFAULT_DECK_NAME;
+    /** Term hashes accepted into the current deck by this run. */
+    private Set<String> currentTermHashes = new HashSet<>();
+    /** Dry run only: term hashes accepted into each deck, as nothing is stored to look them up. */
+    private final Map<UUID, Set<String>> dryRunTermHashes = new HashMap<>();
+    /** Term hashes of the current chunk already stored in the current deck before this run. */
+    private final Set<String> storedTermHashes = new HashSet<>();
+    private boolean defaultDeckLookedUp;
+    /** The current deck was created before this run (a resumed job), so it may hold cards. */
+    private boolean currentDeckStored;
+    private UUID currentDeckId;
+    private String currentDeckName;
+    /** Lower-cased name of the last deck started, whether created or skipped. */
+    private String openedDeckKey;
+    private Deck currentDeckRef;
+    private boolean skipCurrentDeck;
+    private boolean defaultDeckSkipLogged;
+
+    DeckImportWriter(DeckRepository deckRepository, FlashcardRepository flashcardRepository,
+            EntityManager entityManager, FlashcardCopyLoader copyLoader, boolean dryRun, UUID folderId,
+            FlashcardType defaultType, ImportResult<ImportRow> summary) {
+        this.deckRepository = deckRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.entityManager = entityManager;
+        this.copyLoader = copyLoader;
+        this.dryRun = dryRun;
+        this.folderId = folderId;
+        this.defaultType = defaultType;
+        this.summary = summary;
+    }
+
+    /**
+     * Persist one chunk of mapped rows.
+     *
+     * @param rows rows in file order
+     */
+    void write(List<ImportRow> rows) {
+        final long lookUpStart = System.nanoTime();
+        lookUp(rows);
+        this.summary.getStats().addDedupNanos(System.nanoTime() - lookUpStart);
+        for (int i = 0; i < rows.size(); i++) {
+            final var row = rows.get(i);
+            if (startsDeck(row, this.openedDeckKey)) {
+                startDeck(rows, i);
+            }
+            if (row.kind() == ImportRow.Kind.CARD) {
+                addCard(row);
+            }
+        }
+        flushBatch();
+        this.storedTermHashes.clear();
+        if (this.dryRun) {
+            return;
+        }
+        // Detach everything written so far; later chunks only need ids
+        this.entityManager.flush();
+        this.entityManager.clear();
+        this.currentDeckRef = null;
+    }
+
+    /**
+     * Persist any buffered cards and mark the current deck as complete.
+     */
+    void finish() {
+        flushBatch();
+        completeCurrentDeck();
+    }
+
+    /**
+     * Restore the deck state saved at a checkpoint so a resumed import continues the
+     * deck it was writing. Its stored terms are looked up chunk by chunk.
+     *
+     * @param openedDeckIds decks created before the checkpoint, by lower-cased name
+     */
+    void resume(UUID deckId, String deckName, boolean skipDeck, boolean defaultDeckSkipped,
+            Map<String, UUID> openedDeckIds) {
+        this.openedDecks.putAll(openedDeckIds);
+        this.currentDeckId = deckId;
+        this.currentDeckName = deckName;
+        this.openedDeckKey = deckKey(deckName);
+        if (deckName != null) {
+            this.openedDecks.put(this.openedDeckKey, skipDeck ? null : deckId);
+        }
+        this.skipCurrentDeck = skipDeck;
+        this.defaultDeckSkipLogged = defaultDeckSkipped;
+        this.currentDeckStored = deckId != null;
+        this.currentTermHashes = new HashSet<>();
+    }
+
+    /**
+     * Share deck names with other writers importing into the same folder at the same
+     * time (a thread-safe set), so a name is only created by the writer that claims it
+     * first. Their uncommitted decks are invisible to the database lookup.
+     */
+    void shareDeckNames(Set<String> deckNames) {
+        this.sharedDeckNames = deckNames;
+    }
+
+    /**
+     * Use another name for the deck of cards that precede any deck row, e.g. the
+     * worksheet name. Must be called before the first chunk.
+     */
+    void defaultDeckName(String deckName) {
+        this.defaultDeckName = deckName;
+    }
+
+    /**
+     * @return decks created by this import by lower-cased name, for a checkpoint
+     */
+    Map<String, UUID> getOpenedDeckIds() {
+        final Map<String, UUID> deckIds = new HashMap<>();
+        this.openedDecks.forEach((deckKey, deckId) -> {
+            if (deckId != null) {
+                deckIds.put(deckKey, deckId);
+            }
+        });
+        return deckIds;
+    }
+
+    Set<UUID> getImportedDeckIds() {
+        return this.importedDeckIds;
+    }
+
+    /**
+     * @return decks that will receive no further cards since the last call
+     */
+    List<UUID> drainCompletedDeckIds() {
+        final var drained = List.copyOf(this.completedDeckIds);
+        this.completedDeckIds.clear();
+        return drained;
+    }
+
+    UUID getCurrentDeckId() {
+        return this.currentDeckId;
+    }
+
+    boolean isSkipCurrentDeck() {
+        return this.skipCurrentDeck;
+    }
+
+    boolean isDefaultDeckSkipLogged() {
+        return this.defaultDeckSkipLogged;
+    }
+
+    /**
+     * Resolve, in batched queries, which deck names of the chunk already exist in the
+     * folder and which terms for a deck continued from an earlier run are already stored.
+     */
+    private void lookUp(List<ImportRow> rows) {
+        final Set<String> deckKeys = new HashSet<>();
+        if (!this.defaultDeckLookedUp) {
+            deckKeys.add(deckKey(this.defaultDeckName));
+            this.defaultDeckLookedUp = true;
+        }
+        final Set<String> termHashes = new HashSet<>();
+        // Only rows before the chunk's first deck row can belong to the continued deck
+        var inStoredDeck = this.currentDeckStored && !this.skipCurrentDeck;
+        var openedDeckKey = this.openedDeckKey;
+        for (final ImportRow row : rows) {
+            if (startsDeck(row, openedDeckKey)) {
+                inStoredDeck = false;
+                openedDeckKey = deckKey(row.deckName());
+                if (!this.existingDeckNames.contains(openedDeckKey)) {
+                    deckKeys.add(openedDeckKey);
+                }
+            }
+            if (row.kind() == ImportRow.Kind.CARD && inStoredDeck) {
+                termHashes.add(TermHash.of(row.vocab()));
+            }
+        }
+        inBatches(deckKeys, batch -> this.existingDeckNames.addAll(
+                this.deckRepository.findNameKeysByFolderIdAndNameKeyIn(this.folderId, batch)));
+        inBatches(termHashes, batch -> this.storedTermHashes.addAll(
+                this.flashcardRepository.findTermHashesByDeckIdAndTermHashIn(this.currentDeckId, batch)));
+    }
+
+    private static void inBatches(Collection<String> values, Consumer<List<String>> lookup) {
+        final var list = List.copyOf(values);
+        for (int from = 0; from < list.size(); from += LOOKUP_BATCH_SIZE) {
+            lookup.accept(list.subList(from, Math.min(list.size(), from + LOOKUP_BATCH_SIZE)));
+        }
+    }
+
+    private static String deckKey(String deckName) {
+        return StringUtils.lowerCase(deckName, Locale.ROOT);
+    }
+
+    /**
+     * @return true for a deck row, or a card naming a deck other than the open one
+     */
+    private static boolean startsDeck(ImportRow row, String openedDeckKey) {
+        if (row.kind() == ImportRow.Kind.DECK) {
+            return true;
+        }
+        return row.deckName() != null && !deckKey(row.deckName()).equals(openedDeckKey);
+    }
+
+    /**
+     * Start the deck named by the row at the given position of the chunk.
+     */
+    private void startDeck(List<ImportRow> rows, int position) {
+        final var row = rows.get(position);
+        final var deckName = row.deckName();
+        flushBatch();
+        completeCurrentDeck();
+        this.currentTermHashes = new HashSet<>();
+        this.storedTermHashes.clear();
+        this.currentDeckStored = false;
+        final var deckKey = deckKey(deckName);
+        this.openedDeckKey = deckKey;
+        // A repeated deck row is a duplicate name; only a JSON Lines card switches back
+        if (row.kind() == ImportRow.Kind.CARD && this.openedDecks.containsKey(deckKey)) {
+            reopenDeck(deckName, deckKey, rows, position);
+            return;
+        }
+        if (!claimDeckName(deckKey)) {
+            this.summary.addDeckSkipped(deckName, row.rowIndex());
+            this.openedDecks.putIfAbsent(deckKey, null);
+            this.skipCurrentDeck = true;
+            this.currentDeckId = null;
+            return;
+        }
+        createDeck(deckName, deckKey);
+    }
+
+    /**
+     * Switch back to a deck this import started earlier, as JSON Lines cards naming
+     * their deck need not keep a deck's lines together. Its earlier cards are already
+     * stored, so the terms of the rows up to the next deck switch are checked against
+     * the database, as for a resumed deck; a dry run checks the terms it kept instead.
+     */
+    private void reopenDeck(String deckName, String deckKey, List<ImportRow> rows, int position) {
+        final var deckId = this.openedDecks.get(deckKey);
+        this.currentDeckId = deckId;
+        this.currentDeckRef = null;
+        this.skipCurrentDeck = deckId == null;
+        if (deckId == null) {
+            return;
+        }
+        this.currentDeckName = deckName;
+        if (this.dryRun) {
+            this.currentTermHashes = this.dryRunTermHashes.get(deckId);
+            return;
+        }
+        this.currentDeckStored = true;
+        final Set<String> termHashes = new HashSet<>();
+        for (int i = position; i < rows.size(); i++) {
+            final var row = rows.get(i);
+            if (i > position && startsDeck(row, deckKey)) {
+                break;
+            }
+            if (row.kind() == ImportRow.Kind.CARD) {
+                termHashes.add(TermHash.of(row.vocab()));
+            }
+        }
+        inBatches(termHashes, batch -> this.storedTermHashes.addAll(
+                this.flashcardRepository.findTermHashesByDeckIdAndTermHashIn(deckId, batch)));
+    }
+
+    private void addCard(ImportRow row) {
+        if (this.currentDeckId == null) {
+            final var deckKey = deckKey(this.defaultDeckName);
+            if (!claimDeckName(deckKey)) {
+                if (!this.defaultDeckSkipLogged) {
+                    this.summary.addDeckSkipped(this.defaultDeckName, row.rowIndex());
+                    this.defaultDeckSkipLogged = true;
+                }
+                this.skipCurrentDeck = true;
+                return;
+            }
+            createDeck(this.defaultDeckName, deckKey);
+            this.defaultDeckSkipLogged = false;
+        }
+        if (this.skipCurrentDeck) {
+            return;
+        }
+        // Decks created by an import have its default type; a card must match its deck
+        if (row.type() != null && row.type() != this.defaultType) {
+            this.summary.addInvalidRow(row.rowIndex(),
+                    "Card type " + row.type() + " does not match deck type " + this.defaultType,
+                    this.currentDeckName);
+            return;
+        }
+        final var termHash = TermHash.of(row.vocab());
+        if (this.storedTermHashes.contains(termHash) || !this.currentTermHashes.add(termHash)) {
+            this.summary.addCardDuplicate(row.rowIndex(), row.vocab(), this.currentDeckName);
+            return;
+        }
+        this.summary.addCardImported();
+        if (this.dryRun) {
+            return;
+        }
+        this.buffer.add(
+                Flashcard.builder()
+                        .question(row.vocab())
+                        .termHash(termHash)
+                        .answer(row.meaning())
+                        .hint(row.hint())
+                        .type(this.defaultType)
+                        .deck(currentDeck())
+                        .build());
+    }
+
+    /**
+     * @return false if a deck with this name exists or was claimed by a concurrent writer
+     */
+    private boolean claimDeckName(String deckKey) {
+        if (this.existingDeckNames.contains(deckKey)) {
+            return false;
+        }
+        if (this.sharedDeckNames != null && !this.sharedDeckNames.add(deckKey)) {
+            this.existingDeckNames.add(deckKey);
+            return false;
+        }
+        return true;
+    }
+
+    private void createDeck(String name, String deckKey) {
+        if (this.dryRun) {
+            // Placeholder id: only marks that a deck is open
+            startCurrentDeck(TimeOrderedUuid.next(), name, deckKey);
+            return;
+        }
+        final var deck = Deck.builder()
+                .name(name)
+                .description("Imported deck")
+                .folder(this.entityManager.getReference(Folder.class, this.folderId))
+                .cardCount(0)
+                .type(this.defaultType)
+                .build();
+        this.currentDeckRef = this.deckRepository.save(deck);
+        startCurrentDeck(this.currentDeckRef.getId(), name, deckKey);
+    }
+
+    private void startCurrentDeck(UUID deckId, String name, String deckKey) {
+        this.currentDeckId = deckId;
+        this.currentDeckName = name;
+        this.currentDeckStored = false;
+        if (this.dryRun) {
+            this.dryRunTermHashes.put(deckId, this.currentTermHashes);
+        }
+        this.importedDeckIds.add(this.currentDeckId);
+        this.existingDeckNames.add(deckKey);
+        this.openedDecks.put(deckKey, deckId);
+        this.summary.addDeckCreated();
+        this.skipCurrentDeck = false;
+    }
+
+    private void completeCurrentDeck() {
+        if (this.currentDeckId != null && !this.completedDeckIds.contains(this.currentDeckId)) {
+            this.completedDeckIds.add(this.currentDeckId);
+        }
+    }
+
+    private Deck currentDeck() {
+        if (this.currentDeckRef == null) {
+            this.currentDeckRef = this.entityManager.getReference(Deck.class, this.currentDeckId);
+        }
+        return this.currentDeckRef;
+    }
+
+    /**
+     * Insert the buffered cards; its latency, card count update included, is recorded
+     * as one flush.
+     */
+    private void flushBatch() {
+        if ((this.currentDeckId == null) || this.buffer.isEmpty()) {
+            return;
+        }
+        final long start = System.nanoTime();
+        if (this.copyLoader != null) {
+            // Deck rows must be inserted before COPY references them
+            this.entityManager.flush();
+            this.copyLoader.copy(this.buffer);
+        } else {
+            this.flashcardRepository.saveAll(this.buffer);
+        }
+        // Buffers never span decks, so this is one counter update per deck per chunk
+        this.deckRepository.adjustCardCount(this.currentDeckId, this.buffer.size());
+        this.buffer.clear();
+        this.summary.getStats().recordFlush(System.nanoTime() - start);
+    }
+}
@@ -1,130 +1,165 @@
 package com.flash.mastery.service.impl;
 
-import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.flash.mastery.cache.DeckListCache;
+import com.flash.mastery.cache.DeckListChangedEvent;
+import com.flash.mastery.config.DatabaseFeatures;
 import com.flash.mastery.constant.ErrorCodes;
 import com.flash.mastery.constant.MessageKeys;
 import com.flash.mastery.constant.NumberConstants;
 import com.flash.mastery.dto.criteria.DeckSearchCriteria;
 import com.flash.mastery.dto.request.DeckCreateRequest;
 import com.flash.mastery.dto.request.DeckUpdateRequest;
+import com.flash.mastery.dto.response.CursorPageResponse;
 import com.flash.mastery.dto.response.DeckResponse;
-import com.flash.mastery.entity.Deck;
-import com.flash.mastery.entity.Flashcard;
+import com.flash.mastery.dto.response.ImportSummaryResponse;
 import com.flash.mastery.entity.FlashcardType;
 import com.flash.mastery.entity.Folder;
 import com.flash.mastery.exception.NotFoundException;
 import com.flash.mastery.mapper.DeckMapper;
+import com.flash.mastery.mapper.ImportSummaryMapper;
 import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardCopyLoader;
 import com.flash.mastery.repository.FlashcardRepository;
 import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.search.FlashcardIndexEvent;
 import com.flash.mastery.service.BaseService;
 import com.flash.mastery.service.DeckService;
+import com.flash.mastery.util.ContentHash;
+import com.flash.mastery.util.DeckSearchMode;
 import com.flash.mastery.util.DeckSortOption;
-import com.flash.mastery.util.NaturalOrderComparator;
 import com.flash.mastery.util.SortMapper;
+import com.flash.mastery.util.importer.ImportError;
+import com.flash.mastery.util.importer.ImportPipeline;
 import com.flash.mastery.util.importer.ImportResult;
 import com.flash.mastery.util.importer.ImporterFactory;
-import com.flash.mastery.util.importer.RowContext;
+import com.flash.mastery.util.pagination.CursorCodec;
+
+import jakarta.persistence.EntityManager;
 
 @Service
 @Transactional
 public class DeckServiceImpl extends BaseService implements DeckService {
 
-    private static final int TEXT_LIMIT = 255;
-
     private final DeckRepository deckRepository;
     private final FlashcardRepository flashcardRepository;
     private final FolderRepository folderRepository;
     private final DeckMapper deckMapper;
+    private final DatabaseFeatures databaseFeatures;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DeckListCache deckListCache;
+    private final EntityManager entityManager;
+    private final FlashcardCopyLoader flashcardCopyLoader;
+    private final ImportLedger importLedger;
+    private final ImportSummaryMapper importSummaryMapper;
+    private final FolderImportLocks folderImportLocks;
+    private final ImportMeters importMeters;
+    private final int importChunkSize;
 
     public DeckServiceImpl(
             DeckRepository deckRepository,
             FlashcardRepository flashcardRepository,
             FolderRepository folderRepository,
             DeckMapper deckMapper,
+            DatabaseFeatures databaseFeatures,
+            ApplicationEventPublisher eventPublisher,
+            DeckListCache deckListCache,
+            EntityManager entityManager,
+            FlashcardCopyLoader flashcardCopyLoader,
+            ImportLedger importLedger,
+            ImportSummaryMapper importSummaryMapper,
+            FolderImportLocks folderImportLocks,
+            ImportMeters importMeters,
+            @Value("${flash-mastery.import.chunk-size:500}") int importChunkSize,
             MessageSource messageSource) {
         super(messageSource);
         this.deckRepository = deckRepository;
         this.flashcardRepository = flashcardRepository;
         this.folderRepository = folderRepository;
         this.deckMapper = deckMapper;
+        this.databaseFeatures = databaseFeatures;
+        this.eventPublisher = eventPublisher;
+        this.deckListCache = deckListCache;
+        this.entityManager = entityManager;
+        this.flashcardCopyLoader = flashcardCopyLoader;
+        this.importLedger = importLedger;
+        this.importSummaryMapper = importSummaryMapper;
+        this.folderImportLocks = folderImportLocks;
+        this.importMeters = importMeters;
+        this.importChunkSize = importChunkSize;
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<DeckResponse> getDecks(UUID folderId, String sort, int page, int size, String query) {
+    // SUPPORTS: cache hits must not open a transaction (and borrow a connection)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<DeckResponse> getDecks(UUID folderId, String sort, int page, int size, String query,
+            String mode) {
+        return this.deckListCache.get(folderId, sort, page, size, query, mode,
+                () -> loadDecks(folderId, sort, page, size, query, mode));
+    }
+
+    private List<DeckResponse> loadDecks(UUID folderId, String sort, int page, int size, String query,
+            String mode) {
         final var sortOption = DeckSortOption.from(sort);
-        final var isNameSort = (sortOption == DeckSortOption.NAME_ASC) || (sortOption == DeckSortOption.NAME_DESC);
 
         // Build search criteria
         final var criteria = DeckSearchCriteria.builder()
                 .folderId(folderId)
                 .query(query)
+                .mode(DeckSearchMode.from(mode))
                 .build();
 
-        // For name sorting, we need to fetch all data and sort in memory with natural
-        // order
-        // For other sorts, use database sorting
-        Pageable pageable = PageRequest.of(page, size, SortMapper.toSort(sortOption));
-        if (isNameSort) {
-            // Fetch without pagination to sort all data
-            pageable = Pageable.unpaged();
-        }
-
-        // Execute search based on criteria
-        final var deckPage = this.deckRepository.findByCriteria(criteria, pageable);
-        var decks = deckPage.getContent();
-
-        // Apply natural order sorting for name sorts
-        if (isNameSort) {
-            decks = applyNaturalOrderSort(decks, sortOption);
-            decks = applyPagination(decks, page, size);
+        // Ranked search orders by relevance, so the requested sort does not apply
+        if (criteria.isRankedSearch()) {
+            return this.deckRepository
+                    .findRankedByCriteria(criteria, this.databaseFeatures.isPostgres(), PageRequest.of(page, size))
+                    .map(this.deckMapper::toResponse)
+                    .getContent();
         }
 
-        return decks.stream().map(this.deckMapper::toResponse).toList();
+        // Name sorts page in SQL on the persisted natural sort key like every other option;
+        // rows are selected straight into DeckResponse without managed entities
+        final var pageable = PageRequest.of(page, size, SortMapper.toSort(sortOption));
+        return this.deckRepository.findResponsesByCriteria(criteria, pageable).getContent();
     }
 
-    /**
-     * Apply natural order sorting for name sorts.
-     */
-    private List<Deck> applyNaturalOrderSort(List<Deck> decks, DeckSortOption sortOption) {
-        final var comparator = NaturalOrderComparator.comparing(Deck::getName);
-        if (sortOption == DeckSortOption.NAME_DESC) {
-            return decks.stream()
-                    .sorted(comparator.reversed())
-                    .toList();
-        }
-        if (sortOption == DeckSortOption.NAME_ASC) {
-            return decks.stream()
-                    .sorted(comparator)
-                    .toList();
-        }
-        return decks;
-    }
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<DeckResponse> scrollDecks(UUID folderId, String sort, int size, String query,
+            String cursor) {
+        final var sortOption = DeckSortOption.from(sort);
+        final var criteria = DeckSearchCriteria.builder()
+                .folderId(folderId)
+                .query(query)
+                .build();
 
-    /**
-     * Apply pagination manually after sorting.
-     */
-    private List<Deck> applyPagination(List<Deck> decks, int page, int size) {
-        final int start = page * size;
-        final int end = Math.min(start + size, decks.size());
-        if (start >= decks.size()) {
-            return List.of();
-        }
-        return decks.subList(start, end);
+        // Seek on (sort field, id); the cursor must have been issued for the same sort
+        final var position = CursorCodec.decode(cursor, Set.of(sortOption.getField(), SortMapper.ID_FIELD));
+        final var window = this.deckRepository.scrollByCriteria(
+                criteria,
+                position,
+                SortMapper.toKeysetSort(sortOption),
+                Limit.of(Math.max(size, NumberConstants.ONE)));
+
+        return CursorPageResponse.<DeckResponse>builder()
+                .items(window.getContent().stream().map(this.deckMapper::toResponse).toList())
+                .nextCursor(CursorCodec.nextCursor(window))
+                .hasNext(window.hasNext())
+                .build();
     }
 
     @Override
@@ -143,8 +178,8 @@ public class DeckServiceImpl extends BaseService implements DeckService {
                 ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
         final var deck = this.deckMapper.fromCreate(request, folder);
         final var saved = this.deckRepository.save(deck);
-        folder.setDeckCount(incrementCount(folder.getDeckCount(), NumberConstants.ONE));
-        this.folderRepository.save(folder);
+        this.folderRepository.adjustDeckCount(folder.getId(), NumberConstants.ONE);
+        this.eventPublisher.publishEvent(new DeckListChangedEvent(folder.getId()));
         return this.deckMapper.toResponse(saved);
     }
 
@@ -153,7 +188,8 @@ public class DeckServiceImpl extends BaseService implements DeckService {
         final var deck = findByIdOrThrow(
                 this.deckRepository.findById(id),
                 ErrorCodes.DECK_NOT_FOUND, MessageKeys.ERROR_DECK_NOT_FOUND);
-        var folder = deck.getFolder();
+        final var previousFolder = deck.getFolder();
+        var folder = previousFolder;
         if (request.getFolderId() != null) {
             folder = this.folderRepository.findById(request.getFolderId())
                     .orElseThrow(() -> new NotFoundException(
@@ -164,6 +200,13 @@ public class DeckServiceImpl extends BaseService implements DeckService {
             deck.setType(request.getType());
         }
         final var saved = this.deckRepository.save(deck);
+        publishDeckListChanged(previousFolder);
+        if (folder != previousFolder) {
+            // Moving a deck changes both folders' deck counts
+            adjustDeckCount(previousFolder, -NumberConstants.ONE);
+            adjustDeckCount(folder, NumberConstants.ONE);
+            publishDeckListChanged(folder);
+        }
         return this.deckMapper.toResponse(saved);
     }
 
@@ -173,164 +216,94 @@ public class DeckServiceImpl extends BaseService implements DeckService {
                 this.deckRepository.findById(id),
                 ErrorCodes.DECK_NOT_FOUND, MessageKeys.ERROR_DECK_NOT_FOUND);
         this.deckRepository.delete(deck);
+        this.eventPublisher.publishEvent(FlashcardIndexEvent.deleteDeck(id));
         final var folder = deck.getFolder();
-        if ((folder != null) && (folder.getDeckCount() > NumberConstants.ZERO)) {
-            folder.setDeckCount(decrementCount(folder.getDeckCount(), NumberConstants.ONE));
-            this.folderRepository.save(folder);
+        publishDeckListChanged(folder);
+        adjustDeckCount(folder, -NumberConstants.ONE);
+    }
+
+    private void adjustDeckCount(Folder folder, int delta) {
+        if (folder != null) {
+            this.folderRepository.adjustDeckCount(folder.getId(), delta);
         }
     }
 
     @Override
-    public ImportResult<ImportRow> importDecks(UUID folderId, MultipartFile file, FlashcardType type,
-            boolean skipHeader) throws java.io.IOException {
+    public ImportSummaryResponse importDecks(UUID folderId, MultipartFile file, FlashcardType type,
+            boolean skipHeader, boolean bulkLoad) throws java.io.IOException {
         final var folder = this.folderRepository.findById(folderId)
                 .orElseThrow(() -> new NotFoundException(
                         ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND));
-        final var importer = ImporterFactory.<ImportRow>forFilename(file.getOriginalFilename());
-        final var parsed = importer.importStream(file.getInputStream(), this::mapRow,
-                skipHeader);
-        final Set<String> existingDeckNames = new HashSet<>();
-        this.deckRepository.findByFolderId(folderId, Pageable.unpaged())
-                .forEach(deck -> existingDeckNames.add(StringUtils.lowerCase(deck.getName())));
-        persistRows(parsed, folder, type, existingDeckNames);
-        return parsed;
-    }
-
-    private ImportRow mapRow(RowContext ctx) {
-        if (ctx.cells().isEmpty()) {
-            return null;
+        final String contentHash;
+        try (var input = file.getInputStream()) {
+            contentHash = ContentHash.sha256Hex(input);
         }
-        final var first = StringUtils.trimToEmpty(ctx.cell(0));
-        if (first.isEmpty()) {
-            return null;
-        }
-        if (first.startsWith("*")) {
-            var deckName = StringUtils.trimToEmpty(first.substring(1));
-            if (deckName.isEmpty()) {
-                deckName = "Imported Deck";
-            }
-            return ImportRow.deck(ctx.rowIndex(), clamp(deckName));
-        }
-        if (ctx.cells().size() < 2) {
-            throw new IllegalArgumentException("Missing vocabulary or meaning");
-        }
-        final var vocab = StringUtils.trimToNull(ctx.cell(0));
-        final var meaning = StringUtils.trimToNull(ctx.cell(1));
-        if ((vocab == null) || (meaning == null)) {
-            throw new IllegalArgumentException("Vocabulary/meaning is blank");
-        }
-        return ImportRow.card(ctx.rowIndex(), clamp(vocab), clamp(meaning));
-    }
-
-    private void persistRows(ImportResult<ImportRow> summary, Folder folder, FlashcardType defaultType,
-            Set<String> existingDeckNames) {
-        final List<Flashcard> buffer = new ArrayList<>();
-        Deck currentDeck = null;
-        final var batchSize = 500;
-        final Set<String> currentTerms = new HashSet<>();
-        var skipCurrentDeck = false;
-        var defaultDeckSkipLogged = false;
-        for (final ImportRow row : summary.getItems()) {
-            if (row.kind == ImportRow.Kind.DECK) {
-                flushBatch(buffer, currentDeck);
-                currentTerms.clear();
-                final var deckName = row.deckName;
-                final var deckKey = StringUtils.lowerCase(deckName);
-                if (existingDeckNames.contains(deckKey)) {
-                    summary.addDeckSkipped(deckName, row.rowIndex);
-                    skipCurrentDeck = true;
-                    currentDeck = null;
-                    continue;
-                }
-                currentDeck = createDeck(deckName, folder, defaultType);
-                existingDeckNames.add(deckKey);
-                summary.addDeckCreated();
-                skipCurrentDeck = false;
-                continue;
-            }
-            if (currentDeck == null) {
-                final var defaultDeckName = "Imported Deck";
-                final var deckKey = StringUtils.lowerCase(defaultDeckName);
-                if (existingDeckNames.contains(deckKey)) {
-                    if (!defaultDeckSkipLogged) {
-                        summary.addDeckSkipped(defaultDeckName, row.rowIndex);
-                        defaultDeckSkipLogged = true;
-                    }
-                    skipCurrentDeck = true;
-                    continue;
-                }
-                currentDeck = createDeck(defaultDeckName, folder, defaultType);
-                existingDeckNames.add(deckKey);
-                summary.addDeckCreated();
-                skipCurrentDeck = false;
-                defaultDeckSkipLogged = false;
-            }
-            if (skipCurrentDeck) {
-                continue;
-            }
-            final var termKey = StringUtils.lowerCase(row.vocab);
-            if (currentTerms.contains(termKey)) {
-                summary.addCardDuplicate(row.rowIndex, row.vocab, currentDeck.getName());
-                continue;
-            }
-            buffer.add(
-                    Flashcard.builder()
-                            .question(row.vocab)
-                            .answer(row.meaning)
-                            .type(defaultType)
-                            .deck(currentDeck)
-                            .build());
-            currentTerms.add(termKey);
-            summary.addCardImported();
-            if (buffer.size() >= batchSize) {
-                flushBatch(buffer, currentDeck);
-            }
+        // A retried upload gets the earlier summary without parsing or writing anything
+        final var previous = this.importLedger.find(folderId, contentHash, type, skipHeader);
+        if (previous.isPresent()) {
+            return previous.get();
         }
-        flushBatch(buffer, currentDeck);
+        final var ledgerEntry = this.importLedger.claim(folderId, contentHash, type, skipHeader);
+        // Held until commit, so a concurrent import into this folder sees the decks created here
+        this.folderImportLocks.lockForTransaction(folderId);
+        final var summary = ImportResult.<ImportRow>builder().stats(this.importMeters.newStats()).build();
+        // COPY needs PostgreSQL; other datasources (e.g. H2 in tests) use the JPA path
+        final var copyLoader = bulkLoad && this.flashcardCopyLoader.isAvailable() ? this.flashcardCopyLoader : null;
+        final var writer = runImport(folderId, file, type, skipHeader, copyLoader, false, summary);
+        final var importedDeckIds = writer.getImportedDeckIds();
+        // One counter update for all decks created by this import
+        adjustDeckCount(folder, importedDeckIds.size());
+        importedDeckIds.forEach(deckId -> this.eventPublisher.publishEvent(FlashcardIndexEvent.reindexDeck(deckId)));
+        this.eventPublisher.publishEvent(new DeckListChangedEvent(folderId));
+        final var response = this.importSummaryMapper.toResponse(summary);
+        this.importLedger.record(ledgerEntry, response);
+        return response;
     }
 
-    private void flushBatch(List<Flashcard> buffer, Deck currentDeck) {
-        if ((currentDeck == null) || buffer.isEmpty()) {
-            return;
+    @Override
+    @Transactional(readOnly = true)
+    public ImportSummaryResponse validateImport(UUID folderId, MultipartFile file, FlashcardType type,
+            boolean skipHeader, Consumer<ImportError> errorSink) throws java.io.IOException {
+        if (!this.folderRepository.existsById(folderId)) {
+            throw new NotFoundException(ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
         }
-        this.flashcardRepository.saveAll(buffer);
-        currentDeck.setCardCount(currentDeck.getCardCount() + buffer.size());
-        this.deckRepository.save(currentDeck);
-        buffer.clear();
-    }
-
-    private Deck createDeck(String name, Folder folder, FlashcardType type) {
-        final var deck = Deck.builder()
-                .name(clamp(name))
-                .description("Imported deck")
-                .folder(folder)
-                .cardCount(0)
-                .type(type)
+        final var summary = ImportResult.<ImportRow>builder()
+                .errorSink(errorSink)
+                .stats(this.importMeters.newStats())
                 .build();
-        final var saved = this.deckRepository.save(deck);
-        folder.setDeckCount(folder.getDeckCount() + 1);
-        this.folderRepository.save(folder);
-        return saved;
+        runImport(folderId, file, type, skipHeader, null, true, summary);
+        return this.importSummaryMapper.toResponse(summary);
     }
 
-    private String clamp(String value) {
-        if (value == null) {
-            return null;
+    /**
+     * Stream the file through the import pipeline into a {@link DeckImportWriter} and
+     * record the run's stats.
+     *
+     * @return the finished writer
+     */
+    private DeckImportWriter runImport(UUID folderId, MultipartFile file, FlashcardType type, boolean skipHeader,
+            FlashcardCopyLoader copyLoader, boolean dryRun, ImportResult<ImportRow> summary)
+            throws java.io.IOException {
+        final var importer = ImporterFactory.<ImportRow>forFilename(file.getOriginalFilename(), file.getSize());
+        final var writer = new DeckImportWriter(this.deckRepository, this.flashcardRepository, this.entityManager,
+                copyLoader, dryRun, folderId, type, summary);
+        final var mapper = ImporterFactory.<ImportRow>mapperFor(file.getOriginalFilename(), ImportRow::map,
+                ImportRow::mapJsonLine);
+        final var pipeline = new ImportPipeline<>(mapper, skipHeader, summary, writer::write, this.importChunkSize);
+        final long start = System.nanoTime();
+        // Rows flow parser -> mapper -> writer in chunks; only counters and an error sample are kept
+        try (var input = file.getInputStream()) {
+            importer.stream(input, pipeline);
         }
-        return value.length() > TEXT_LIMIT ? value.substring(0, TEXT_LIMIT) : value;
+        writer.finish();
+        final var stats = summary.getStats();
+        stats.setBytesRead(file.getSize());
+        stats.complete(System.nanoTime() - start, pipeline.getRowsRead());
+        this.importMeters.record(dryRun ? "validate" : "sync", stats);
+        return writer;
     }
 
-    private record ImportRow(int rowIndex, Kind kind, String deckName, String vocab, String meaning) {
-        enum Kind {
-            DECK, CARD
-        }
-
-        static ImportRow deck(int rowIndex, String name) {
-            return new ImportRow(rowIndex, Kind.DECK, name, null, null);
-        }
-
-        static ImportRow card(int rowIndex, String vocab, String meaning) {
-            return new ImportRow(rowIndex, Kind.CARD, null, vocab, meaning);
-        }
+    private void publishDeckListChanged(Folder folder) {
+        this.eventPublisher.publishEvent(new DeckListChangedEvent(folder != null ? folder.getId() : null));
     }
 }
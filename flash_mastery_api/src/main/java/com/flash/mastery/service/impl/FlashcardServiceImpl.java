@@ -1,25 +1,37 @@
 package com.flash.mastery.service.impl;
 
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.flash.mastery.cache.DeckListChangedEvent;
 import com.flash.mastery.constant.ErrorCodes;
 import com.flash.mastery.constant.MessageKeys;
 import com.flash.mastery.constant.NumberConstants;
 import com.flash.mastery.dto.criteria.FlashcardSearchCriteria;
 import com.flash.mastery.dto.request.FlashcardCreateRequest;
 import com.flash.mastery.dto.request.FlashcardUpdateRequest;
+import com.flash.mastery.dto.response.CursorPageResponse;
 import com.flash.mastery.dto.response.FlashcardResponse;
+import com.flash.mastery.entity.Deck;
 import com.flash.mastery.exception.BadRequestException;
 import com.flash.mastery.mapper.FlashcardMapper;
 import com.flash.mastery.repository.DeckRepository;
 import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.search.FlashcardDocument;
+import com.flash.mastery.search.FlashcardIndexEvent;
+import com.flash.mastery.search.FlashcardSearchIndex;
 import com.flash.mastery.service.BaseService;
 import com.flash.mastery.service.FlashcardService;
+import com.flash.mastery.util.pagination.CursorCodec;
 
 @Service
 @Transactional
@@ -28,16 +40,22 @@ public class FlashcardServiceImpl extends BaseService implements FlashcardServic
     private final FlashcardRepository flashcardRepository;
     private final DeckRepository deckRepository;
     private final FlashcardMapper flashcardMapper;
+    private final FlashcardSearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public FlashcardServiceImpl(
             FlashcardRepository flashcardRepository,
             DeckRepository deckRepository,
             FlashcardMapper flashcardMapper,
+            FlashcardSearchIndex searchIndex,
+            ApplicationEventPublisher eventPublisher,
             MessageSource messageSource) {
         super(messageSource);
         this.flashcardRepository = flashcardRepository;
         this.deckRepository = deckRepository;
         this.flashcardMapper = flashcardMapper;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -51,8 +69,25 @@ public class FlashcardServiceImpl extends BaseService implements FlashcardServic
 
         // Normalize pagination parameters
         final var normalizedCriteria = normalizePagination(criteria);
-        final var flashcards = this.flashcardRepository.findByCriteria(normalizedCriteria);
-        return flashcards.stream().map(this.flashcardMapper::toResponse).toList();
+        return this.flashcardRepository.findResponsesByCriteria(normalizedCriteria);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<FlashcardResponse> scrollByDeck(UUID deckId, int size, String cursor) {
+        final var criteria = FlashcardSearchCriteria.builder()
+                .deckId(deckId)
+                .page(NumberConstants.ZERO)
+                .size(Math.max(size, NumberConstants.ONE))
+                .build();
+
+        final var position = CursorCodec.decode(cursor, Set.of("createdAt", "id"));
+        final var window = this.flashcardRepository.scrollByCriteria(criteria, position);
+        return CursorPageResponse.<FlashcardResponse>builder()
+                .items(window.getContent().stream().map(this.flashcardMapper::toResponse).toList())
+                .nextCursor(CursorCodec.nextCursor(window))
+                .hasNext(window.hasNext())
+                .build();
     }
 
     /**
@@ -72,6 +107,25 @@ public class FlashcardServiceImpl extends BaseService implements FlashcardServic
                 .build();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<FlashcardResponse> search(String query, UUID deckId, int limit) {
+        final var ids = this.searchIndex.search(query, deckId, Math.max(limit, NumberConstants.ONE));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Keep the index ranking; cards deleted since indexing simply drop out
+        final Map<UUID, Integer> rank = new HashMap<>();
+        for (int i = 0; i < ids.size(); i++) {
+            rank.put(ids.get(i), i);
+        }
+        return this.flashcardRepository.findAllById(ids).stream()
+                .sorted(Comparator.comparing(card -> rank.get(card.getId())))
+                .map(this.flashcardMapper::toResponse)
+                .toList();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public FlashcardResponse getById(UUID id) {
@@ -101,8 +155,9 @@ public class FlashcardServiceImpl extends BaseService implements FlashcardServic
         }
         final var card = this.flashcardMapper.fromCreate(request, deck);
         final var saved = this.flashcardRepository.save(card);
-        deck.setCardCount(incrementCount(deck.getCardCount(), NumberConstants.ONE));
-        this.deckRepository.save(deck);
+        this.deckRepository.adjustCardCount(deck.getId(), NumberConstants.ONE);
+        this.eventPublisher.publishEvent(FlashcardIndexEvent.upsert(FlashcardDocument.from(saved)));
+        publishDeckListChanged(deck);
         return this.flashcardMapper.toResponse(saved);
     }
 
@@ -126,6 +181,7 @@ public class FlashcardServiceImpl extends BaseService implements FlashcardServic
             card.setType(deckType);
         }
         final var saved = this.flashcardRepository.save(card);
+        this.eventPublisher.publishEvent(FlashcardIndexEvent.upsert(FlashcardDocument.from(saved)));
         return this.flashcardMapper.toResponse(saved);
     }
 
@@ -135,11 +191,20 @@ public class FlashcardServiceImpl extends BaseService implements FlashcardServic
                 this.flashcardRepository.findById(id),
                 ErrorCodes.FLASHCARD_NOT_FOUND, MessageKeys.ERROR_FLASHCARD_NOT_FOUND);
         this.flashcardRepository.delete(card);
+        this.eventPublisher.publishEvent(FlashcardIndexEvent.delete(id));
         final var deck = card.getDeck();
-        if ((deck != null) && (deck.getCardCount() > NumberConstants.ZERO)) {
-            deck.setCardCount(decrementCount(deck.getCardCount(), NumberConstants.ONE));
-            this.deckRepository.save(deck);
+        if (deck != null) {
+            this.deckRepository.adjustCardCount(deck.getId(), -NumberConstants.ONE);
+            publishDeckListChanged(deck);
         }
     }
 
+    /**
+     * Card count is part of the deck list payload, so count changes outdate cached lists.
+     */
+    private void publishDeckListChanged(Deck deck) {
+        final var folder = deck.getFolder();
+        this.eventPublisher.publishEvent(new DeckListChangedEvent(folder != null ? folder.getId() : null));
+    }
+
 }
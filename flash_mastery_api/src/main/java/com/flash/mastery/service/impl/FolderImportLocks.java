@@ -0,0 +1,174 @@
+package com.flash.mastery.service.impl;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.flash.mastery.config.DatabaseFeatures;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serializes imports into the same folder, so two imports cannot both miss a deck
+ * name in their lookup and create it twice, while imports into different folders
+ * never wait for each other. On PostgreSQL the lock is an advisory lock keyed by the
+ * 64-bit fold of the folder id, which also holds across application instances; two
+ * folders share a key with negligible probability. On other databases it is an
+ * in-process lock per folder.
+ */
+@Component
+@Slf4j
+public class FolderImportLocks {
+
+    private final DataSource dataSource;
+    private final DatabaseFeatures databaseFeatures;
+    /** Caps the pooled connections held by batch locks, waiting ones included. */
+    private final Semaphore batchConnections;
+    /** In-process locks of the folders currently locked or awaited. */
+    private final Map<UUID, FolderLock> folderLocks = new ConcurrentHashMap<>();
+
+    public FolderImportLocks(DataSource dataSource, DatabaseFeatures databaseFeatures,
+            @Value("${flash-mastery.import.batch.max-locked-folders:3}") int maxLockedFolders) {
+        this.dataSource = dataSource;
+        this.databaseFeatures = databaseFeatures;
+        this.batchConnections = new Semaphore(Math.max(1, maxLockedFolders), true);
+    }
+
+    /**
+     * A folder's in-process lock and the number of threads holding or awaiting it, so
+     * it is dropped once unused.
+     */
+    private static final class FolderLock {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int users;
+    }
+
+    /**
+     * A held lock; closing it releases the lock.
+     */
+    @FunctionalInterface
+    public interface Held extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Lock the folder until the current transaction completes. Call it before the
+     * import looks up existing decks.
+     */
+    public void lockForTransaction(UUID folderId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Folder import lock requires an active transaction");
+        }
+        if (this.databaseFeatures.isPostgres()) {
+            final var connection = DataSourceUtils.getConnection(this.dataSource);
+            try {
+                advisory(connection, "SELECT pg_advisory_xact_lock(?)", folderId);
+            } finally {
+                DataSourceUtils.releaseConnection(connection, this.dataSource);
+            }
+            return;
+        }
+        final var held = lockInProcess(folderId);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                held.close();
+            }
+        });
+    }
+
+    /**
+     * Lock the folder for an import made of several transactions, e.g. the parts of a
+     * batch committed by worker threads. Must be closed by the calling thread. On
+     * PostgreSQL this holds a pooled connection until closed; the number of such
+     * connections, waiting ones included, is capped (max-locked-folders) so the parts'
+     * worker threads can still get connections from the same pool.
+     */
+    public Held lockForBatch(UUID folderId) {
+        if (!this.databaseFeatures.isPostgres()) {
+            return lockInProcess(folderId);
+        }
+        this.batchConnections.acquireUninterruptibly();
+        final Connection connection;
+        try {
+            connection = this.dataSource.getConnection();
+        } catch (SQLException ex) {
+            this.batchConnections.release();
+            throw new DataAccessResourceFailureException("Could not obtain connection for folder lock", ex);
+        }
+        try {
+            advisory(connection, "SELECT pg_advisory_lock(?)", folderId);
+        } catch (RuntimeException ex) {
+            closeQuietly(connection);
+            this.batchConnections.release();
+            throw ex;
+        }
+        return () -> {
+            try {
+                advisory(connection, "SELECT pg_advisory_unlock(?)", folderId);
+            } finally {
+                closeQuietly(connection);
+                this.batchConnections.release();
+            }
+        };
+    }
+
+    /**
+     * @return true if another thread is waiting for the folder's in-process lock
+     */
+    boolean hasWaiters(UUID folderId) {
+        final var folderLock = this.folderLocks.get(folderId);
+        return folderLock != null && folderLock.lock.hasQueuedThreads();
+    }
+
+    private Held lockInProcess(UUID folderId) {
+        final var folderLock = this.folderLocks.compute(folderId, (id, existing) -> {
+            final var used = existing != null ? existing : new FolderLock();
+            used.users++;
+            return used;
+        });
+        folderLock.lock.lock();
+        return () -> {
+            folderLock.lock.unlock();
+            this.folderLocks.computeIfPresent(folderId, (id, used) -> --used.users == 0 ? null : used);
+        };
+    }
+
+    /**
+     * Both halves of the folder id folded into the single 64-bit advisory key.
+     */
+    static long advisoryKey(UUID folderId) {
+        return folderId.getMostSignificantBits() ^ folderId.getLeastSignificantBits();
+    }
+
+    private static void advisory(Connection connection, String sql, UUID folderId) {
+        try (var statement = connection.prepareStatement(sql)) {
+            statement.setLong(1, advisoryKey(folderId));
+            statement.execute();
+        } catch (SQLException ex) {
+            throw new DataAccessResourceFailureException("Folder import lock failed for " + folderId, ex);
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ex) {
+            log.warn("Could not close folder lock connection: {}", ex.getMessage());
+        }
+    }
+}
@@ -6,13 +6,16 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.flash.mastery.cache.DeckListChangedEvent;
 import com.flash.mastery.constant.ErrorCodes;
 import com.flash.mastery.constant.MessageKeys;
 import com.flash.mastery.dto.criteria.FolderSearchCriteria;
+import com.flash.mastery.dto.projection.FolderSummary;
 import com.flash.mastery.dto.request.FolderCreateRequest;
 import com.flash.mastery.dto.request.FolderUpdateRequest;
 import com.flash.mastery.dto.response.FolderResponse;
@@ -21,6 +24,7 @@ import com.flash.mastery.exception.BadRequestException;
 import com.flash.mastery.exception.NotFoundException;
 import com.flash.mastery.mapper.FolderMapper;
 import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.search.FlashcardIndexEvent;
 import com.flash.mastery.service.BaseService;
 import com.flash.mastery.service.FolderService;
 
@@ -30,14 +34,17 @@ public class FolderServiceImpl extends BaseService implements FolderService {
 
     private final FolderRepository folderRepository;
     private final FolderMapper folderMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public FolderServiceImpl(
             FolderRepository folderRepository,
             FolderMapper folderMapper,
+            ApplicationEventPublisher eventPublisher,
             MessageSource messageSource) {
         super(messageSource);
         this.folderRepository = folderRepository;
         this.folderMapper = folderMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -47,15 +54,18 @@ public class FolderServiceImpl extends BaseService implements FolderService {
                 .parentId(parentId)
                 .build();
 
-        // Validate parent exists if filter is applied
-        if (criteria.hasParentFilter()) {
-            findByIdOrThrow(
-                    this.folderRepository.findById(criteria.getParentId()),
-                    ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
-        }
-
-        final var folders = this.folderRepository.findByCriteria(criteria);
-        return folders.stream().map(this::toResponseWithPath).toList();
+        // Validate parent exists if filter is applied; siblings share the parent's path
+        final List<String> parentPath = criteria.hasParentFilter()
+                ? buildPath(findByIdOrThrow(
+                        this.folderRepository.findById(criteria.getParentId()),
+                        ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND))
+                : List.of();
+
+        // Read-only projection: one statement, sub-folder counts included
+        final var summaries = this.folderRepository.findSummariesByCriteria(criteria);
+        return summaries.stream()
+                .map(summary -> toResponseWithPath(summary, parentPath))
+                .toList();
     }
 
     @Override
@@ -119,7 +129,11 @@ public class FolderServiceImpl extends BaseService implements FolderService {
         }
         // After all children are deleted, delete this folder
         // (cascade will handle decks due to JPA relationship)
+        for (final var deck : folder.getDecks()) {
+            this.eventPublisher.publishEvent(FlashcardIndexEvent.deleteDeck(deck.getId()));
+        }
         this.folderRepository.delete(folder);
+        this.eventPublisher.publishEvent(new DeckListChangedEvent(folder.getId()));
     }
 
     private void validateParent(Folder folder, Folder newParent) {
@@ -140,6 +154,16 @@ public class FolderServiceImpl extends BaseService implements FolderService {
         return base.toBuilder().path(path).level(level).build();
     }
 
+    private FolderResponse toResponseWithPath(FolderSummary summary, List<String> parentPath) {
+        final List<String> path = new ArrayList<>(parentPath.size() + 1);
+        path.addAll(parentPath);
+        path.add(summary.name());
+        return this.folderMapper.toResponse(summary).toBuilder()
+                .path(path)
+                .level(parentPath.size())
+                .build();
+    }
+
     private List<String> buildPath(Folder folder) {
         final List<String> path = new ArrayList<>();
         var current = folder;
@@ -0,0 +1,392 @@
+package com.flash.mastery.service.impl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flash.mastery.cache.DeckListChangedEvent;
+import com.flash.mastery.entity.Deck;
+import com.flash.mastery.entity.ImportJob;
+import com.flash.mastery.entity.ImportJobError;
+import com.flash.mastery.entity.enums.ImportJobStatus;
+import com.flash.mastery.mapper.ImportJobMapper;
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.repository.ImportJobRepository;
+import com.flash.mastery.search.FlashcardIndexEvent;
+import com.flash.mastery.util.importer.ImportPipeline;
+import com.flash.mastery.util.importer.ImportResult;
+import com.flash.mastery.util.importer.ImporterFactory;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs import jobs on a bounded pool. Each chunk of rows is written in its own
+ * transaction together with the job's progress counters and resume checkpoint, so a
+ * job interrupted by a restart continues after the last committed chunk. A job is
+ * leased to one instance, which renews the lease with a heartbeat; other instances
+ * only take over jobs whose lease expired.
+ */
+@Component
+@Slf4j
+public class ImportJobRunner {
+
+    private static final List<ImportJobStatus> UNFINISHED = List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+
+    private final ImportJobRepository importJobRepository;
+    private final DeckRepository deckRepository;
+    private final FlashcardRepository flashcardRepository;
+    private final FolderRepository folderRepository;
+    private final ImportJobMapper importJobMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FolderImportLocks folderImportLocks;
+    private final ImportMeters importMeters;
+    private final int chunkSize;
+    private final ThreadPoolExecutor executor;
+    private final Set<UUID> cancelRequests = ConcurrentHashMap.newKeySet();
+    /** Jobs queued or running on this instance. */
+    private final Set<UUID> activeJobs = ConcurrentHashMap.newKeySet();
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Duration lease;
+    private volatile boolean shuttingDown;
+
+    public ImportJobRunner(
+            ImportJobRepository importJobRepository,
+            DeckRepository deckRepository,
+            FlashcardRepository flashcardRepository,
+            FolderRepository folderRepository,
+            ImportJobMapper importJobMapper,
+            EntityManager entityManager,
+            TransactionTemplate transactionTemplate,
+            ApplicationEventPublisher eventPublisher,
+            FolderImportLocks folderImportLocks,
+            ImportMeters importMeters,
+            @Value("${flash-mastery.import.chunk-size:500}") int chunkSize,
+            @Value("${flash-mastery.import.jobs.pool-size:2}") int poolSize,
+            @Value("${flash-mastery.import.jobs.queue-capacity:100}") int queueCapacity,
+            @Value("${flash-mastery.import.jobs.lease:2m}") Duration lease) {
+        this.importJobRepository = importJobRepository;
+        this.deckRepository = deckRepository;
+        this.flashcardRepository = flashcardRepository;
+        this.folderRepository = folderRepository;
+        this.importJobMapper = importJobMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.folderImportLocks = folderImportLocks;
+        this.importMeters = importMeters;
+        this.chunkSize = chunkSize;
+        this.lease = lease;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("import-job-"));
+    }
+
+    /**
+     * Queue a job for execution.
+     *
+     * @return false if the queue is full
+     */
+    boolean submit(UUID jobId) {
+        if (!this.activeJobs.add(jobId)) {
+            return true;
+        }
+        try {
+            this.executor.execute(() -> run(jobId));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            this.activeJobs.remove(jobId);
+            return false;
+        }
+    }
+
+    /**
+     * @return the owner recorded on jobs this instance holds
+     */
+    String getInstanceId() {
+        return this.instanceId;
+    }
+
+    /**
+     * Ask a job running on this instance to stop before its next chunk; jobs on other
+     * instances stop at their next checkpoint, which reads the persisted flag.
+     */
+    void requestCancel(UUID jobId) {
+        this.cancelRequests.add(jobId);
+    }
+
+    /**
+     * Resume unfinished jobs no live instance holds, e.g. those that were queued or
+     * running when their instance stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        final var expiredBefore = LocalDateTime.now().minus(this.lease);
+        final List<UUID> pending = this.transactionTemplate.execute(status -> this.importJobRepository
+                .findResumableIds(UNFINISHED, this.instanceId, expiredBefore));
+        for (final UUID jobId : pending) {
+            if (!submit(jobId)) {
+                log.warn("Import queue full; job {} stays queued until a later heartbeat", jobId);
+            }
+        }
+        if (!pending.isEmpty()) {
+            log.info("Resumed {} unfinished import job(s)", pending.size());
+        }
+    }
+
+    /**
+     * Renew the lease of the jobs held here, then take over jobs whose lease expired.
+     */
+    @Scheduled(fixedDelayString = "${flash-mastery.import.jobs.heartbeat-interval:PT30S}")
+    public void heartbeat() {
+        if (this.shuttingDown) {
+            return;
+        }
+        this.transactionTemplate.executeWithoutResult(status -> this.importJobRepository
+                .renewLeases(this.instanceId, UNFINISHED, LocalDateTime.now()));
+        resumeUnfinishedJobs();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Running jobs keep their RUNNING status and resume from the last checkpoint
+        this.shuttingDown = true;
+        this.executor.shutdownNow();
+    }
+
+    void run(UUID jobId) {
+        final ImportJob job = this.transactionTemplate.execute(status -> claim(jobId));
+        if (job == null) {
+            return;
+        }
+        try {
+            new Run(job).execute();
+        } catch (ImportCancelledException ex) {
+            finish(jobId, ImportJobStatus.CANCELLED, null);
+        } catch (LeaseLostException ex) {
+            log.warn("Import job {} was taken over by another instance; stopped here", jobId);
+        } catch (Exception ex) {
+            if (this.shuttingDown) {
+                log.info("Import job {} interrupted by shutdown; it resumes on next start", jobId);
+                return;
+            }
+            log.error("Import job {} failed", jobId, ex);
+            finish(jobId, ImportJobStatus.FAILED, ex.getMessage());
+        } finally {
+            this.cancelRequests.remove(jobId);
+            this.activeJobs.remove(jobId);
+        }
+    }
+
+    private ImportJob claim(UUID jobId) {
+        final var now = LocalDateTime.now();
+        if (this.importJobRepository.claim(jobId, this.instanceId, UNFINISHED, now, now.minus(this.lease)) == 0) {
+            // Finished, deleted, or held by another live instance
+            return null;
+        }
+        final var job = this.importJobRepository.findById(jobId).orElseThrow();
+        if (job.isCancelRequested() || this.cancelRequests.contains(jobId)) {
+            markFinished(job, ImportJobStatus.CANCELLED, null);
+            return null;
+        }
+        job.setStatus(ImportJobStatus.RUNNING);
+        return job;
+    }
+
+    private void finish(UUID jobId, ImportJobStatus status, String message) {
+        this.transactionTemplate.executeWithoutResult(tx -> this.importJobRepository.findById(jobId).ifPresent(job -> {
+            // Cards committed for the deck in progress are not indexed yet
+            if (job.getCurrentDeckId() != null) {
+                this.eventPublisher.publishEvent(FlashcardIndexEvent.reindexDeck(job.getCurrentDeckId()));
+            }
+            markFinished(job, status, message);
+        }));
+    }
+
+    private void markFinished(ImportJob job, ImportJobStatus status, String message) {
+        job.setStatus(status);
+        job.setErrorMessage(StringUtils.abbreviate(message, ImportJobError.MESSAGE_LENGTH));
+        job.setFinishedAt(LocalDateTime.now());
+        deleteSpool(job);
+    }
+
+    private static void deleteSpool(ImportJob job) {
+        try {
+            Files.deleteIfExists(Path.of(job.getSpoolPath()));
+        } catch (IOException ex) {
+            log.warn("Could not delete spooled upload {}: {}", job.getSpoolPath(), ex.getMessage());
+        }
+    }
+
+    /**
+     * State of one execution of a job.
+     */
+    private final class Run {
+
+        private final UUID jobId;
+        private final ImportJob job;
+        private final ImportResult<ImportRow> summary;
+        private final DeckImportWriter writer;
+        private ImportPipeline<ImportRow> pipeline;
+        private int persistedErrors;
+
+        Run(ImportJob job) {
+            this.jobId = job.getId();
+            this.job = job;
+            this.summary = ImportResult.<ImportRow>builder()
+                    .decksCreated(job.getDecksCreated())
+                    .decksSkipped(job.getDecksSkipped())
+                    .cardsImported(job.getCardsImported())
+                    .cardsSkippedDuplicate(job.getCardsSkippedDuplicate())
+                    .invalidRows(job.getInvalidRows())
+                    .stats(ImportJobRunner.this.importMeters.newStats())
+                    .build();
+            this.writer = new DeckImportWriter(ImportJobRunner.this.deckRepository,
+                    ImportJobRunner.this.flashcardRepository, ImportJobRunner.this.entityManager, null, false, job.getFolderId(),
+                    job.getFlashcardType(), this.summary);
+            ImportJobRunner.this.transactionTemplate.executeWithoutResult(status -> restore());
+        }
+
+        void execute() throws IOException {
+            final var spool = Path.of(this.job.getSpoolPath());
+            final long spoolSize = Files.size(spool);
+            final var importer = ImporterFactory.<ImportRow>forFilename(this.job.getFilename(), spoolSize);
+            final var mapper = ImporterFactory.<ImportRow>mapperFor(this.job.getFilename(), ImportRow::map,
+                    ImportRow::mapJsonLine);
+            this.pipeline = new ImportPipeline<>(mapper, this.job.isSkipHeader(), this.summary, this::commitChunk,
+                    ImportJobRunner.this.chunkSize)
+                    .resumeAfter(this.job.getLastCommittedRow());
+            final long start = System.nanoTime();
+            importer.stream(spool, this.pipeline);
+            checkCancelled();
+            ImportJobRunner.this.transactionTemplate.executeWithoutResult(status -> {
+                this.writer.finish();
+                final var saved = checkpoint(0);
+                markFinished(saved, ImportJobStatus.COMPLETED, null);
+            });
+            // Covers this execution only; a resumed job re-reads the rows before its checkpoint
+            final var stats = this.summary.getStats();
+            stats.setBytesRead(spoolSize);
+            stats.complete(System.nanoTime() - start, this.pipeline.getRowsRead());
+            ImportJobRunner.this.importMeters.record("job", stats);
+        }
+
+        private void restore() {
+            final var saved = ImportJobRunner.this.importJobRepository.findById(this.jobId).orElseThrow();
+            saved.getErrors()
+                    .forEach(error -> this.summary.getErrors().add(ImportJobRunner.this.importJobMapper.toImportError(error)));
+            this.persistedErrors = this.summary.getErrors().size();
+            final var deckId = this.job.getCurrentDeckId();
+            final String deckName = deckId != null
+                    ? ImportJobRunner.this.deckRepository.findById(deckId).map(Deck::getName).orElse(null)
+                    : null;
+            // Decks created before a restart are the job's own, not name collisions
+            this.writer.resume(deckId, deckName, this.job.isSkipCurrentDeck(), this.job.isDefaultDeckSkipLogged(),
+                    saved.getOpenedDecks());
+        }
+
+        private void commitChunk(List<ImportRow> chunk) {
+            checkCancelled();
+            ImportJobRunner.this.transactionTemplate.executeWithoutResult(status -> {
+                // Each chunk looks up and creates its decks under the folder lock
+                ImportJobRunner.this.folderImportLocks.lockForTransaction(this.job.getFolderId());
+                final var decksBefore = this.writer.getImportedDeckIds().size();
+                this.writer.write(chunk);
+                checkpoint(this.writer.getImportedDeckIds().size() - decksBefore);
+            });
+        }
+
+        /**
+         * Record progress in the transaction that wrote the rows it covers.
+         */
+        private ImportJob checkpoint(int decksCreated) {
+            final var folderId = this.job.getFolderId();
+            if (decksCreated > 0) {
+                ImportJobRunner.this.folderRepository.adjustDeckCount(folderId, decksCreated);
+            }
+            this.writer.drainCompletedDeckIds().forEach(deckId -> ImportJobRunner.this.eventPublisher
+                    .publishEvent(FlashcardIndexEvent.reindexDeck(deckId)));
+            ImportJobRunner.this.eventPublisher.publishEvent(new DeckListChangedEvent(folderId));
+
+            final var saved = ImportJobRunner.this.importJobRepository.findById(this.jobId).orElseThrow();
+            // A cancel requested on any instance, or a lease taken over, rolls back this chunk
+            if (saved.isCancelRequested()) {
+                throw new ImportCancelledException();
+            }
+            if (!ImportJobRunner.this.instanceId.equals(saved.getOwner())) {
+                throw new LeaseLostException();
+            }
+            final var rowsRead = this.pipeline.getRowsRead();
+            saved.setRowsParsed(rowsRead);
+            saved.setLastCommittedRow(rowsRead);
+            saved.setCardsImported(this.summary.getCardsImported());
+            saved.setDecksCreated(this.summary.getDecksCreated());
+            saved.setDecksSkipped(this.summary.getDecksSkipped());
+            saved.setCardsSkippedDuplicate(this.summary.getCardsSkippedDuplicate());
+            saved.setInvalidRows(this.summary.getInvalidRows());
+            saved.setCurrentDeckId(this.writer.getCurrentDeckId());
+            saved.setSkipCurrentDeck(this.writer.isSkipCurrentDeck());
+            saved.setDefaultDeckSkipLogged(this.writer.isDefaultDeckSkipLogged());
+            this.writer.getOpenedDeckIds().forEach(saved.getOpenedDecks()::putIfAbsent);
+            final var errors = this.summary.getErrors();
+            for (int i = this.persistedErrors; i < errors.size(); i++) {
+                final var error = errors.get(i);
+                saved.getErrors().add(ImportJobError.builder()
+                        .job(saved)
+                        .rowIndex(error.getRowIndex())
+                        .message(StringUtils.abbreviate(error.getMessage(), ImportJobError.MESSAGE_LENGTH))
+                        .deckName(error.getDeckName())
+                        .term(error.getTerm())
+                        .build());
+            }
+            this.persistedErrors = errors.size();
+            return saved;
+        }
+
+        private void checkCancelled() {
+            if (ImportJobRunner.this.cancelRequests.contains(this.jobId)) {
+                throw new ImportCancelledException();
+            }
+        }
+    }
+
+    private static final class ImportCancelledException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ImportCancelledException() {
+            super("Import cancelled", null, false, false);
+        }
+    }
+
+    private static final class LeaseLostException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        LeaseLostException() {
+            super("Import job lease lost", null, false, false);
+        }
+    }
+}
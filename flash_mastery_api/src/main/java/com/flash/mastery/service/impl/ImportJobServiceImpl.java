@@ -0,0 +1,128 @@
+package com.flash.mastery.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.constant.MessageKeys;
+import com.flash.mastery.dto.response.ImportJobResponse;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.ImportJob;
+import com.flash.mastery.entity.enums.ImportJobStatus;
+import com.flash.mastery.exception.NotFoundException;
+import com.flash.mastery.exception.ServiceUnavailableException;
+import com.flash.mastery.mapper.ImportJobMapper;
+import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.repository.ImportJobRepository;
+import com.flash.mastery.service.BaseService;
+import com.flash.mastery.service.ImportJobService;
+import com.flash.mastery.util.importer.ImporterFactory;
+
+@Service
+@Transactional
+public class ImportJobServiceImpl extends BaseService implements ImportJobService {
+
+    private final ImportJobRepository importJobRepository;
+    private final FolderRepository folderRepository;
+    private final ImportJobMapper importJobMapper;
+    private final ImportJobRunner importJobRunner;
+    private final Path spoolDir;
+
+    public ImportJobServiceImpl(
+            ImportJobRepository importJobRepository,
+            FolderRepository folderRepository,
+            ImportJobMapper importJobMapper,
+            ImportJobRunner importJobRunner,
+            @Value("${flash-mastery.import.spool-dir:${java.io.tmpdir}/flash-mastery/import-spool}") String spoolDir,
+            MessageSource messageSource) {
+        super(messageSource);
+        this.importJobRepository = importJobRepository;
+        this.folderRepository = folderRepository;
+        this.importJobMapper = importJobMapper;
+        this.importJobRunner = importJobRunner;
+        this.spoolDir = Path.of(spoolDir);
+    }
+
+    /**
+     * Spool the upload to disk and queue the job. Runs outside a transaction so the job
+     * row is committed before an executor thread can pick it up.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportJobResponse submit(UUID folderId, MultipartFile file, FlashcardType type, boolean skipHeader)
+            throws IOException {
+        if (!this.folderRepository.existsById(folderId)) {
+            throw new NotFoundException(ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
+        }
+        final var filename = file.getOriginalFilename();
+        // Reject unsupported formats before spooling
+        ImporterFactory.forFilename(filename);
+        Files.createDirectories(this.spoolDir);
+        final var spooled = Files.createTempFile(this.spoolDir, "import-", ".upload");
+        try (InputStream input = file.getInputStream()) {
+            Files.copy(input, spooled, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return enqueue(folderId, filename, spooled, type, skipHeader);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportJobResponse submitSpooled(UUID folderId, String filename, Path spooledFile, FlashcardType type,
+            boolean skipHeader) throws IOException {
+        return enqueue(folderId, filename, spooledFile, type, skipHeader);
+    }
+
+    private ImportJobResponse enqueue(UUID folderId, String filename, Path spooled, FlashcardType type,
+            boolean skipHeader) throws IOException {
+        final var job = this.importJobRepository.save(ImportJob.builder()
+                .folderId(folderId)
+                .filename(filename)
+                .spoolPath(spooled.toAbsolutePath().toString())
+                .flashcardType(type)
+                .skipHeader(skipHeader)
+                .owner(this.importJobRunner.getInstanceId())
+                .heartbeatAt(LocalDateTime.now())
+                .build());
+        if (!this.importJobRunner.submit(job.getId())) {
+            this.importJobRepository.delete(job);
+            Files.deleteIfExists(spooled);
+            throw new ServiceUnavailableException(ErrorCodes.IMPORT_QUEUE_FULL, MessageKeys.ERROR_IMPORT_QUEUE_FULL);
+        }
+        return this.importJobMapper.toResponse(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportJobResponse getJob(UUID jobId) {
+        return this.importJobMapper.toResponse(findJob(jobId));
+    }
+
+    @Override
+    public ImportJobResponse cancel(UUID jobId) {
+        final var job = findJob(jobId);
+        if (job.getStatus().isTerminal()) {
+            return this.importJobMapper.toResponse(job);
+        }
+        // The runner of the job, on whichever instance, sees the flag at its next checkpoint
+        this.importJobRepository.requestCancel(jobId);
+        this.importJobRunner.requestCancel(jobId);
+        return this.importJobMapper.toResponse(findJob(jobId));
+    }
+
+    private ImportJob findJob(UUID jobId) {
+        return findByIdOrThrow(this.importJobRepository.findById(jobId),
+                ErrorCodes.IMPORT_JOB_NOT_FOUND, MessageKeys.ERROR_IMPORT_JOB_NOT_FOUND);
+    }
+}
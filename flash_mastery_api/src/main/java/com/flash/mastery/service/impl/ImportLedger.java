@@ -0,0 +1,122 @@
+package com.flash.mastery.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.constant.MessageKeys;
+import com.flash.mastery.dto.response.ImportSummaryResponse;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.ImportLedgerEntry;
+import com.flash.mastery.exception.ConflictException;
+import com.flash.mastery.repository.ImportLedgerRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Makes synchronous imports idempotent. An import claims its ledger entry before
+ * parsing and stores its summary in the same transaction, so a retried identical
+ * upload replays that summary, and a concurrent duplicate waits on the entry's unique
+ * key and is then rejected. Entries expire after a time-to-live, after which the same
+ * file imports again (e.g. once its decks were deleted).
+ */
+@Component
+@Slf4j
+public class ImportLedger {
+
+    private final ImportLedgerRepository importLedgerRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public ImportLedger(
+            ImportLedgerRepository importLedgerRepository,
+            ObjectMapper objectMapper,
+            @Value("${flash-mastery.import.ledger.ttl:1h}") Duration ttl) {
+        this.importLedgerRepository = importLedgerRepository;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    /**
+     * Summary of an identical import within the time-to-live. A stale entry is removed so
+     * the submission can be claimed again.
+     */
+    @Transactional
+    public Optional<ImportSummaryResponse> find(UUID folderId, String contentHash, FlashcardType type,
+            boolean skipHeader) {
+        final var entry = this.importLedgerRepository
+                .findByFolderIdAndContentHashAndFlashcardTypeAndSkipHeader(folderId, contentHash, type, skipHeader);
+        if (entry.isEmpty()) {
+            return Optional.empty();
+        }
+        final var summary = entry.get().getCreatedAt().isAfter(cutoff()) ? readSummary(entry.get()) : null;
+        if (summary == null) {
+            this.importLedgerRepository.delete(entry.get());
+            this.importLedgerRepository.flush();
+            return Optional.empty();
+        }
+        return Optional.of(summary.toBuilder().replayed(true).metrics(null).build());
+    }
+
+    /**
+     * Insert the entry for a new import; must run in the import's transaction.
+     *
+     * @throws ConflictException if an identical import committed or is running
+     */
+    @Transactional
+    public ImportLedgerEntry claim(UUID folderId, String contentHash, FlashcardType type, boolean skipHeader) {
+        try {
+            return this.importLedgerRepository.saveAndFlush(ImportLedgerEntry.builder()
+                    .folderId(folderId)
+                    .contentHash(contentHash)
+                    .flashcardType(type)
+                    .skipHeader(skipHeader)
+                    .build());
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException(ErrorCodes.IMPORT_IN_PROGRESS, MessageKeys.ERROR_IMPORT_IN_PROGRESS);
+        }
+    }
+
+    @Transactional
+    public void record(ImportLedgerEntry entry, ImportSummaryResponse summary) {
+        try {
+            entry.setSummary(this.objectMapper.writeValueAsString(summary));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize import summary", ex);
+        }
+        this.importLedgerRepository.save(entry);
+    }
+
+    /**
+     * @return number of expired entries removed
+     */
+    @Transactional
+    public int purgeExpired() {
+        return this.importLedgerRepository.deleteCreatedBefore(cutoff());
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(this.ttl);
+    }
+
+    private ImportSummaryResponse readSummary(ImportLedgerEntry entry) {
+        if (entry.getSummary() == null) {
+            return null;
+        }
+        try {
+            return this.objectMapper.readValue(entry.getSummary(), ImportSummaryResponse.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Discarding unreadable import ledger entry {}", entry.getId(), ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.flash.mastery.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.flash.mastery.util.importer.ImportStats;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Exports the stats of every import as meters, tagged by how the import ran (sync,
+ * validate, job, batch), so the chunk size can be tuned against flush latency and
+ * stage times of real traffic.
+ */
+@Component
+public class ImportMeters {
+
+    private static final String PREFIX = "flashmastery.import.";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer flushTimer;
+
+    public ImportMeters(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.flushTimer = Timer.builder(PREFIX + "flush")
+                .description("Latency of one card batch insert")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return stats for a new run whose flushes feed the flush latency histogram
+     */
+    public ImportStats newStats() {
+        return new ImportStats().observeFlushes(nanos -> this.flushTimer.record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    /**
+     * Record a completed run.
+     */
+    public void record(String mode, ImportStats stats) {
+        Timer.builder(PREFIX + "duration")
+                .tag("mode", mode)
+                .register(this.meterRegistry)
+                .record(stats.getElapsedNanos(), TimeUnit.NANOSECONDS);
+        stage(mode, "read", stats.getReadNanos());
+        stage(mode, "map", stats.getMapNanos());
+        stage(mode, "dedup", stats.getDedupNanos());
+        stage(mode, "persist", stats.getPersistNanos());
+        Counter.builder(PREFIX + "rows")
+                .tag("mode", mode)
+                .register(this.meterRegistry)
+                .increment(stats.getRowsRead());
+        Counter.builder(PREFIX + "bytes")
+                .tag("mode", mode)
+                .baseUnit("bytes")
+                .register(this.meterRegistry)
+                .increment(stats.getBytesRead());
+        DistributionSummary.builder(PREFIX + "buffered.rows")
+                .description("Peak number of rows held in memory by one import")
+                .tag("mode", mode)
+                .register(this.meterRegistry)
+                .record(stats.getPeakBufferedRows());
+    }
+
+    private void stage(String mode, String stage, long nanos) {
+        Timer.builder(PREFIX + "stage")
+                .tag("mode", mode)
+                .tag("stage", stage)
+                .register(this.meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
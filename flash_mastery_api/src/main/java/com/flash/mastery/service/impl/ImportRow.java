@@ -0,0 +1,134 @@
+package com.flash.mastery.service.impl;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.util.importer.RowCursor;
+import com.flash.mastery.util.importer.json.JsonLinesImporter;
+
+/**
+ * One mapped import row: either a deck header ("*Deck name") or a card. A JSON Lines
+ * card may name its deck itself; it then switches to that deck.
+ */
+record ImportRow(int rowIndex, Kind kind, String deckName, String vocab, String meaning, String hint,
+        FlashcardType type) {
+
+    private static final int TEXT_LIMIT = 255;
+    private static final char DECK_MARKER = '*';
+    /** Leading character that makes a tabular card starting with '*' or a backslash read as text. */
+    private static final char ESCAPE = '\\';
+
+    enum Kind {
+        DECK, CARD
+    }
+
+    static ImportRow deck(int rowIndex, String name) {
+        return new ImportRow(rowIndex, Kind.DECK, name, null, null, null, null);
+    }
+
+    static ImportRow card(int rowIndex, String vocab, String meaning, String hint, FlashcardType type,
+            String deckName) {
+        return new ImportRow(rowIndex, Kind.CARD, deckName, vocab, meaning, hint, type);
+    }
+
+    /**
+     * Map a parsed row of a tabular file: "*Name" starts a deck, otherwise the first two
+     * cells are vocabulary and meaning; further cells are ignored. Blank rows map to null.
+     * Vocabulary written by {@link #escapeVocab} loses its escape again. Each cell is
+     * trimmed once and only the kept values are copied out of the cursor.
+     *
+     * @throws IllegalArgumentException if a card row lacks vocabulary or meaning
+     */
+    static ImportRow map(int rowIndex, RowCursor row) {
+        final var first = StringUtils.trimToNull(row.cell(0));
+        if (first == null) {
+            return null;
+        }
+        if (first.charAt(0) == DECK_MARKER) {
+            return deck(rowIndex, deckName(first.substring(1)));
+        }
+        if (row.size() < 2) {
+            throw new IllegalArgumentException("Missing vocabulary or meaning");
+        }
+        final var meaning = StringUtils.trimToNull(row.cell(1));
+        if (meaning == null) {
+            throw new IllegalArgumentException("Vocabulary/meaning is blank");
+        }
+        return card(rowIndex, clamp(unescapeVocab(first)), clamp(meaning), null, null, null);
+    }
+
+    /**
+     * Escape vocabulary for a tabular export, so {@link #map} reads it back as the same
+     * card instead of a deck header: leading whitespace is dropped, as the import trims
+     * it anyway, and text starting with '*' or the escape itself gets an escape prefix.
+     */
+    static String escapeVocab(String vocab) {
+        final var stripped = StringUtils.stripStart(vocab, null);
+        if (stripped.isEmpty() || (stripped.charAt(0) != DECK_MARKER && stripped.charAt(0) != ESCAPE)) {
+            return vocab;
+        }
+        return ESCAPE + stripped;
+    }
+
+    /**
+     * Map a JSON Lines row by its named fields: a line with a deck but no question is a
+     * deck header, otherwise question and answer are required and hint, type and deck
+     * are optional. Blank lines map to null.
+     *
+     * @throws IllegalArgumentException if a card lacks question or answer, or names an
+     *                                  unknown card type
+     */
+    static ImportRow mapJsonLine(int rowIndex, RowCursor row) {
+        final var question = StringUtils.trimToNull(row.cell(JsonLinesImporter.QUESTION));
+        final var deckName = StringUtils.trimToNull(row.cell(JsonLinesImporter.DECK));
+        if (question == null) {
+            if (deckName != null) {
+                return deck(rowIndex, deckName(deckName));
+            }
+            if (StringUtils.isBlank(row.cell(JsonLinesImporter.ANSWER))) {
+                return null;
+            }
+            throw new IllegalArgumentException("Vocabulary/meaning is blank");
+        }
+        final var answer = StringUtils.trimToNull(row.cell(JsonLinesImporter.ANSWER));
+        if (answer == null) {
+            throw new IllegalArgumentException("Vocabulary/meaning is blank");
+        }
+        final var hint = StringUtils.trimToNull(row.cell(JsonLinesImporter.HINT));
+        return card(rowIndex, clamp(question), clamp(answer), hint, type(row.cell(JsonLinesImporter.TYPE)),
+                clamp(deckName));
+    }
+
+    private static String unescapeVocab(String vocab) {
+        if (vocab.length() > 1 && vocab.charAt(0) == ESCAPE
+                && (vocab.charAt(1) == DECK_MARKER || vocab.charAt(1) == ESCAPE)) {
+            return vocab.substring(1);
+        }
+        return vocab;
+    }
+
+    private static String deckName(String name) {
+        final var trimmed = StringUtils.trimToEmpty(name);
+        return clamp(trimmed.isEmpty() ? DeckImportWriter.DEFAULT_DECK_NAME : trimmed);
+    }
+
+    private static FlashcardType type(String cell) {
+        final var name = StringUtils.trimToNull(cell);
+        if (name == null) {
+            return null;
+        }
+        final var type = EnumUtils.getEnumIgnoreCase(FlashcardType.class, name);
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown card type: " + name);
+        }
+        return type;
+    }
+
+    private static String clamp(String value) {
+        if (value == null) {
+            return null;
+        }
+        return value.length() > TEXT_LIMIT ? value.substring(0, TEXT_LIMIT) : value;
+    }
+}
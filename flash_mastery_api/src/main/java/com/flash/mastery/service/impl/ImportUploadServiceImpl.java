@@ -0,0 +1,266 @@
+package com.flash.mastery.service.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.constant.MessageKeys;
+import com.flash.mastery.dto.request.ImportUploadCreateRequest;
+import com.flash.mastery.dto.response.ImportJobResponse;
+import com.flash.mastery.dto.response.ImportUploadResponse;
+import com.flash.mastery.entity.ImportUpload;
+import com.flash.mastery.exception.BadRequestException;
+import com.flash.mastery.exception.ConflictException;
+import com.flash.mastery.exception.NotFoundException;
+import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.repository.ImportUploadRepository;
+import com.flash.mastery.service.BaseService;
+import com.flash.mastery.service.ImportJobService;
+import com.flash.mastery.service.ImportUploadService;
+import com.flash.mastery.util.ContentHash;
+import com.flash.mastery.util.importer.ImporterFactory;
+import com.flash.mastery.util.importer.SpoolFiles;
+
+@Service
+@Transactional
+public class ImportUploadServiceImpl extends BaseService implements ImportUploadService {
+
+    private static final String CHUNK_SUFFIX = ".part";
+
+    private final ImportUploadRepository importUploadRepository;
+    private final FolderRepository folderRepository;
+    private final ImportJobService importJobService;
+    private final Path spoolDir;
+    private final Path uploadDir;
+    private final long maxChunkSize;
+    private final long maxFileSize;
+    private final Duration ttl;
+    /** Uploads whose assembly is in progress, so a repeated complete call cannot start a second job. */
+    private final Set<UUID> completing = ConcurrentHashMap.newKeySet();
+
+    public ImportUploadServiceImpl(
+            ImportUploadRepository importUploadRepository,
+            FolderRepository folderRepository,
+            ImportJobService importJobService,
+            @Value("${flash-mastery.import.spool-dir:${java.io.tmpdir}/flash-mastery/import-spool}") String spoolDir,
+            @Value("${flash-mastery.import.upload.max-chunk-size:16MB}") DataSize maxChunkSize,
+            @Value("${flash-mastery.import.upload.max-file-size:2GB}") DataSize maxFileSize,
+            @Value("${flash-mastery.import.upload.ttl:24h}") Duration ttl,
+            MessageSource messageSource) {
+        super(messageSource);
+        this.importUploadRepository = importUploadRepository;
+        this.folderRepository = folderRepository;
+        this.importJobService = importJobService;
+        this.spoolDir = Path.of(spoolDir);
+        this.uploadDir = this.spoolDir.resolve("uploads");
+        this.maxChunkSize = maxChunkSize.toBytes();
+        this.maxFileSize = maxFileSize.toBytes();
+        this.ttl = ttl;
+    }
+
+    @Override
+    public ImportUploadResponse create(ImportUploadCreateRequest request) {
+        if (!this.folderRepository.existsById(request.getFolderId())) {
+            throw new NotFoundException(ErrorCodes.FOLDER_NOT_FOUND, MessageKeys.ERROR_FOLDER_NOT_FOUND);
+        }
+        // Reject unsupported formats before any chunk is sent
+        ImporterFactory.forFilename(request.getFilename());
+        if (request.getChunkSize() > this.maxChunkSize || request.getTotalSize() > this.maxFileSize) {
+            throw new BadRequestException(ErrorCodes.IMPORT_UPLOAD_INVALID, MessageKeys.ERROR_IMPORT_UPLOAD_INVALID);
+        }
+        final var totalChunks = Math.toIntExact(
+                (request.getTotalSize() + request.getChunkSize() - 1) / request.getChunkSize());
+        final var upload = this.importUploadRepository.save(ImportUpload.builder()
+                .folderId(request.getFolderId())
+                .filename(request.getFilename())
+                .flashcardType(request.getType())
+                .skipHeader(request.isSkipHeader())
+                .totalSize(request.getTotalSize())
+                .chunkSize(request.getChunkSize())
+                .totalChunks(totalChunks)
+                .checksum(request.getChecksum().toLowerCase(Locale.ROOT))
+                .build());
+        return toResponse(upload, List.of());
+    }
+
+    /**
+     * Store one chunk. Runs outside a transaction so a slow client does not hold a
+     * connection; a chunk becomes visible only once fully written, and re-sending a
+     * chunk replaces it.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportUploadResponse putChunk(UUID uploadId, int index, InputStream body) throws IOException {
+        final var upload = findUpload(uploadId);
+        if (upload.getJobId() != null || index < 0 || index >= upload.getTotalChunks()) {
+            throw new BadRequestException(
+                    ErrorCodes.IMPORT_UPLOAD_INVALID_CHUNK, MessageKeys.ERROR_IMPORT_UPLOAD_INVALID_CHUNK);
+        }
+        final var expected = upload.expectedChunkLength(index);
+        final var dir = chunkDir(uploadId);
+        Files.createDirectories(dir);
+        final var partial = Files.createTempFile(dir, index + "-", ".tmp");
+        try {
+            // Read at most one byte past the expected length to detect oversized chunks
+            if (SpoolFiles.copy(body, partial, expected + 1) != expected) {
+                throw new BadRequestException(
+                        ErrorCodes.IMPORT_UPLOAD_INVALID_CHUNK, MessageKeys.ERROR_IMPORT_UPLOAD_INVALID_CHUNK,
+                        "Chunk " + index + " of upload " + uploadId + " does not have " + expected + " bytes");
+            }
+            Files.move(partial, dir.resolve(index + CHUNK_SUFFIX),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+        return toResponse(upload, receivedChunks(uploadId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportUploadResponse getUpload(UUID uploadId) throws IOException {
+        return toResponse(findUpload(uploadId), receivedChunks(uploadId));
+    }
+
+    /**
+     * Concatenate the chunks into the import spool while hashing them, verify the
+     * checksum and queue the import. Repeating the call returns the same job. On a
+     * checksum mismatch all chunks are discarded, since the faulty one is unknown.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ImportJobResponse complete(UUID uploadId) throws IOException {
+        if (!this.completing.add(uploadId)) {
+            throw new ConflictException(ErrorCodes.IMPORT_UPLOAD_COMPLETING, MessageKeys.ERROR_IMPORT_UPLOAD_COMPLETING);
+        }
+        try {
+            final var upload = findUpload(uploadId);
+            if (upload.getJobId() != null) {
+                return this.importJobService.getJob(upload.getJobId());
+            }
+            if (receivedChunks(uploadId).size() != upload.getTotalChunks()) {
+                throw new BadRequestException(
+                        ErrorCodes.IMPORT_UPLOAD_INCOMPLETE, MessageKeys.ERROR_IMPORT_UPLOAD_INCOMPLETE);
+            }
+            Files.createDirectories(this.spoolDir);
+            final var assembled = Files.createTempFile(this.spoolDir, "import-", ".upload");
+            var handedOff = false;
+            try {
+                if (!assemble(upload, assembled).equals(upload.getChecksum())) {
+                    deleteChunks(uploadId);
+                    throw new BadRequestException(
+                            ErrorCodes.IMPORT_UPLOAD_CHECKSUM_MISMATCH, MessageKeys.ERROR_IMPORT_UPLOAD_CHECKSUM_MISMATCH);
+                }
+                final var job = this.importJobService.submitSpooled(upload.getFolderId(), upload.getFilename(),
+                        assembled, upload.getFlashcardType(), upload.isSkipHeader());
+                handedOff = true;
+                upload.setJobId(job.getId());
+                this.importUploadRepository.save(upload);
+                deleteChunks(uploadId);
+                return job;
+            } finally {
+                if (!handedOff) {
+                    Files.deleteIfExists(assembled);
+                }
+            }
+        } finally {
+            this.completing.remove(uploadId);
+        }
+    }
+
+    @Override
+    public int purgeExpired() throws IOException {
+        final var expired = this.importUploadRepository.findByCreatedAtBefore(LocalDateTime.now().minus(this.ttl));
+        for (final ImportUpload upload : expired) {
+            deleteChunks(upload.getId());
+        }
+        this.importUploadRepository.deleteAll(expired);
+        return expired.size();
+    }
+
+    private ImportUpload findUpload(UUID uploadId) {
+        return findByIdOrThrow(this.importUploadRepository.findById(uploadId),
+                ErrorCodes.IMPORT_UPLOAD_NOT_FOUND, MessageKeys.ERROR_IMPORT_UPLOAD_NOT_FOUND);
+    }
+
+    private Path chunkDir(UUID uploadId) {
+        return this.uploadDir.resolve(uploadId.toString());
+    }
+
+    private List<Integer> receivedChunks(UUID uploadId) throws IOException {
+        final var dir = chunkDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(CHUNK_SUFFIX))
+                    .map(name -> Integer.valueOf(name.substring(0, name.length() - CHUNK_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void deleteChunks(UUID uploadId) throws IOException {
+        final var dir = chunkDir(uploadId);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            for (final Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    /**
+     * Write the chunks in order to the target file.
+     *
+     * @return lower-case hex SHA-256 of the written bytes
+     */
+    private String assemble(ImportUpload upload, Path target) throws IOException {
+        final var digest = ContentHash.sha256();
+        final var dir = chunkDir(upload.getId());
+        try (OutputStream out = new DigestOutputStream(Files.newOutputStream(target), digest)) {
+            for (int index = 0; index < upload.getTotalChunks(); index++) {
+                Files.copy(dir.resolve(index + CHUNK_SUFFIX), out);
+            }
+        }
+        return ContentHash.toHex(digest);
+    }
+
+    private ImportUploadResponse toResponse(ImportUpload upload, List<Integer> receivedChunks) {
+        return ImportUploadResponse.builder()
+                .id(upload.getId())
+                .folderId(upload.getFolderId())
+                .filename(upload.getFilename())
+                .totalSize(upload.getTotalSize())
+                .chunkSize(upload.getChunkSize())
+                .totalChunks(upload.getTotalChunks())
+                .receivedChunks(receivedChunks)
+                .jobId(upload.getJobId())
+                .createdAt(upload.getCreatedAt())
+                .expiresAt(upload.getCreatedAt().plus(this.ttl))
+                .build();
+    }
+}
@@ -0,0 +1,30 @@
+package com.flash.mastery.util;
+
+public enum DeckSearchMode {
+    /** Case-insensitive substring match, ordered by the requested sort. */
+    CONTAINS("contains"),
+    /** Trigram similarity match, ordered by relevance (sort is ignored). */
+    RANKED("ranked");
+
+    private final String key;
+
+    DeckSearchMode(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return this.key;
+    }
+
+    public static DeckSearchMode from(String value) {
+        if ((value == null) || value.isBlank()) {
+            return CONTAINS;
+        }
+        for (final DeckSearchMode mode : DeckSearchMode.values()) {
+            if (mode.key.equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        return CONTAINS;
+    }
+}
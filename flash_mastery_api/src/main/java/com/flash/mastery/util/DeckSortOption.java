@@ -4,8 +4,8 @@ import org.springframework.data.domain.Sort;
 
 public enum DeckSortOption implements SortableOption {
     LATEST("latest", "createdAt", Sort.Direction.DESC),
-    NAME_ASC("name,asc", "name", Sort.Direction.ASC),
-    NAME_DESC("name,desc", "name", Sort.Direction.DESC),
+    NAME_ASC("name,asc", "nameSortKey", Sort.Direction.ASC),
+    NAME_DESC("name,desc", "nameSortKey", Sort.Direction.DESC),
     CARD_COUNT_ASC("cardCount,asc", "cardCount", Sort.Direction.ASC),
     CARD_COUNT_DESC("cardCount,desc", "cardCount", Sort.Direction.DESC);
 
@@ -0,0 +1,76 @@
+package com.flash.mastery.util;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Builds a persisted sort key that orders like {@link NaturalOrderComparator} under a
+ * byte-wise (C) collation, so natural name sorting can be pushed down to the database.
+ * Digit runs are stripped of leading zeros and written after a width digit, so longer
+ * numbers always sort after shorter ones: runs of up to {@link #NUMBER_WIDTH} digits get
+ * width digit 0 and are left-padded to that width; longer runs get the digit count of
+ * their length, then the length itself. All other characters are lower-cased.
+ * Example: "Lesson 2" -> "lesson 00000000002", "Lesson 10" -> "lesson 00000000010",
+ * "Lesson 12345678901" -> "lesson 21112345678901"
+ */
+@UtilityClass
+public final class NaturalSortKey {
+
+    /** Width short digit runs are padded to; must match the V7 migration backfill function. */
+    public static final int NUMBER_WIDTH = 10;
+
+    /** Maximum persisted key length (column size of decks.name_sort_key). */
+    public static final int MAX_LENGTH = 1024;
+
+    /**
+     * Compute the natural sort key for a value.
+     *
+     * @param value the display value (e.g. deck name)
+     * @return the sort key, or null if value is null
+     */
+    public static String of(String value) {
+        if (value == null) {
+            return null;
+        }
+        final var key = new StringBuilder(value.length() + NUMBER_WIDTH + 1);
+        final int len = value.length();
+        int i = 0;
+        while (i < len) {
+            final char c = value.charAt(i);
+            if (isAsciiDigit(c)) {
+                final int start = i;
+                while (i < len && isAsciiDigit(value.charAt(i))) {
+                    i++;
+                }
+                appendNumber(key, value, start, i);
+            } else {
+                key.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        return key.length() > MAX_LENGTH ? key.substring(0, MAX_LENGTH) : key.toString();
+    }
+
+    private static void appendNumber(StringBuilder key, String value, int start, int end) {
+        int firstSignificant = start;
+        while (firstSignificant < end - 1 && value.charAt(firstSignificant) == '0') {
+            firstSignificant++;
+        }
+        final int digits = end - firstSignificant;
+        if (digits <= NUMBER_WIDTH) {
+            // Width digit 0, then the padding
+            key.append('0');
+            for (int pad = digits; pad < NUMBER_WIDTH; pad++) {
+                key.append('0');
+            }
+        } else {
+            // At least two length digits, so the width digit sorts after the padded form's 0
+            final var length = Integer.toString(digits);
+            key.append(length.length()).append(length);
+        }
+        key.append(value, firstSignificant, end);
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
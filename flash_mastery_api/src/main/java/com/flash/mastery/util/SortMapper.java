@@ -7,7 +7,16 @@ import lombok.experimental.UtilityClass;
 @UtilityClass
 public final class SortMapper {
 
+    public static final String ID_FIELD = "id";
+
     public static Sort toSort(SortableOption option) {
         return Sort.by(option.getDirection(), option.getField());
     }
+
+    /**
+     * Sort with the primary key as tie-breaker, as required for keyset scrolling.
+     */
+    public static Sort toKeysetSort(SortableOption option) {
+        return toSort(option).and(Sort.by(option.getDirection(), ID_FIELD));
+    }
 }
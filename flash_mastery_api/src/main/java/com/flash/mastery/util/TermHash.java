@@ -0,0 +1,41 @@
+package com.flash.mastery.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Builds the persisted hash of a flashcard term used for duplicate detection: SHA-256
+ * (hex) of the term with surrounding ASCII whitespace removed and lower-cased. The V16
+ * migration rehashed existing cards with this class; changing the normalization needs
+ * another such migration.
+ * Example: " Apple " and "apple" hash alike.
+ */
+@UtilityClass
+public final class TermHash {
+
+    /** Hex length of the hash (column size of flashcards.term_hash). */
+    public static final int LENGTH = 64;
+
+    private static final String WHITESPACE = " \t\r\n\f\u000B";
+
+    /**
+     * @param term the card question
+     * @return the hash, or null if term is null
+     */
+    public static String of(String term) {
+        if (term == null) {
+            return null;
+        }
+        final var digest = ContentHash.sha256();
+        digest.update(normalize(term).getBytes(StandardCharsets.UTF_8));
+        return ContentHash.toHex(digest);
+    }
+
+    static String normalize(String term) {
+        return StringUtils.strip(term, WHITESPACE).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,57 @@
+package com.flash.mastery.util;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Generates RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by
+ * random bits. Keys created close together sort close together, so inserts append to
+ * the right edge of primary-key B-trees instead of splitting random pages.
+ * Within one millisecond the 12-bit rand_a field is used as a counter, keeping ids
+ * generated by this JVM strictly increasing.
+ */
+@UtilityClass
+public final class TimeOrderedUuid {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final int COUNTER_MAX = (1 << COUNTER_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+    private static final long RAND_B_MASK = 0x3FFF_FFFF_FFFF_FFFFL;
+
+    private static long lastMillis;
+    private static int counter;
+
+    /**
+     * Create a new time-ordered UUID.
+     *
+     * @return a version 7 UUID
+     */
+    public static UUID next() {
+        long millis;
+        int sequence;
+        synchronized (TimeOrderedUuid.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                if (counter == COUNTER_MAX) {
+                    // Counter exhausted: borrow the next millisecond rather than wrap
+                    millis++;
+                    counter = RANDOM.nextInt(COUNTER_MAX >> 1);
+                } else {
+                    counter++;
+                }
+            } else {
+                // Random start leaves headroom for the increments that follow
+                counter = RANDOM.nextInt(COUNTER_MAX >> 1);
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+        final long msb = (millis << 16) | VERSION_7 | sequence;
+        final long lsb = VARIANT_RFC | (RANDOM.nextLong() & RAND_B_MASK);
+        return new UUID(msb, lsb);
+    }
+}
@@ -0,0 +1,9 @@
+package com.flash.mastery.util.bundle;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * A card of the deck record it follows.
+ */
+public record BundleCard(String question, String answer, String hint, FlashcardType type) {
+}
@@ -0,0 +1,9 @@
+package com.flash.mastery.util.bundle;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * @param folder ordinal of the deck's folder in the bundle, or {@link BundleFormat#NONE}
+ */
+public record BundleDeck(int folder, String name, String description, FlashcardType type) {
+}
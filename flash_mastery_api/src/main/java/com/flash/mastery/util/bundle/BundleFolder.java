@@ -0,0 +1,7 @@
+package com.flash.mastery.util.bundle;
+
+/**
+ * @param parent ordinal of the parent folder in the bundle, or {@link BundleFormat#NONE}
+ */
+public record BundleFolder(int parent, String name, String description, String color) {
+}
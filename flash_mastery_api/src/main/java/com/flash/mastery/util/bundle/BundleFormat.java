@@ -0,0 +1,49 @@
+package com.flash.mastery.util.bundle;
+
+/**
+ * Layout of a deck bundle, a compact binary backup of folders, decks, cards and
+ * optionally study sessions.
+ *
+ * <pre>
+ * header:  "FMBN" magic, u16 format version, u16 flags       (uncompressed)
+ * body:    DEFLATE stream of records, closed by an END record
+ * record:  u8 tag, varint payload length, payload
+ * </pre>
+ *
+ * Records refer to earlier records by ordinal instead of by id: a folder to its
+ * parent folder, a deck to its folder, and cards, sessions and progress belong to the
+ * deck (or session) record they follow. Restoring therefore assigns new ids. Strings
+ * are UTF-8 prefixed with varint (length + 1), 0 meaning null; enums are stored by
+ * name. Readers skip records with unknown tags and payload bytes after the fields
+ * they know, so fields and record types can be added without a version bump.
+ */
+public final class BundleFormat {
+
+    static final byte[] MAGIC = { 'F', 'M', 'B', 'N' };
+
+    /** Highest format version this code reads and the one it writes. */
+    public static final int VERSION = 1;
+
+    public static final String EXTENSION = ".fmbundle";
+    public static final String CONTENT_TYPE = "application/octet-stream";
+
+    static final int FLAG_SESSIONS = 1;
+
+    static final int TAG_END = 0;
+    static final int TAG_FOLDER = 1;
+    static final int TAG_DECK = 2;
+    static final int TAG_CARD = 3;
+    static final int TAG_SESSION = 4;
+    static final int TAG_PROGRESS = 5;
+
+    /** Ordinal of "no folder" in folder and deck records. */
+    public static final int NONE = -1;
+
+    /** Upper bound for one record, so a corrupt length cannot exhaust memory. */
+    static final int MAX_RECORD_SIZE = 16 * 1024 * 1024;
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private BundleFormat() {
+    }
+}
@@ -0,0 +1,19 @@
+package com.flash.mastery.util.bundle;
+
+import java.io.IOException;
+
+/**
+ * The input is not a well-formed deck bundle.
+ */
+public class BundleFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public BundleFormatException(String message) {
+        super(message);
+    }
+
+    public BundleFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package com.flash.mastery.util.bundle;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress on one card in the session record it follows.
+ *
+ * @param card index of the card within the deck
+ */
+public record BundleProgress(int card, boolean overviewCompleted, boolean matchingCompleted,
+        boolean guessCompleted, boolean recallCompleted, boolean fillInBlankCompleted, int correctAnswers,
+        int totalAttempts, LocalDateTime lastStudiedAt) {
+}
@@ -0,0 +1,187 @@
+package com.flash.mastery.util.bundle;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.enums.StudyMode;
+import com.flash.mastery.entity.enums.StudySessionStatus;
+
+/**
+ * Reads a bundle and passes its records to a visitor as they are decoded, so memory
+ * stays constant whatever the bundle size. References between records are checked
+ * before a record is passed on, so a visitor never sees a dangling ordinal.
+ */
+public final class BundleReader {
+
+    private final InputStream body;
+    private final BundleVisitor visitor;
+    private final RecordInput record = new RecordInput();
+    private final boolean sessions;
+    private int folders;
+    private int decks;
+    private int deckCards;
+    private boolean inSession;
+
+    private BundleReader(InputStream body, BundleVisitor visitor, boolean sessions) {
+        this.body = body;
+        this.visitor = visitor;
+        this.sessions = sessions;
+    }
+
+    /**
+     * Read the whole bundle into the visitor.
+     *
+     * @throws UnsupportedBundleVersionException if the bundle is newer than this code
+     * @throws BundleFormatException             if the input is not a well-formed bundle
+     */
+    public static void read(InputStream in, BundleVisitor visitor) throws IOException {
+        final byte[] header = new byte[BundleFormat.MAGIC.length + 4];
+        if (in.readNBytes(header, 0, header.length) < header.length) {
+            throw new BundleFormatException("Not a deck bundle");
+        }
+        for (int i = 0; i < BundleFormat.MAGIC.length; i++) {
+            if (header[i] != BundleFormat.MAGIC[i]) {
+                throw new BundleFormatException("Not a deck bundle");
+            }
+        }
+        final int version = ((header[4] & 0xFF) << 8) | (header[5] & 0xFF);
+        if (version > BundleFormat.VERSION) {
+            throw new UnsupportedBundleVersionException(version);
+        }
+        final int flags = ((header[6] & 0xFF) << 8) | (header[7] & 0xFF);
+        final var inflater = new Inflater();
+        try {
+            final var body = new BufferedInputStream(
+                    new InflaterInputStream(in, inflater, BundleFormat.BUFFER_SIZE), BundleFormat.BUFFER_SIZE);
+            new BundleReader(body, visitor, (flags & BundleFormat.FLAG_SESSIONS) != 0).readRecords();
+        } catch (ZipException | EOFException ex) {
+            throw new BundleFormatException("Corrupt or truncated bundle", ex);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private void readRecords() throws IOException {
+        while (true) {
+            final int tag = this.body.read();
+            if (tag < 0) {
+                throw new BundleFormatException("Bundle ends without an end record");
+            }
+            if (tag == BundleFormat.TAG_END) {
+                return;
+            }
+            final int length = readLength();
+            if (this.body.readNBytes(this.record.reset(length), 0, length) < length) {
+                throw new EOFException();
+            }
+            switch (tag) {
+                case BundleFormat.TAG_FOLDER -> readFolder();
+                case BundleFormat.TAG_DECK -> readDeck();
+                case BundleFormat.TAG_CARD -> readCard();
+                case BundleFormat.TAG_SESSION -> readSession();
+                case BundleFormat.TAG_PROGRESS -> readProgress();
+                default -> {
+                    // Record type added by a later writer: skipped
+                }
+            }
+        }
+    }
+
+    private int readLength() throws IOException {
+        int length = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = this.body.read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            length |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (length < 0 || length > BundleFormat.MAX_RECORD_SIZE) {
+                    throw new BundleFormatException("Record too large");
+                }
+                return length;
+            }
+        }
+        throw new BundleFormatException("Malformed record length");
+    }
+
+    private void readFolder() throws IOException {
+        final int parent = checkOrdinal(this.record.readOrdinal(), this.folders, "parent folder");
+        final var folder = new BundleFolder(parent, this.record.readString(), this.record.readString(),
+                this.record.readString());
+        this.visitor.folder(this.folders++, folder);
+    }
+
+    private void readDeck() throws IOException {
+        final int folder = checkOrdinal(this.record.readOrdinal(), this.folders, "folder");
+        final var deck = new BundleDeck(folder, this.record.readString(), this.record.readString(),
+                this.record.readEnum(FlashcardType.class));
+        this.deckCards = 0;
+        this.inSession = false;
+        this.visitor.deck(this.decks++, deck);
+    }
+
+    private void readCard() throws IOException {
+        if (this.decks == 0) {
+            throw new BundleFormatException("Card before any deck");
+        }
+        final var card = new BundleCard(this.record.readString(), this.record.readString(),
+                this.record.readString(), this.record.readEnum(FlashcardType.class));
+        this.visitor.card(this.deckCards++, card);
+    }
+
+    private void readSession() throws IOException {
+        if (!this.sessions || this.decks == 0) {
+            throw new BundleFormatException("Unexpected session record");
+        }
+        final var currentMode = this.record.readEnum(StudyMode.class);
+        final var nextMode = this.record.readEnum(StudyMode.class);
+        final int currentBatchIndex = this.record.readVarInt();
+        final var status = this.record.readEnum(StudySessionStatus.class);
+        final var completedAt = this.record.readTime();
+        final int count = this.record.readVarInt();
+        if (count > this.deckCards) {
+            throw new BundleFormatException("Session holds more cards than its deck");
+        }
+        final List<Integer> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(checkCard(this.record.readVarInt()));
+        }
+        this.inSession = true;
+        this.visitor.session(new BundleSession(currentMode, nextMode, currentBatchIndex, status, completedAt, cards));
+    }
+
+    private void readProgress() throws IOException {
+        if (!this.inSession) {
+            throw new BundleFormatException("Progress before any session of the deck");
+        }
+        final int card = checkCard(this.record.readVarInt());
+        final int flags = this.record.readByte();
+        final var progress = new BundleProgress(card, (flags & 1) != 0, (flags & 2) != 0, (flags & 4) != 0,
+                (flags & 8) != 0, (flags & 16) != 0, this.record.readVarInt(), this.record.readVarInt(),
+                this.record.readTime());
+        this.visitor.progress(progress);
+    }
+
+    private static int checkOrdinal(int ordinal, int count, String what) throws BundleFormatException {
+        if (ordinal < BundleFormat.NONE || ordinal >= count) {
+            throw new BundleFormatException("Reference to unknown " + what + " " + ordinal);
+        }
+        return ordinal;
+    }
+
+    private int checkCard(int index) throws BundleFormatException {
+        if (index >= this.deckCards) {
+            throw new BundleFormatException("Reference to unknown card " + index);
+        }
+        return index;
+    }
+}
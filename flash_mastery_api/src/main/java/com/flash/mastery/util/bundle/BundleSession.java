@@ -0,0 +1,16 @@
+package com.flash.mastery.util.bundle;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.flash.mastery.entity.enums.StudyMode;
+import com.flash.mastery.entity.enums.StudySessionStatus;
+
+/**
+ * A study session of the deck record it follows.
+ *
+ * @param cards indexes of the session's cards within the deck, in session order
+ */
+public record BundleSession(StudyMode currentMode, StudyMode nextMode, int currentBatchIndex,
+        StudySessionStatus status, LocalDateTime completedAt, List<Integer> cards) {
+}
@@ -0,0 +1,23 @@
+package com.flash.mastery.util.bundle;
+
+/**
+ * Receives the records of a bundle in order. Ordinals count records of the same kind
+ * from zero; card indexes restart with every deck.
+ */
+public interface BundleVisitor {
+
+    default void folder(int ordinal, BundleFolder folder) {
+    }
+
+    default void deck(int ordinal, BundleDeck deck) {
+    }
+
+    default void card(int index, BundleCard card) {
+    }
+
+    default void session(BundleSession session) {
+    }
+
+    default void progress(BundleProgress progress) {
+    }
+}
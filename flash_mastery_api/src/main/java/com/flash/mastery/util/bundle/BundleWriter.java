@@ -0,0 +1,146 @@
+package com.flash.mastery.util.bundle;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Writes a bundle record by record; nothing but the current record is buffered.
+ * Records must come in bundle order: a folder after its parent, a deck after its
+ * folder, cards and sessions after their deck, progress after its session. Closing
+ * ends the bundle and flushes it, but leaves the underlying stream open.
+ */
+public class BundleWriter implements Closeable {
+
+    private final boolean sessions;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+    private final DeflaterOutputStream compressed;
+    private final OutputStream body;
+    private final RecordOutput record = new RecordOutput();
+    private int folders;
+    private int decks;
+    private int deckCards;
+    private boolean inSession;
+
+    /**
+     * @param sessions whether session records follow; marked in the header
+     */
+    public BundleWriter(OutputStream out, boolean sessions) throws IOException {
+        this.sessions = sessions;
+        out.write(BundleFormat.MAGIC);
+        final int flags = sessions ? BundleFormat.FLAG_SESSIONS : 0;
+        out.write(new byte[] {
+                (byte) (BundleFormat.VERSION >>> 8), (byte) BundleFormat.VERSION,
+                (byte) (flags >>> 8), (byte) flags });
+        this.compressed = new DeflaterOutputStream(out, this.deflater, BundleFormat.BUFFER_SIZE);
+        this.body = new BufferedOutputStream(this.compressed, BundleFormat.BUFFER_SIZE);
+    }
+
+    /**
+     * @return the folder's ordinal
+     */
+    public int folder(BundleFolder folder) throws IOException {
+        checkOrdinal(folder.parent(), this.folders, "parent folder");
+        this.record.writeOrdinal(folder.parent());
+        this.record.writeString(folder.name());
+        this.record.writeString(folder.description());
+        this.record.writeString(folder.color());
+        this.record.writeRecord(BundleFormat.TAG_FOLDER, this.body);
+        return this.folders++;
+    }
+
+    /**
+     * @return the deck's ordinal
+     */
+    public int deck(BundleDeck deck) throws IOException {
+        checkOrdinal(deck.folder(), this.folders, "folder");
+        this.record.writeOrdinal(deck.folder());
+        this.record.writeString(deck.name());
+        this.record.writeString(deck.description());
+        this.record.writeEnum(deck.type());
+        this.record.writeRecord(BundleFormat.TAG_DECK, this.body);
+        this.deckCards = 0;
+        this.inSession = false;
+        return this.decks++;
+    }
+
+    /**
+     * @return the card's index within its deck
+     */
+    public int card(BundleCard card) throws IOException {
+        if (this.decks == 0) {
+            throw new IllegalStateException("Card before any deck");
+        }
+        this.record.writeString(card.question());
+        this.record.writeString(card.answer());
+        this.record.writeString(card.hint());
+        this.record.writeEnum(card.type());
+        this.record.writeRecord(BundleFormat.TAG_CARD, this.body);
+        return this.deckCards++;
+    }
+
+    public void session(BundleSession session) throws IOException {
+        if (!this.sessions) {
+            throw new IllegalStateException("Bundle was opened without sessions");
+        }
+        if (this.decks == 0) {
+            throw new IllegalStateException("Session before any deck");
+        }
+        this.record.writeEnum(session.currentMode());
+        this.record.writeEnum(session.nextMode());
+        this.record.writeVarInt(session.currentBatchIndex());
+        this.record.writeEnum(session.status());
+        this.record.writeTime(session.completedAt());
+        this.record.writeVarInt(session.cards().size());
+        for (final int card : session.cards()) {
+            checkCard(card, this.deckCards);
+            this.record.writeVarInt(card);
+        }
+        this.record.writeRecord(BundleFormat.TAG_SESSION, this.body);
+        this.inSession = true;
+    }
+
+    public void progress(BundleProgress progress) throws IOException {
+        if (!this.inSession) {
+            throw new IllegalStateException("Progress before any session of the deck");
+        }
+        checkCard(progress.card(), this.deckCards);
+        this.record.writeVarInt(progress.card());
+        this.record.write((progress.overviewCompleted() ? 1 : 0)
+                | (progress.matchingCompleted() ? 2 : 0)
+                | (progress.guessCompleted() ? 4 : 0)
+                | (progress.recallCompleted() ? 8 : 0)
+                | (progress.fillInBlankCompleted() ? 16 : 0));
+        this.record.writeVarInt(progress.correctAnswers());
+        this.record.writeVarInt(progress.totalAttempts());
+        this.record.writeTime(progress.lastStudiedAt());
+        this.record.writeRecord(BundleFormat.TAG_PROGRESS, this.body);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.body.write(BundleFormat.TAG_END);
+            this.body.flush();
+            this.compressed.finish();
+            this.compressed.flush();
+        } finally {
+            this.deflater.end();
+        }
+    }
+
+    private static void checkOrdinal(int ordinal, int count, String what) {
+        if (ordinal < BundleFormat.NONE || ordinal >= count) {
+            throw new IllegalArgumentException("No " + what + " with ordinal " + ordinal + " written yet");
+        }
+    }
+
+    private static void checkCard(int index, int deckCards) {
+        if (index < 0 || index >= deckCards) {
+            throw new IllegalArgumentException("No card with index " + index + " in the deck");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.flash.mastery.util.bundle;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Decodes one record payload. Reading past the payload is a format error.
+ */
+final class RecordInput {
+
+    private byte[] buffer = new byte[256];
+    private int position;
+    private int limit;
+
+    /**
+     * @return the array to read a payload of the given length into
+     */
+    byte[] reset(int length) {
+        if (this.buffer.length < length) {
+            this.buffer = new byte[Math.max(length, this.buffer.length * 2)];
+        }
+        this.position = 0;
+        this.limit = length;
+        return this.buffer;
+    }
+
+    int readByte() throws BundleFormatException {
+        if (this.position >= this.limit) {
+            throw new BundleFormatException("Record ends unexpectedly");
+        }
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    int readVarInt() throws BundleFormatException {
+        final long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new BundleFormatException("Integer out of range");
+        }
+        return (int) value;
+    }
+
+    long readVarLong() throws BundleFormatException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new BundleFormatException("Malformed variable-length number");
+    }
+
+    int readOrdinal() throws BundleFormatException {
+        return readVarInt() - 1;
+    }
+
+    String readString() throws BundleFormatException {
+        final int length = readVarInt();
+        if (length == 0) {
+            return null;
+        }
+        final int bytes = length - 1;
+        if (bytes > this.limit - this.position) {
+            throw new BundleFormatException("String exceeds record");
+        }
+        final var value = new String(this.buffer, this.position, bytes, StandardCharsets.UTF_8);
+        this.position += bytes;
+        return value;
+    }
+
+    <E extends Enum<E>> E readEnum(Class<E> type) throws BundleFormatException {
+        final var name = readString();
+        if (name == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, name);
+        } catch (IllegalArgumentException ex) {
+            throw new BundleFormatException("Unknown " + type.getSimpleName() + ": " + name, ex);
+        }
+    }
+
+    LocalDateTime readTime() throws BundleFormatException {
+        if (readByte() == 0) {
+            return null;
+        }
+        final long zigZag = readVarLong();
+        final long seconds = (zigZag >>> 1) ^ -(zigZag & 1);
+        final int nanos = readVarInt();
+        try {
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        } catch (RuntimeException ex) {
+            throw new BundleFormatException("Invalid timestamp", ex);
+        }
+    }
+}
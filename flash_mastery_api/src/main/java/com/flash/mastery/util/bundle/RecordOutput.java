@@ -0,0 +1,85 @@
+package com.flash.mastery.util.bundle;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Reusable buffer encoding one record payload.
+ */
+final class RecordOutput extends ByteArrayOutputStream {
+
+    RecordOutput() {
+        super(256);
+    }
+
+    void writeVarInt(int value) {
+        var remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        write(remaining);
+    }
+
+    void writeVarLong(long value) {
+        var remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            write((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        write((int) remaining);
+    }
+
+    /**
+     * Ordinals that may be {@link BundleFormat#NONE} are stored shifted by one.
+     */
+    void writeOrdinal(int ordinal) {
+        writeVarInt(ordinal + 1);
+    }
+
+    void writeString(String value) {
+        if (value == null) {
+            writeVarInt(0);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length + 1);
+        write(bytes, 0, bytes.length);
+    }
+
+    void writeEnum(Enum<?> value) {
+        writeString(value != null ? value.name() : null);
+    }
+
+    void writeTime(LocalDateTime value) {
+        if (value == null) {
+            write(0);
+            return;
+        }
+        write(1);
+        final long seconds = value.toEpochSecond(ZoneOffset.UTC);
+        // Zig-zag, so times before 1970 stay short too
+        writeVarLong((seconds << 1) ^ (seconds >> 63));
+        writeVarInt(value.getNano());
+    }
+
+    /**
+     * Write the record framed with its tag and length, and reset the buffer.
+     */
+    void writeRecord(int tag, OutputStream out) throws IOException {
+        out.write(tag);
+        final int length = size();
+        var remaining = length;
+        while ((remaining & ~0x7F) != 0) {
+            out.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        out.write(remaining);
+        out.write(this.buf, 0, length);
+        reset();
+    }
+}
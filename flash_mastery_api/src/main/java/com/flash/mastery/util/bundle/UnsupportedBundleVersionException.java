@@ -0,0 +1,13 @@
+package com.flash.mastery.util.bundle;
+
+/**
+ * The bundle was written in a newer format version than this code reads.
+ */
+public class UnsupportedBundleVersionException extends BundleFormatException {
+
+    private static final long serialVersionUID = 1L;
+
+    public UnsupportedBundleVersionException(int version) {
+        super("Unsupported bundle version " + version + "; highest supported is " + BundleFormat.VERSION);
+    }
+}
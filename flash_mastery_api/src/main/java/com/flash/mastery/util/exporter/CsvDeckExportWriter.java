@@ -0,0 +1,41 @@
+package com.flash.mastery.util.exporter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * Writes rows straight to the stream through a buffered writer. No header row is
+ * written, as the importer would read it as a card.
+ */
+public class CsvDeckExportWriter implements DeckExportWriter {
+
+    private final CSVPrinter printer;
+
+    public CsvDeckExportWriter(OutputStream out) throws IOException {
+        this.printer = new CSVPrinter(
+                new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8)), CSVFormat.DEFAULT);
+    }
+
+    @Override
+    public void deck(String name) throws IOException {
+        this.printer.printRecord("*" + name);
+    }
+
+    @Override
+    public void card(String question, String answer, String hint, FlashcardType type) throws IOException {
+        this.printer.printRecord(question, answer, hint, type != null ? type.name() : null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.printer.flush();
+    }
+}
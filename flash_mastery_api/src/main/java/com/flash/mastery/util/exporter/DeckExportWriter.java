@@ -0,0 +1,19 @@
+package com.flash.mastery.util.exporter;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * Writes decks row by row in the import layout: a "*Deck name" row starts each deck,
+ * followed by one row per card (question, answer, hint, type), so an export can be
+ * imported again. Closing completes the document and flushes it, but leaves the
+ * underlying stream open.
+ */
+public interface DeckExportWriter extends Closeable {
+
+    void deck(String name) throws IOException;
+
+    void card(String question, String answer, String hint, FlashcardType type) throws IOException;
+}
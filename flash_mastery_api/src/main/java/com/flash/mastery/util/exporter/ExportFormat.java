@@ -0,0 +1,25 @@
+package com.flash.mastery.util.exporter;
+
+/**
+ * File formats decks can be exported to.
+ */
+public enum ExportFormat {
+    CSV("text/csv", ".csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", ".xlsx");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public String filename(String baseName) {
+        return baseName + this.extension;
+    }
+}
@@ -0,0 +1,13 @@
+package com.flash.mastery.util.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Where an export is written. Opened only once the export is known to succeed, so a
+ * request for a missing deck or folder can still be answered with a regular error.
+ */
+@FunctionalInterface
+public interface ExportTarget {
+    OutputStream open(String filename) throws IOException;
+}
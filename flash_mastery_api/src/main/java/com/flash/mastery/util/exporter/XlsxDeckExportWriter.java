@@ -0,0 +1,78 @@
+package com.flash.mastery.util.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import com.flash.mastery.entity.FlashcardType;
+
+/**
+ * Writes rows with POI's streaming SXSSF workbook: only the last rows of the row window
+ * stay in memory, older rows are flushed to a compressed temporary file, and strings
+ * are written inline instead of into a shared strings table. The workbook is written
+ * to the stream on close. A sheet that reaches the Excel row limit continues on a new
+ * sheet, which repeats the current deck row.
+ */
+public class XlsxDeckExportWriter implements DeckExportWriter {
+
+    private static final String SHEET_NAME = "Cards";
+    private static final int MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private final OutputStream out;
+    private final SXSSFWorkbook workbook;
+    private SXSSFSheet sheet;
+    private int rowIndex;
+    private String deckName;
+
+    public XlsxDeckExportWriter(OutputStream out, int rowWindow) {
+        this.out = out;
+        this.workbook = new SXSSFWorkbook(null, rowWindow, true, false);
+        this.sheet = this.workbook.createSheet(SHEET_NAME);
+    }
+
+    @Override
+    public void deck(String name) {
+        // A new sheet opened for this row must not repeat the previous deck
+        this.deckName = null;
+        nextRow().createCell(0).setCellValue("*" + name);
+        this.deckName = name;
+    }
+
+    @Override
+    public void card(String question, String answer, String hint, FlashcardType type) {
+        final var row = nextRow();
+        row.createCell(0).setCellValue(question);
+        row.createCell(1).setCellValue(answer);
+        if (hint != null) {
+            row.createCell(2).setCellValue(hint);
+        }
+        if (type != null) {
+            row.createCell(3).setCellValue(type.name());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            this.workbook.write(this.out);
+            this.out.flush();
+        } finally {
+            this.workbook.close();
+        }
+    }
+
+    private Row nextRow() {
+        if (this.rowIndex == MAX_ROWS) {
+            this.sheet = this.workbook.createSheet(SHEET_NAME + " (" + (this.workbook.getNumberOfSheets() + 1) + ")");
+            this.rowIndex = 0;
+            if (this.deckName != null) {
+                this.sheet.createRow(this.rowIndex++).createCell(0).setCellValue("*" + this.deckName);
+            }
+        }
+        return this.sheet.createRow(this.rowIndex++);
+    }
+}
@@ -0,0 +1,27 @@
+package com.flash.mastery.util.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decompresses a gzip input on the fly and hands the plain stream to the wrapped
+ * importer, so a compressed upload is never inflated to disk or memory.
+ */
+public class GzipImporter<T> implements Importer<T> {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Importer<T> delegate;
+
+    public GzipImporter(Importer<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void parse(InputStream inputStream, ImportPipeline<T> pipeline) throws IOException {
+        try (InputStream plain = new GZIPInputStream(inputStream, BUFFER_SIZE)) {
+            this.delegate.parse(plain, pipeline);
+        }
+    }
+}
@@ -3,10 +3,12 @@ package com.flash.mastery.util.importer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
 @Builder
 @AllArgsConstructor
+@NoArgsConstructor
 public class ImportError {
     private int rowIndex;
     private String message;
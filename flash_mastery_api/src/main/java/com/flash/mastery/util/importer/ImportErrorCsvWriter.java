@@ -0,0 +1,57 @@
+package com.flash.mastery.util.importer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
+
+/**
+ * Writes import errors as CSV rows as they occur, so a full error report can be
+ * streamed to the client without being held in memory. The target is opened on the
+ * first error or on {@link #finish()}, so a request that fails before any row is
+ * checked can still be answered with a regular error response.
+ */
+public class ImportErrorCsvWriter implements Consumer<ImportError> {
+
+    private static final CSVFormat FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader("row", "deck", "term", "message")
+            .build();
+
+    private final WriterSource target;
+    private CSVPrinter printer;
+
+    public ImportErrorCsvWriter(WriterSource target) {
+        this.target = target;
+    }
+
+    @Override
+    public void accept(ImportError error) {
+        try {
+            printer().printRecord(error.getRowIndex(), error.getDeckName(), error.getTerm(), error.getMessage());
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Write the header if no error occurred, and flush the report.
+     */
+    public void finish() throws IOException {
+        printer().flush();
+    }
+
+    private CSVPrinter printer() throws IOException {
+        if (printer == null) {
+            printer = new CSVPrinter(target.open(), FORMAT);
+        }
+        return printer;
+    }
+
+    @FunctionalInterface
+    public interface WriterSource {
+        Writer open() throws IOException;
+    }
+}
@@ -0,0 +1,196 @@
+package com.flash.mastery.util.importer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Connects a format parser to the downstream stage: each physical row pushed by an
+ * {@link Importer} is numbered, mapped and buffered, and mapped items are handed to
+ * the sink in fixed-size chunks. Mapping failures are recorded on the result; nothing
+ * else is retained, so memory is bounded by the chunk size.
+ * <p>
+ * Parsers push rows either as a reused {@link RowCursor}, which a {@link RowMapper}
+ * reads without any per-row list, or as a list of cells. A {@link RowContext} mapper is
+ * still accepted; its rows are copied into a list first.
+ */
+public class ImportPipeline<T> {
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private final RowMapper<? extends T> mapper;
+    private final boolean skipFirstRow;
+    private final ImportResult<T> result;
+    private final Consumer<List<T>> sink;
+    private final int chunkSize;
+    private final List<T> chunk;
+    private final ListRowCursor listCursor = new ListRowCursor();
+    private int rowIndex;
+    private int resumeAfterRow;
+
+    public ImportPipeline(RowMapper<? extends T> mapper, boolean skipFirstRow, ImportResult<T> result,
+            Consumer<List<T>> sink) {
+        this(mapper, skipFirstRow, result, sink, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * @param sink receives each full chunk; the list is reused once the call returns
+     */
+    public ImportPipeline(RowMapper<? extends T> mapper, boolean skipFirstRow, ImportResult<T> result,
+            Consumer<List<T>> sink, int chunkSize) {
+        this.mapper = mapper;
+        this.skipFirstRow = skipFirstRow;
+        this.result = result;
+        this.sink = sink;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.chunk = new ArrayList<>(this.chunkSize);
+        result.getStats().setChunkSize(this.chunkSize);
+    }
+
+    /**
+     * Adapt a mapper that takes a materialized {@link RowContext}.
+     */
+    public ImportPipeline(Function<RowContext, ? extends T> mapper, boolean skipFirstRow, ImportResult<T> result,
+            Consumer<List<T>> sink) {
+        this((rowIndex, row) -> mapper.apply(new RowContext(rowIndex, cellsOf(row))), skipFirstRow, result, sink,
+                DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Accept the next physical row of the input. The list is not retained, so parsers may reuse it.
+     *
+     * @param cells the row's cell values
+     */
+    public void accept(List<String> cells) {
+        accept(listCursor.reset(cells));
+    }
+
+    /**
+     * Accept the next physical row of the input; the cursor is not retained.
+     */
+    public void accept(RowCursor row) {
+        final int index = rowIndex + 1;
+        if (isSkipped(index)) {
+            rowIndex = index;
+            return;
+        }
+        final T item;
+        final long start = System.nanoTime();
+        try {
+            item = mapper.map(index, row);
+        } catch (Exception ex) {
+            rowIndex = index;
+            result.addError(index, ex.getMessage());
+            return;
+        } finally {
+            result.getStats().addMapNanos(System.nanoTime() - start);
+        }
+        add(index, item);
+    }
+
+    /**
+     * Map a row without touching pipeline state, so parsers may call it from several
+     * threads, each with its own cursor. The result must then be passed to
+     * {@link #accept(Mapped)} in row order.
+     *
+     * @param rowIndex 1-based physical row index
+     * @param row      cursor positioned on the row
+     */
+    public Mapped<T> map(int rowIndex, RowCursor row) {
+        if (isSkipped(rowIndex)) {
+            return new Mapped<>(rowIndex, null, false, null);
+        }
+        final long start = System.nanoTime();
+        try {
+            return new Mapped<>(rowIndex, mapper.map(rowIndex, row), false, null);
+        } catch (Exception ex) {
+            return new Mapped<>(rowIndex, null, true, ex.getMessage());
+        } finally {
+            result.getStats().addMapNanos(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Accept a row produced by {@link #map}; rows must arrive in increasing order.
+     */
+    public void accept(Mapped<T> row) {
+        if (row.failed()) {
+            rowIndex = row.rowIndex();
+            result.addError(rowIndex, row.error());
+            return;
+        }
+        add(row.rowIndex(), row.item());
+    }
+
+    /**
+     * Skip rows up to and including the given row, which an earlier run already processed.
+     *
+     * @param rowIndex last row handled before the interruption
+     * @return this pipeline
+     */
+    public ImportPipeline<T> resumeAfter(int rowIndex) {
+        this.resumeAfterRow = rowIndex;
+        return this;
+    }
+
+    /**
+     * Hand any partially filled chunk to the sink.
+     */
+    public void finish() {
+        flush();
+    }
+
+    /**
+     * @return timings and counters of the run, shared with the result
+     */
+    public ImportStats getStats() {
+        return result.getStats();
+    }
+
+    /**
+     * @return number of physical rows seen so far, including a skipped header
+     */
+    public int getRowsRead() {
+        return rowIndex;
+    }
+
+    private boolean isSkipped(int index) {
+        return (skipFirstRow && index == 1) || index <= resumeAfterRow;
+    }
+
+    private void add(int index, T item) {
+        rowIndex = index;
+        if (item != null) {
+            chunk.add(item);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+    }
+
+    private void flush() {
+        if (!chunk.isEmpty()) {
+            final var stats = result.getStats();
+            stats.observeBuffered(chunk.size());
+            final long start = System.nanoTime();
+            sink.accept(chunk);
+            stats.addWriteNanos(System.nanoTime() - start);
+            chunk.clear();
+        }
+    }
+
+    private static List<String> cellsOf(RowCursor row) {
+        final List<String> cells = new ArrayList<>(row.size());
+        for (int i = 0; i < row.size(); i++) {
+            cells.add(row.cell(i));
+        }
+        return cells;
+    }
+
+    /**
+     * Outcome of mapping one row: an item (null for blank or skipped rows) or an error.
+     */
+    public record Mapped<T>(int rowIndex, T item, boolean failed, String error) {
+    }
+}
@@ -2,6 +2,7 @@ package com.flash.mastery.util.importer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +10,11 @@ import lombok.Data;
 @Data
 @Builder
 public class ImportResult<T> {
+    /** Default number of errors (and skipped deck names) kept as a sample; counters stay exact. */
+    public static final int DEFAULT_MAX_ERRORS = 100;
+
+    @Builder.Default
+    private int maxErrors = DEFAULT_MAX_ERRORS;
     @Builder.Default
     private List<T> items = new ArrayList<>();
     @Builder.Default
@@ -25,6 +31,11 @@ public class ImportResult<T> {
     private int cardsSkippedDuplicate = 0;
     @Builder.Default
     private int invalidRows = 0;
+    /** Stage timings and volume counters of the run. */
+    @Builder.Default
+    private ImportStats stats = new ImportStats();
+    /** Optional receiver of every error, in row order, including those beyond the sample. */
+    private Consumer<ImportError> errorSink;
 
     public void addItem(T item) {
         if (item != null) {
@@ -37,8 +48,24 @@ public class ImportResult<T> {
     }
 
     public void addError(int rowIndex, String message, String deckName, String term) {
-        errors.add(ImportError.builder().rowIndex(rowIndex).message(message).deckName(deckName).term(term).build());
         invalidRows++;
+        if (errors.size() >= maxErrors && errorSink == null) {
+            return;
+        }
+        var error = ImportError.builder().rowIndex(rowIndex).message(message).deckName(deckName).term(term).build();
+        if (errors.size() < maxErrors) {
+            errors.add(error);
+        }
+        if (errorSink != null) {
+            errorSink.accept(error);
+        }
+    }
+
+    /**
+     * @return true if more errors occurred than are kept in {@link #getErrors()}
+     */
+    public boolean isErrorsTruncated() {
+        return invalidRows > errors.size();
     }
 
     public void addDeckCreated() {
@@ -47,7 +74,7 @@ public class ImportResult<T> {
 
     public void addDeckSkipped(String name, int rowIndex) {
         decksSkipped++;
-        if (name != null) {
+        if (name != null && skippedDeckNames.size() < maxErrors) {
             skippedDeckNames.add(name);
         }
         addError(rowIndex, "Duplicate deck name: " + name, name, null);
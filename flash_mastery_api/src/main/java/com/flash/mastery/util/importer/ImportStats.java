@@ -0,0 +1,159 @@
+package com.flash.mastery.util.importer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+
+/**
+ * Stage timings and volume counters of one import run, used to tell whether parsing,
+ * mapping, duplicate lookups or inserts dominate. Stage times are wall-clock; the read
+ * stage is whatever the total leaves after writing, i.e. parsing plus mapping when
+ * both run on the import thread. Mapping may be timed from several threads at once
+ * (parallel CSV); everything else is recorded by the import thread.
+ */
+public class ImportStats {
+
+    private final LongAdder mapNanos = new LongAdder();
+    private long writeNanos;
+    private long dedupNanos;
+    private long flushNanos;
+    private long flushMaxNanos;
+    private int flushCount;
+    private long elapsedNanos;
+    private int rowsRead;
+    private long bytesRead;
+    private int peakBufferedRows;
+    private int chunkSize;
+    private LongConsumer flushObserver;
+
+    /**
+     * Also report every flush latency (nanoseconds) to the observer, e.g. a histogram.
+     */
+    public ImportStats observeFlushes(LongConsumer observer) {
+        this.flushObserver = observer;
+        return this;
+    }
+
+    public void addMapNanos(long nanos) {
+        this.mapNanos.add(nanos);
+    }
+
+    public void addWriteNanos(long nanos) {
+        this.writeNanos += nanos;
+    }
+
+    public void addDedupNanos(long nanos) {
+        this.dedupNanos += nanos;
+    }
+
+    public void recordFlush(long nanos) {
+        this.flushCount++;
+        this.flushNanos += nanos;
+        this.flushMaxNanos = Math.max(this.flushMaxNanos, nanos);
+        if (this.flushObserver != null) {
+            this.flushObserver.accept(nanos);
+        }
+    }
+
+    /**
+     * Note how many rows are held in memory at once.
+     */
+    public void observeBuffered(int rows) {
+        this.peakBufferedRows = Math.max(this.peakBufferedRows, rows);
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public void setBytesRead(long bytesRead) {
+        this.bytesRead = bytesRead;
+    }
+
+    /**
+     * Record the totals once the input has been consumed.
+     */
+    public void complete(long elapsedNanos, int rowsRead) {
+        this.elapsedNanos = elapsedNanos;
+        this.rowsRead = rowsRead;
+    }
+
+    public long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    public long getElapsedMillis() {
+        return millis(this.elapsedNanos);
+    }
+
+    public long getReadNanos() {
+        return Math.max(0, this.elapsedNanos - this.writeNanos);
+    }
+
+    public long getReadMillis() {
+        return millis(getReadNanos());
+    }
+
+    public long getMapNanos() {
+        return this.mapNanos.sum();
+    }
+
+    public long getMapMillis() {
+        return millis(getMapNanos());
+    }
+
+    public long getDedupNanos() {
+        return this.dedupNanos;
+    }
+
+    public long getDedupMillis() {
+        return millis(this.dedupNanos);
+    }
+
+    /**
+     * Time spent in the writer apart from duplicate lookups, including flushes.
+     */
+    public long getPersistNanos() {
+        return Math.max(0, this.writeNanos - this.dedupNanos);
+    }
+
+    public long getPersistMillis() {
+        return millis(getPersistNanos());
+    }
+
+    public long getFlushMillis() {
+        return millis(this.flushNanos);
+    }
+
+    public long getFlushMaxMillis() {
+        return millis(this.flushMaxNanos);
+    }
+
+    public int getFlushCount() {
+        return this.flushCount;
+    }
+
+    public int getRowsRead() {
+        return this.rowsRead;
+    }
+
+    public double getRowsPerSecond() {
+        return this.elapsedNanos > 0 ? this.rowsRead * 1e9 / this.elapsedNanos : 0;
+    }
+
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    public int getPeakBufferedRows() {
+        return this.peakBufferedRows;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+}
@@ -2,6 +2,8 @@ package com.flash.mastery.util.importer;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.function.Function;
 
 public interface Importer<T> {
@@ -9,5 +11,46 @@ public interface Importer<T> {
         return importStream(inputStream, mapper, false);
     }
 
-    ImportResult<T> importStream(InputStream inputStream, Function<RowContext, ? extends T> mapper, boolean skipFirstRow) throws IOException;
+    /**
+     * Parse the whole input and collect every mapped item. Prefer {@link #stream} for
+     * large inputs, which never holds more than one chunk.
+     */
+    default ImportResult<T> importStream(InputStream inputStream, Function<RowContext, ? extends T> mapper, boolean skipFirstRow) throws IOException {
+        var result = ImportResult.<T>builder().build();
+        stream(inputStream, new ImportPipeline<>(mapper, skipFirstRow, result, chunk -> chunk.forEach(result::addItem)));
+        return result;
+    }
+
+    /**
+     * Parse the input, pushing rows through the pipeline, then flush its last chunk.
+     */
+    default void stream(InputStream inputStream, ImportPipeline<T> pipeline) throws IOException {
+        parse(inputStream, pipeline);
+        pipeline.finish();
+    }
+
+    /**
+     * Same as {@link #stream(InputStream, ImportPipeline)} for a file already on disk.
+     */
+    default void stream(Path file, ImportPipeline<T> pipeline) throws IOException {
+        parse(file, pipeline);
+        pipeline.finish();
+    }
+
+    /**
+     * Push every physical row of the input, in order, into the pipeline: preferably as
+     * one {@link RowCursor} repositioned on each row ({@link ImportPipeline#accept(RowCursor)}),
+     * otherwise as a list of cells.
+     */
+    void parse(InputStream inputStream, ImportPipeline<T> pipeline) throws IOException;
+
+    /**
+     * Parse a file already on disk. Formats that need random access override this to
+     * avoid spooling the input again.
+     */
+    default void parse(Path file, ImportPipeline<T> pipeline) throws IOException {
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            parse(inputStream, pipeline);
+        }
+    }
 }
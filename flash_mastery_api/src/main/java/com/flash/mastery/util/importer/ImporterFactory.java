@@ -6,18 +6,59 @@ import com.flash.mastery.constant.ErrorCodes;
 import com.flash.mastery.constant.MessageKeys;
 import com.flash.mastery.exception.BadRequestException;
 import com.flash.mastery.util.importer.csv.CsvImporter;
+import com.flash.mastery.util.importer.csv.ParallelCsvImporter;
 import com.flash.mastery.util.importer.excel.ExcelImporter;
+import com.flash.mastery.util.importer.json.JsonLinesImporter;
 
 public class ImporterFactory {
 
+    /**
+     * CSV files at least this large are parsed with {@link ParallelCsvImporter}.
+     */
+    public static final long PARALLEL_CSV_THRESHOLD_BYTES = 16L * 1024 * 1024;
+
+    /**
+     * Like {@link #forFilename(String)}, but picks the parallel CSV importer for large files.
+     */
+    public static <T> Importer<T> forFilename(String filename, long sizeBytes) {
+        String lower = filename.toLowerCase(Locale.ROOT);
+        // Plain CSV/TSV only: a gzip stream cannot be split
+        if ((lower.endsWith(".csv") || lower.endsWith(".tsv")) && sizeBytes >= PARALLEL_CSV_THRESHOLD_BYTES) {
+            return new ParallelCsvImporter<>();
+        }
+        return forFilename(filename);
+    }
+
+    /**
+     * Pick the row mapper for the file's format: JSON Lines rows carry named fields,
+     * every other format positional cells.
+     */
+    public static <T> RowMapper<T> mapperFor(String filename, RowMapper<T> cellMapper, RowMapper<T> fieldMapper) {
+        return isJsonLines(filename) ? fieldMapper : cellMapper;
+    }
+
+    private static boolean isJsonLines(String filename) {
+        String lower = filename.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".jsonl") || lower.endsWith(".jsonl.gz");
+    }
+
     public static <T> Importer<T> forFilename(String filename) {
         String lower = filename.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv.gz") || lower.endsWith(".tsv.gz")) {
+            return new GzipImporter<>(new CsvImporter<>());
+        }
         if (lower.endsWith(".csv") || lower.endsWith(".tsv")) {
             return new CsvImporter<>();
         }
         if (lower.endsWith(".xlsx")) {
             return new ExcelImporter<>();
         }
+        if (lower.endsWith(".jsonl.gz")) {
+            return new GzipImporter<>(new JsonLinesImporter<>());
+        }
+        if (lower.endsWith(".jsonl")) {
+            return new JsonLinesImporter<>();
+        }
         throw new BadRequestException(
                 ErrorCodes.UNSUPPORTED_FILE_TYPE,
                 MessageKeys.ERROR_UNSUPPORTED_FILE_TYPE,
@@ -0,0 +1,26 @@
+package com.flash.mastery.util.importer;
+
+import java.util.List;
+
+/**
+ * Cursor over rows that a parser already holds as a list.
+ */
+final class ListRowCursor implements RowCursor {
+
+    private List<String> cells = List.of();
+
+    ListRowCursor reset(List<String> cells) {
+        this.cells = cells;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.cells.size();
+    }
+
+    @Override
+    public String cell(int index) {
+        return index < 0 || index >= this.cells.size() ? null : this.cells.get(index);
+    }
+}
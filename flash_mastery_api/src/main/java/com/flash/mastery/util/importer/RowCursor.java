@@ -0,0 +1,19 @@
+package com.flash.mastery.util.importer;
+
+/**
+ * Read-only view of the row a parser is positioned on. Parsers reuse one cursor for
+ * every row instead of copying cells into a new list, so a cursor is only valid during
+ * the call that received it: mappers copy out the cell values they keep.
+ */
+public interface RowCursor {
+
+    /**
+     * @return number of cells in the row, including empty ones before the last
+     */
+    int size();
+
+    /**
+     * @return the cell value, or null when the row has no cell at that index
+     */
+    String cell(int index);
+}
@@ -0,0 +1,10 @@
+package com.flash.mastery.util.importer;
+
+/**
+ * Maps the row under a {@link RowCursor} to an item, without retaining the cursor.
+ * Return null for rows that carry no item; throw to record the row as invalid.
+ */
+@FunctionalInterface
+public interface RowMapper<T> {
+    T map(int rowIndex, RowCursor row);
+}
@@ -0,0 +1,37 @@
+package com.flash.mastery.util.importer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Writes uploaded content to spool files on disk.
+ */
+@UtilityClass
+public final class SpoolFiles {
+
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Copy up to {@code limit} bytes of the stream into the file.
+     *
+     * @return number of bytes written
+     */
+    public static long copy(InputStream in, Path target, long limit) throws IOException {
+        final var buffer = new byte[COPY_BUFFER_SIZE];
+        long written = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while (written < limit
+                    && (read = in.read(buffer, 0, (int) Math.min(buffer.length, limit - written))) != -1) {
+                out.write(buffer, 0, read);
+                written += read;
+            }
+        }
+        return written;
+    }
+}
@@ -5,57 +5,34 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.Function;
 
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 
+import com.flash.mastery.util.importer.ImportPipeline;
 import com.flash.mastery.util.importer.Importer;
-import com.flash.mastery.util.importer.ImportResult;
-import com.flash.mastery.util.importer.RowContext;
 
 public class CsvImporter<T> implements Importer<T> {
 
-    private final CSVFormat format;
-
-    public CsvImporter() {
-        this.format = CSVFormat.DEFAULT
-                .builder()
-                .setSkipHeaderRecord(true)
-                .setIgnoreSurroundingSpaces(true)
-                .setIgnoreHeaderCase(true)
-                .setTrim(true)
-                .setAllowMissingColumnNames(true)
-                .build();
-    }
+    /** Shared with {@link ParallelCsvImporter}; its splitter assumes no comment or escape chars. */
+    static final CSVFormat FORMAT = CSVFormat.DEFAULT
+            .builder()
+            .setSkipHeaderRecord(true)
+            .setIgnoreSurroundingSpaces(true)
+            .setIgnoreHeaderCase(true)
+            .setTrim(true)
+            .setAllowMissingColumnNames(true)
+            .build();
 
     @Override
-    public ImportResult<T> importStream(InputStream inputStream, Function<RowContext, ? extends T> mapper, boolean skipFirstRow) throws IOException {
-        var result = ImportResult.<T>builder().build();
+    public void parse(InputStream inputStream, ImportPipeline<T> pipeline) throws IOException {
         try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
-             CSVParser parser = new CSVParser(reader, format)) {
-            int rowIndex = 0;
+             CSVParser parser = new CSVParser(reader, FORMAT)) {
+            CsvRecordCursor cursor = new CsvRecordCursor();
             for (CSVRecord csvRecord : parser) {
-                rowIndex++;
-                if (skipFirstRow && rowIndex == 1) {
-                    continue;
-                }
-                List<String> cells = new ArrayList<>();
-                csvRecord.forEach(cells::add);
-                var ctx = new RowContext(rowIndex, cells);
-                try {
-                    T mapped = mapper.apply(ctx);
-                    if (mapped != null) {
-                        result.addItem(mapped);
-                    }
-                } catch (Exception ex) {
-                    result.addError(rowIndex, ex.getMessage());
-                }
+                pipeline.accept(cursor.reset(csvRecord));
             }
         }
-        return result;
     }
 }
@@ -0,0 +1,28 @@
+package com.flash.mastery.util.importer.csv;
+
+import org.apache.commons.csv.CSVRecord;
+
+import com.flash.mastery.util.importer.RowCursor;
+
+/**
+ * Cursor reading cells straight from the parser's current record.
+ */
+final class CsvRecordCursor implements RowCursor {
+
+    private CSVRecord current;
+
+    CsvRecordCursor reset(CSVRecord csvRecord) {
+        this.current = csvRecord;
+        return this;
+    }
+
+    @Override
+    public int size() {
+        return this.current.size();
+    }
+
+    @Override
+    public String cell(int index) {
+        return index < 0 || index >= this.current.size() ? null : this.current.get(index);
+    }
+}
@@ -0,0 +1,125 @@
+package com.flash.mastery.util.importer.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a UTF-8 CSV file into byte ranges that start and end on record boundaries,
+ * counting the records in each range so parallel parsers can number rows globally.
+ * A single pass over the bytes tracks quoting the way the commons-csv lexer does for
+ * {@link CsvImporter#FORMAT}: a quote only opens a field when it is the first
+ * non-whitespace character of the field, and CR, LF and CRLF end a line. Empty lines
+ * are not records, matching ignoreEmptyLines.
+ */
+final class CsvSplitter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_SEEN = 3;
+
+    private CsvSplitter() {
+    }
+
+    /**
+     * A byte range holding whole records.
+     *
+     * @param start    offset of the first byte
+     * @param end      offset after the last byte
+     * @param firstRow 1-based index of the first record in the range
+     * @param records  number of records in the range
+     */
+    record Split(long start, long end, int firstRow, int records) {
+    }
+
+    static List<Split> split(Path file, long targetBytes) throws IOException {
+        final List<Split> splits = new ArrayList<>();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int state = FIELD_START;
+        long lineLength = 0;
+        int records = 0;
+        int splitRecords = 0;
+        long splitStart = 0;
+        long position = 0;
+        // Pending UTF-8 sequence at a field start, to test it for whitespace
+        int pendingBytes = 0;
+        int codePoint = 0;
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++, position++) {
+                    final int b = buffer[i] & 0xFF;
+                    if (b == '\r' || b == '\n') {
+                        pendingBytes = 0;
+                        if (state == QUOTED) {
+                            lineLength++;
+                            continue;
+                        }
+                        if (lineLength > 0) {
+                            records++;
+                            splitRecords++;
+                        }
+                        lineLength = 0;
+                        state = FIELD_START;
+                        if (position + 1 - splitStart >= targetBytes && splitRecords > 0) {
+                            splits.add(new Split(splitStart, position + 1, records - splitRecords + 1, splitRecords));
+                            splitStart = position + 1;
+                            splitRecords = 0;
+                        }
+                        continue;
+                    }
+                    lineLength++;
+                    switch (state) {
+                    case FIELD_START -> {
+                        if (pendingBytes > 0) {
+                            codePoint = (codePoint << 6) | (b & 0x3F);
+                            if (--pendingBytes == 0 && !Character.isWhitespace(codePoint)) {
+                                state = UNQUOTED;
+                            }
+                        } else if (b == '"') {
+                            state = QUOTED;
+                        } else if (b >= 0xC0 && b < 0xF0) {
+                            pendingBytes = b < 0xE0 ? 1 : 2;
+                            codePoint = b & (b < 0xE0 ? 0x1F : 0x0F);
+                        } else if (b != ',' && !Character.isWhitespace(b)) {
+                            state = UNQUOTED;
+                        }
+                    }
+                    case UNQUOTED -> {
+                        if (b == ',') {
+                            state = FIELD_START;
+                        }
+                    }
+                    case QUOTED -> {
+                        if (b == '"') {
+                            state = QUOTE_SEEN;
+                        }
+                    }
+                    default -> {
+                        // A second quote is an escaped quote; anything else closes the field
+                        if (b == '"') {
+                            state = QUOTED;
+                        } else {
+                            state = b == ',' ? FIELD_START : UNQUOTED;
+                        }
+                    }
+                    }
+                }
+            }
+        }
+        if (lineLength > 0) {
+            records++;
+            splitRecords++;
+        }
+        if (position > splitStart) {
+            splits.add(new Split(splitStart, position, records - splitRecords + 1, splitRecords));
+        }
+        return splits;
+    }
+}
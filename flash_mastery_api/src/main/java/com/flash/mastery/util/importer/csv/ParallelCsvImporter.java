@@ -0,0 +1,144 @@
+package com.flash.mastery.util.importer.csv;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+
+import com.flash.mastery.util.importer.ImportPipeline;
+import com.flash.mastery.util.importer.Importer;
+
+/**
+ * CSV importer for large files. The file is cut into record-aligned splits
+ * ({@link CsvSplitter}); splits are parsed and mapped on a fork-join pool and their
+ * rows are handed to the pipeline strictly in file order, so row numbering and deck
+ * grouping are the same as with {@link CsvImporter}. Only a bounded number of splits
+ * is in flight at once. The row mapper must be thread-safe.
+ */
+public class ParallelCsvImporter<T> implements Importer<T> {
+
+    public static final long DEFAULT_SPLIT_BYTES = 4L * 1024 * 1024;
+
+    private final int parallelism;
+    private final long splitBytes;
+
+    public ParallelCsvImporter() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_SPLIT_BYTES);
+    }
+
+    public ParallelCsvImporter(int parallelism, long splitBytes) {
+        this.parallelism = Math.max(1, parallelism);
+        this.splitBytes = Math.max(1, splitBytes);
+    }
+
+    @Override
+    public void parse(InputStream inputStream, ImportPipeline<T> pipeline) throws IOException {
+        Path spooled = Files.createTempFile("flash-mastery-import-", ".csv");
+        try {
+            Files.copy(inputStream, spooled, StandardCopyOption.REPLACE_EXISTING);
+            parse(spooled, pipeline);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    @Override
+    public void parse(Path file, ImportPipeline<T> pipeline) throws IOException {
+        List<CsvSplitter.Split> splits = CsvSplitter.split(file, splitBytes);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Deque<Future<List<ImportPipeline.Mapped<T>>>> inFlight = new ArrayDeque<>();
+            int next = 0;
+            int bufferedRows = 0;
+            while (next < splits.size() || !inFlight.isEmpty()) {
+                while (next < splits.size() && inFlight.size() <= parallelism) {
+                    CsvSplitter.Split split = splits.get(next++);
+                    inFlight.add(pool.submit(() -> parseSplit(file, split, pipeline)));
+                    bufferedRows += split.records();
+                }
+                pipeline.getStats().observeBuffered(bufferedRows);
+                List<ImportPipeline.Mapped<T>> rows = await(inFlight.poll());
+                for (ImportPipeline.Mapped<T> row : rows) {
+                    pipeline.accept(row);
+                }
+                bufferedRows -= rows.size();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private List<ImportPipeline.Mapped<T>> parseSplit(Path file, CsvSplitter.Split split, ImportPipeline<T> pipeline) {
+        try {
+            List<ImportPipeline.Mapped<T>> rows = new ArrayList<>(split.records());
+            try (CSVParser parser = new CSVParser(
+                    new InputStreamReader(new ByteArrayInputStream(read(file, split)), StandardCharsets.UTF_8),
+                    CsvImporter.FORMAT)) {
+                int rowIndex = split.firstRow();
+                CsvRecordCursor cursor = new CsvRecordCursor();
+                for (CSVRecord csvRecord : parser) {
+                    rows.add(pipeline.map(rowIndex++, cursor.reset(csvRecord)));
+                }
+            }
+            if (rows.size() != split.records()) {
+                throw new IOException("CSV split at byte " + split.start() + " holds " + rows.size()
+                        + " records, expected " + split.records());
+            }
+            return rows;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static byte[] read(Path file, CsvSplitter.Split split) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(Math.toIntExact(split.end() - split.start()));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = split.start();
+            while (bytes.hasRemaining()) {
+                int read = channel.read(bytes, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+        }
+        return bytes.array();
+    }
+
+    private static <R> R await(Future<R> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while parsing CSV");
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof UncheckedIOException unchecked) {
+                throw unchecked.getCause();
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException(cause);
+        }
+    }
+}
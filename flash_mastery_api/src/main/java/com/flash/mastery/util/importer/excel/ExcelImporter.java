@@ -2,51 +2,38 @@ package com.flash.mastery.util.importer.excel;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.function.Function;
-
-import org.apache.poi.ss.usermodel.Cell;
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 
+import com.flash.mastery.util.importer.ImportPipeline;
 import com.flash.mastery.util.importer.Importer;
-import com.flash.mastery.util.importer.ImportResult;
-import com.flash.mastery.util.importer.RowContext;
 
+/**
+ * Streams the first worksheet of an XLSX workbook with a SAX parser instead of
+ * building the XSSFWorkbook DOM, so heap use stays flat regardless of sheet size.
+ * The upload is spooled to a temporary file so the zip can be read by random access.
+ * Use {@link XlsxWorkbook} directly to read the other sheets.
+ */
 public class ExcelImporter<T> implements Importer<T> {
 
     @Override
-    public ImportResult<T> importStream(InputStream inputStream, Function<RowContext, ? extends T> mapper, boolean skipFirstRow) throws IOException {
-        var result = ImportResult.<T>builder().build();
-        try (XSSFWorkbook workbook = new XSSFWorkbook(inputStream)) {
-            Sheet sheet = workbook.getNumberOfSheets() > 0 ? workbook.getSheetAt(0) : null;
-            if (sheet == null) {
-                return result;
-            }
-            int rowIndex = 0;
-            for (Row row : sheet) {
-                rowIndex++;
-                if (skipFirstRow && rowIndex == 1) {
-                    continue;
-                }
-                List<String> cells = new ArrayList<>();
-                for (int i = 0; i < row.getLastCellNum(); i++) {
-                    Cell cell = row.getCell(i);
-                    cells.add(cell != null ? cell.toString() : "");
-                }
-                var ctx = new RowContext(rowIndex, cells);
-                try {
-                    T mapped = mapper.apply(ctx);
-                    if (mapped != null) {
-                        result.addItem(mapped);
-                    }
-                } catch (Exception ex) {
-                    result.addError(rowIndex, ex.getMessage());
-                }
+    public void parse(InputStream inputStream, ImportPipeline<T> pipeline) throws IOException {
+        Path spooled = Files.createTempFile("flash-mastery-import-", ".xlsx");
+        try {
+            Files.copy(inputStream, spooled, StandardCopyOption.REPLACE_EXISTING);
+            parse(spooled, pipeline);
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    @Override
+    public void parse(Path file, ImportPipeline<T> pipeline) throws IOException {
+        try (XlsxWorkbook workbook = XlsxWorkbook.open(file)) {
+            if (!workbook.getSheetNames().isEmpty()) {
+                workbook.parseSheet(0, pipeline);
             }
         }
-        return result;
     }
 }
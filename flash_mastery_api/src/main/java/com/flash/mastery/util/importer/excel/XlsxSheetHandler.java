@@ -0,0 +1,199 @@
+package com.flash.mastery.util.importer.excel;
+
+import java.text.DateFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.ExcelNumberFormat;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.LocaleUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * SAX handler for a single worksheet part. Emits each {@code <row>} as a list of cell
+ * strings, rendered the way {@code XSSFCell.toString()} renders them: numbers via
+ * {@link Double#toString(double)}, date-formatted numbers as {@code dd-MMM-yyyy},
+ * booleans as TRUE/FALSE, formulas as their formula text and missing cells as "".
+ * Only the current row is held in memory, in a list reused for every row.
+ */
+class XlsxSheetHandler extends DefaultHandler {
+
+    private static final String DATE_PATTERN = "dd-MMM-yyyy";
+
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final Consumer<List<String>> rowConsumer;
+    private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+    private final DateFormat dateFormat;
+
+    private final List<String> cells = new ArrayList<>();
+    private boolean inRow;
+    private int nextColumn;
+
+    private int column;
+    private String type;
+    private int styleIndex;
+    private boolean formulaCell;
+    private boolean valueSet;
+    private final StringBuilder value = new StringBuilder();
+    private final StringBuilder formula = new StringBuilder();
+    private final StringBuilder inlineText = new StringBuilder();
+    private StringBuilder capture;
+    private boolean inInlineString;
+    private boolean inPhonetic;
+
+    XlsxSheetHandler(ReadOnlySharedStringsTable sharedStrings, StylesTable styles, boolean date1904,
+            Consumer<List<String>> rowConsumer) {
+        this.sharedStrings = sharedStrings;
+        this.styles = styles;
+        this.date1904 = date1904;
+        this.rowConsumer = rowConsumer;
+        this.dateFormat = new SimpleDateFormat(DATE_PATTERN, LocaleUtil.getUserLocale());
+        this.dateFormat.setTimeZone(LocaleUtil.getUserTimeZone());
+    }
+
+    @Override
+    public void startElement(String uri, String localName, String qName, Attributes attributes) {
+        switch (localName) {
+        case "row" -> {
+            this.cells.clear();
+            this.inRow = true;
+            this.nextColumn = 0;
+        }
+        case "c" -> startCell(attributes);
+        case "v" -> {
+            this.valueSet = true;
+            this.capture = this.value;
+        }
+        case "f" -> {
+            // Data table cells are not formula cells in the usermodel
+            this.formulaCell = !"dataTable".equals(attributes.getValue("t"));
+            this.capture = this.formula;
+        }
+        case "is" -> this.inInlineString = true;
+        case "rPh" -> this.inPhonetic = true;
+        case "t" -> {
+            if (this.inInlineString && !this.inPhonetic) {
+                this.capture = this.inlineText;
+            }
+        }
+        default -> {
+            // not relevant to cell values
+        }
+        }
+    }
+
+    @Override
+    public void endElement(String uri, String localName, String qName) {
+        switch (localName) {
+        case "v", "f", "t" -> this.capture = null;
+        case "is" -> this.inInlineString = false;
+        case "rPh" -> this.inPhonetic = false;
+        case "c" -> endCell();
+        case "row" -> {
+            if (this.inRow) {
+                this.rowConsumer.accept(this.cells);
+                this.inRow = false;
+            }
+        }
+        default -> {
+            // not relevant to cell values
+        }
+        }
+    }
+
+    @Override
+    public void characters(char[] ch, int start, int length) {
+        if (this.capture != null) {
+            this.capture.append(ch, start, length);
+        }
+    }
+
+    private void startCell(Attributes attributes) {
+        final var ref = attributes.getValue("r");
+        this.column = ref != null ? columnOf(ref) : this.nextColumn;
+        this.type = attributes.getValue("t");
+        final var style = attributes.getValue("s");
+        this.styleIndex = style != null ? Integer.parseInt(style) : 0;
+        this.formulaCell = false;
+        this.valueSet = false;
+        this.value.setLength(0);
+        this.formula.setLength(0);
+        this.inlineText.setLength(0);
+    }
+
+    private void endCell() {
+        if (!this.inRow) {
+            return;
+        }
+        while (this.cells.size() < this.column) {
+            this.cells.add("");
+        }
+        final var text = cellText();
+        if (this.column < this.cells.size()) {
+            this.cells.set(this.column, text);
+        } else {
+            this.cells.add(text);
+        }
+        this.nextColumn = this.column + 1;
+    }
+
+    private String cellText() {
+        // Shared/array formula followers carry no formula text; their cached value is used instead
+        if (this.formulaCell && !this.formula.isEmpty()) {
+            return this.formula.toString();
+        }
+        final var raw = this.value.toString();
+        if (this.type == null || "n".equals(this.type)) {
+            return this.valueSet && !raw.isEmpty() ? numericText(raw) : "";
+        }
+        return switch (this.type) {
+        case "s" -> this.valueSet && !raw.isEmpty()
+                ? this.sharedStrings.getItemAt(Integer.parseInt(raw.trim())).getString()
+                : "";
+        case "inlineStr" -> this.inlineText.isEmpty() ? raw : this.inlineText.toString();
+        case "b" -> "1".equals(raw.trim()) ? "TRUE" : "FALSE";
+        default -> raw;
+        };
+    }
+
+    private String numericText(String raw) {
+        final double number;
+        try {
+            number = Double.parseDouble(raw);
+        } catch (NumberFormatException ex) {
+            return raw;
+        }
+        if (DateUtil.isValidExcelDate(number) && isDateStyle(this.styleIndex)) {
+            return this.dateFormat.format(DateUtil.getJavaDate(number, this.date1904));
+        }
+        return Double.toString(number);
+    }
+
+    private boolean isDateStyle(int index) {
+        if (this.styles == null || this.styles.getNumCellStyles() == 0) {
+            return false;
+        }
+        return this.dateStyles.computeIfAbsent(index, i -> {
+            final var format = ExcelNumberFormat.from(this.styles.getStyleAt(i));
+            return format != null && DateUtil.isADateFormat(format);
+        });
+    }
+
+    private static int columnOf(String cellReference) {
+        int end = 0;
+        while (end < cellReference.length() && Character.isLetter(cellReference.charAt(end))) {
+            end++;
+        }
+        return CellReference.convertColStringToIndex(cellReference.substring(0, end));
+    }
+}
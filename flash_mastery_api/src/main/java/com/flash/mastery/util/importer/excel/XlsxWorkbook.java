@@ -0,0 +1,131 @@
+package com.flash.mastery.util.importer.excel;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
+
+import com.flash.mastery.util.importer.ImportPipeline;
+
+/**
+ * An XLSX file opened for streaming its worksheets with a SAX parser. Shared strings
+ * and styles are loaded once and only read afterwards, so different sheets may be
+ * streamed from different threads at the same time.
+ */
+public final class XlsxWorkbook implements Closeable {
+
+    private final OPCPackage pkg;
+    private final ReadOnlySharedStringsTable sharedStrings;
+    private final StylesTable styles;
+    private final boolean date1904;
+    private final List<String> sheetNames = new ArrayList<>();
+    private final List<PackagePart> sheetParts = new ArrayList<>();
+
+    private XlsxWorkbook(OPCPackage pkg) throws IOException, OpenXML4JException, SAXException {
+        this.pkg = pkg;
+        final var reader = new XSSFReader(pkg);
+        final var sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+        while (sheets.hasNext()) {
+            sheets.next().close();
+            this.sheetNames.add(sheets.getSheetName());
+            this.sheetParts.add(sheets.getSheetPart());
+        }
+        this.sharedStrings = new ReadOnlySharedStringsTable(pkg);
+        this.styles = reader.getStylesTable();
+        this.date1904 = isDate1904(reader);
+    }
+
+    public static XlsxWorkbook open(Path file) throws IOException {
+        final OPCPackage pkg;
+        try {
+            pkg = OPCPackage.open(file.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException | RuntimeException ex) {
+            // Also thrown unchecked for files that are not OOXML packages
+            throw new IOException("Unable to read XLSX file: " + ex.getMessage(), ex);
+        }
+        try {
+            return new XlsxWorkbook(pkg);
+        } catch (OpenXML4JException | SAXException | RuntimeException ex) {
+            pkg.revert();
+            throw new IOException("Unable to read XLSX file: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * @return worksheet names in workbook order
+     */
+    public List<String> getSheetNames() {
+        return List.copyOf(this.sheetNames);
+    }
+
+    /**
+     * Push every row of a worksheet, in order, into {@link ImportPipeline#accept}.
+     *
+     * @param index 0-based position of the sheet in {@link #getSheetNames()}
+     */
+    public <T> void parseSheet(int index, ImportPipeline<T> pipeline) throws IOException {
+        final var handler = new XlsxSheetHandler(this.sharedStrings, this.styles, this.date1904, pipeline::accept);
+        try (InputStream sheet = this.sheetParts.get(index).getInputStream()) {
+            parseXml(sheet, handler);
+        } catch (SAXException ex) {
+            throw new IOException("Unable to read XLSX sheet " + this.sheetNames.get(index) + ": " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Same as {@link #parseSheet}, then flush the pipeline's last chunk.
+     */
+    public <T> void streamSheet(int index, ImportPipeline<T> pipeline) throws IOException {
+        parseSheet(index, pipeline);
+        pipeline.finish();
+    }
+
+    @Override
+    public void close() {
+        this.pkg.revert();
+    }
+
+    private static boolean isDate1904(XSSFReader reader) throws IOException, OpenXML4JException, SAXException {
+        boolean[] date1904 = {false};
+        try (InputStream workbook = reader.getWorkbookData()) {
+            parseXml(workbook, new DefaultHandler() {
+                @Override
+                public void startElement(String uri, String localName, String qName, Attributes attributes) {
+                    if ("workbookPr".equals(localName)) {
+                        var value = attributes.getValue("date1904");
+                        date1904[0] = "1".equals(value) || "true".equalsIgnoreCase(value);
+                    }
+                }
+            });
+        }
+        return date1904[0];
+    }
+
+    private static void parseXml(InputStream part, ContentHandler handler) throws IOException, SAXException {
+        try {
+            var xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            xmlReader.parse(new InputSource(part));
+        } catch (ParserConfigurationException ex) {
+            throw new SAXException(ex);
+        }
+    }
+}
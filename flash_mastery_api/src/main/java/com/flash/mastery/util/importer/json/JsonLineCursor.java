@@ -0,0 +1,36 @@
+package com.flash.mastery.util.importer.json;
+
+import java.util.Arrays;
+
+import com.flash.mastery.util.importer.RowCursor;
+
+/**
+ * Presents the fields of one JSON line as cells at the field indexes of
+ * {@link JsonLinesImporter}; absent fields are null.
+ */
+final class JsonLineCursor implements RowCursor {
+
+    private final String[] fields = new String[JsonLinesImporter.DECK + 1];
+
+    JsonLineCursor clear() {
+        Arrays.fill(this.fields, null);
+        return this;
+    }
+
+    void set(int field, String value) {
+        this.fields[field] = value;
+    }
+
+    @Override
+    public int size() {
+        return this.fields.length;
+    }
+
+    @Override
+    public String cell(int index) {
+        if (index < 0 || index >= this.fields.length) {
+            return null;
+        }
+        return this.fields[index];
+    }
+}
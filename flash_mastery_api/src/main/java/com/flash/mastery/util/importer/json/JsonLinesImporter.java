@@ -0,0 +1,74 @@
+package com.flash.mastery.util.importer.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.flash.mastery.util.importer.ImportPipeline;
+import com.flash.mastery.util.importer.Importer;
+
+/**
+ * Imports JSON Lines: one object per line with the fields deck, question, answer, hint
+ * and type. The input is read with Jackson's streaming parser, token by token, so no
+ * tree is built and memory stays constant. Unknown fields are skipped. Every physical
+ * line is one row, blank lines included, so row numbers in errors are line numbers.
+ * Each field is exposed as the cell at its index below, so rows need a mapper that
+ * reads them by field rather than the positional mapper of tabular files.
+ */
+public class JsonLinesImporter<T> implements Importer<T> {
+
+    public static final int QUESTION = 0;
+    public static final int ANSWER = 1;
+    public static final int HINT = 2;
+    public static final int TYPE = 3;
+    public static final int DECK = 4;
+
+    private static final JsonFactory FACTORY = JsonFactory.builder().build();
+
+    @Override
+    public void parse(InputStream inputStream, ImportPipeline<T> pipeline) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(inputStream)) {
+            final var cursor = new JsonLineCursor();
+            int line = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token != JsonToken.START_OBJECT) {
+                    throw new JsonParseException(parser, "Expected one JSON object per line");
+                }
+                final int objectLine = parser.currentTokenLocation().getLineNr();
+                // Lines the parser skipped as whitespace still count as (blank) rows
+                while (++line < objectLine) {
+                    pipeline.accept(cursor.clear());
+                }
+                readObject(parser, cursor.clear());
+                pipeline.accept(cursor);
+            }
+        }
+    }
+
+    private static void readObject(JsonParser parser, JsonLineCursor cursor) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final var column = column(parser.currentName());
+            final var value = parser.nextToken();
+            if (column < 0 || value.isStructStart()) {
+                parser.skipChildren();
+            } else if (value != JsonToken.VALUE_NULL) {
+                cursor.set(column, parser.getText());
+            }
+        }
+    }
+
+    private static int column(String field) {
+        return switch (field) {
+            case "question" -> QUESTION;
+            case "answer" -> ANSWER;
+            case "hint" -> HINT;
+            case "type" -> TYPE;
+            case "deck" -> DECK;
+            default -> -1;
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package com.flash.mastery.util.pagination;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.constant.MessageKeys;
+import com.flash.mastery.exception.BadRequestException;
+
+import lombok.experimental.UtilityClass;
+
+/**
+ * Encodes keyset scroll positions into opaque, URL-safe cursors and back.
+ * Each key is stored with a type tag so the position can be rebuilt without
+ * knowing the sort that produced it.
+ * Example: {createdAt=2024-01-01T10:00, id=...} -> "Y3JlYXRlZEF0PXQ6MjAy..."
+ */
+@UtilityClass
+public final class CursorCodec {
+
+    private static final String PAIR_SEPARATOR = "&";
+    private static final String KEY_SEPARATOR = "=";
+    private static final char TYPE_SEPARATOR = ':';
+
+    /**
+     * Build the cursor pointing after the last element of a window.
+     *
+     * @param window the current window
+     * @return the cursor, or null if there is no next window
+     */
+    public static String nextCursor(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        final var position = window.positionAt(window.size() - 1);
+        if (!(position instanceof KeysetScrollPosition keyset)) {
+            return null;
+        }
+        return encode(keyset.getKeys());
+    }
+
+    /**
+     * Decode a cursor into a forward keyset position.
+     *
+     * @param cursor       the opaque cursor (null or blank starts from the beginning)
+     * @param expectedKeys sort properties the cursor must carry
+     * @return the scroll position
+     * @throws BadRequestException if the cursor is malformed or was issued for another sort
+     */
+    public static ScrollPosition decode(String cursor, Set<String> expectedKeys) {
+        if ((cursor == null) || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            final var raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            final Map<String, Object> keys = new LinkedHashMap<>();
+            for (final String pair : raw.split(PAIR_SEPARATOR)) {
+                final int eq = pair.indexOf(KEY_SEPARATOR);
+                final var name = pair.substring(0, eq);
+                final var value = URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                keys.put(name, parseValue(value));
+            }
+            if (!keys.keySet().equals(expectedKeys)) {
+                throw invalidCursor("Cursor keys " + keys.keySet() + " do not match sort " + expectedKeys);
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeException ex) {
+            throw invalidCursor("Malformed cursor: " + ex.getMessage());
+        }
+    }
+
+    private static String encode(Map<String, ?> keys) {
+        final var raw = new StringBuilder();
+        for (final var entry : keys.entrySet()) {
+            if (raw.length() > 0) {
+                raw.append(PAIR_SEPARATOR);
+            }
+            raw.append(entry.getKey())
+                    .append(KEY_SEPARATOR)
+                    .append(URLEncoder.encode(formatValue(entry.getValue()), StandardCharsets.UTF_8));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String formatValue(Object value) {
+        if (value == null) {
+            return "n" + TYPE_SEPARATOR;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "t" + TYPE_SEPARATOR + dateTime;
+        }
+        if (value instanceof UUID uuid) {
+            return "u" + TYPE_SEPARATOR + uuid;
+        }
+        if (value instanceof Integer number) {
+            return "i" + TYPE_SEPARATOR + number;
+        }
+        return "s" + TYPE_SEPARATOR + value;
+    }
+
+    private static Object parseValue(String value) {
+        final var type = value.charAt(0);
+        final var body = value.substring(2);
+        return switch (type) {
+        case 'n' -> null;
+        case 't' -> LocalDateTime.parse(body);
+        case 'u' -> UUID.fromString(body);
+        case 'i' -> Integer.valueOf(body);
+        case 's' -> body;
+        default -> throw new IllegalArgumentException("Unknown cursor value type: " + type);
+        };
+    }
+
+    private static BadRequestException invalidCursor(String logMessage) {
+        return new BadRequestException(ErrorCodes.INVALID_CURSOR, MessageKeys.ERROR_INVALID_CURSOR, logMessage);
+    }
+}
@@ -0,0 +1,49 @@
+package db.migration;
+
+import java.sql.ResultSet;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.flash.mastery.util.TermHash;
+
+/**
+ * Recomputes flashcards.term_hash with {@link TermHash}. The V13 backfill lower-cased
+ * terms with the database's lower(), which leaves non-ASCII letters unchanged under a
+ * C/POSIX LC_CTYPE, so those cards got hashes no import could match. Rows are streamed
+ * and only changed hashes are written, in JDBC batches.
+ */
+public class V16__rehash_flashcard_terms extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        final var connection = context.getConnection();
+        try (var select = connection.prepareStatement("SELECT id, question, term_hash FROM flashcards",
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                var update = connection.prepareStatement("UPDATE flashcards SET term_hash = ? WHERE id = ?")) {
+            // Streams on PostgreSQL, as the migration runs inside a transaction
+            select.setFetchSize(BATCH_SIZE);
+            int pending = 0;
+            try (var rows = select.executeQuery()) {
+                while (rows.next()) {
+                    final var termHash = TermHash.of(rows.getString("question"));
+                    if (termHash.equals(rows.getString("term_hash"))) {
+                        continue;
+                    }
+                    update.setString(1, termHash);
+                    update.setObject(2, rows.getObject("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+            }
+            if (pending > 0) {
+                update.executeBatch();
+            }
+        }
+    }
+}
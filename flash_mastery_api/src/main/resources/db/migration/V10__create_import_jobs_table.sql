@@ -0,0 +1,44 @@
+-- Asynchronous import jobs: spooled upload location, progress counters and the
+-- checkpoint a restarted job resumes from
+CREATE TABLE IF NOT EXISTS import_jobs (
+    id UUID PRIMARY KEY,
+    folder_id UUID NOT NULL,
+    filename VARCHAR(255) NOT NULL,
+    spool_path VARCHAR(1024) NOT NULL,
+    flashcard_type VARCHAR(32) NOT NULL,
+    skip_header BOOLEAN NOT NULL DEFAULT FALSE,
+    status VARCHAR(20) NOT NULL DEFAULT 'QUEUED',
+    cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    rows_parsed INTEGER NOT NULL DEFAULT 0,
+    cards_imported INTEGER NOT NULL DEFAULT 0,
+    decks_created INTEGER NOT NULL DEFAULT 0,
+    decks_skipped INTEGER NOT NULL DEFAULT 0,
+    cards_skipped_duplicate INTEGER NOT NULL DEFAULT 0,
+    invalid_rows INTEGER NOT NULL DEFAULT 0,
+    last_committed_row INTEGER NOT NULL DEFAULT 0,
+    current_deck_id UUID,
+    skip_current_deck BOOLEAN NOT NULL DEFAULT FALSE,
+    default_deck_skip_logged BOOLEAN NOT NULL DEFAULT FALSE,
+    error_message VARCHAR(1024),
+    finished_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT chk_import_jobs_status CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED'))
+);
+
+-- Capped sample of row errors per job
+CREATE TABLE IF NOT EXISTS import_job_errors (
+    id UUID PRIMARY KEY,
+    job_id UUID NOT NULL,
+    row_index INTEGER NOT NULL,
+    message VARCHAR(1024),
+    deck_name VARCHAR(255),
+    term VARCHAR(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_import_job_errors_job FOREIGN KEY (job_id) REFERENCES import_jobs(id) ON DELETE CASCADE
+);
+
+-- Startup resume looks up unfinished jobs by status
+CREATE INDEX IF NOT EXISTS idx_import_jobs_status ON import_jobs(status);
+CREATE INDEX IF NOT EXISTS idx_import_job_errors_job_id ON import_job_errors(job_id);
@@ -0,0 +1,19 @@
+-- Resumable chunked uploads: chunks are spooled to disk, this row holds the expected
+-- layout and checksum, and the job started once the file is assembled
+CREATE TABLE IF NOT EXISTS import_uploads (
+    id UUID PRIMARY KEY,
+    folder_id UUID NOT NULL,
+    filename VARCHAR(255) NOT NULL,
+    flashcard_type VARCHAR(32) NOT NULL,
+    skip_header BOOLEAN NOT NULL DEFAULT FALSE,
+    total_size BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    total_chunks INTEGER NOT NULL,
+    checksum VARCHAR(64) NOT NULL,
+    job_id UUID,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+-- Expiry purge scans by age
+CREATE INDEX IF NOT EXISTS idx_import_uploads_created_at ON import_uploads(created_at);
@@ -0,0 +1,18 @@
+-- Ledger of completed synchronous imports keyed by upload content, so a retried
+-- request replays the stored summary instead of importing the file again
+CREATE TABLE IF NOT EXISTS import_ledger (
+    id UUID PRIMARY KEY,
+    folder_id UUID NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    flashcard_type VARCHAR(32) NOT NULL,
+    skip_header BOOLEAN NOT NULL,
+    summary TEXT,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_import_ledger_folder FOREIGN KEY (folder_id) REFERENCES folders(id) ON DELETE CASCADE
+);
+
+-- One entry per identical submission; a concurrent duplicate blocks on it and then fails
+CREATE UNIQUE INDEX IF NOT EXISTS uq_import_ledger_submission
+    ON import_ledger(folder_id, content_hash, flashcard_type, skip_header);
+CREATE INDEX IF NOT EXISTS idx_import_ledger_created_at ON import_ledger(created_at);
@@ -0,0 +1,12 @@
+-- Hash of the normalized card term so imports can detect existing duplicates with
+-- indexed lookups. Must stay in sync with com.flash.mastery.util.TermHash:
+-- SHA-256 hex of the lower-cased term without surrounding whitespace.
+ALTER TABLE flashcards
+    ADD COLUMN IF NOT EXISTS term_hash VARCHAR(64);
+
+-- Backfill existing rows
+UPDATE flashcards
+SET term_hash = encode(sha256(convert_to(lower(btrim(question, E' \t\r\n\f\u000B')), 'UTF8')), 'hex')
+WHERE term_hash IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_flashcards_deck_term_hash ON flashcards(deck_id, term_hash);
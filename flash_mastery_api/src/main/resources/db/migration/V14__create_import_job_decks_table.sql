@@ -0,0 +1,9 @@
+-- Decks an import job created, by lower-cased name, so a job resumed after a restart
+-- can switch back to them instead of treating them as existing names
+CREATE TABLE IF NOT EXISTS import_job_decks (
+    job_id UUID NOT NULL,
+    name_key VARCHAR(255) NOT NULL,
+    deck_id UUID NOT NULL,
+    CONSTRAINT pk_import_job_decks PRIMARY KEY (job_id, name_key),
+    CONSTRAINT fk_import_job_decks_job FOREIGN KEY (job_id) REFERENCES import_jobs(id) ON DELETE CASCADE
+);
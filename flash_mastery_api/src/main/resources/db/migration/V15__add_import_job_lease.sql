@@ -0,0 +1,4 @@
+-- Lease of an import job: the instance holding it renews heartbeat_at, and other
+-- instances only resume jobs whose heartbeat is older than the lease
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS lease_owner VARCHAR(64);
+ALTER TABLE import_jobs ADD COLUMN IF NOT EXISTS heartbeat_at TIMESTAMP;
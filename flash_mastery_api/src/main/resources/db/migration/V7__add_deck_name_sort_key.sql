@@ -0,0 +1,28 @@
+-- Persisted natural-order sort key for deck names so NAME_ASC/NAME_DESC can page in SQL.
+-- Must stay in sync with com.flash.mastery.util.NaturalSortKey: digit runs are stripped of
+-- leading zeros and written after a width digit; runs of up to 10 digits get width 0 and are
+-- left-padded to 10 characters, longer runs get the digit count of their length and the
+-- length itself. Everything else is lower-cased.
+-- The "C" collation makes the comparison byte-wise, matching the Java ordering.
+ALTER TABLE decks
+    ADD COLUMN IF NOT EXISTS name_sort_key VARCHAR(1024) COLLATE "C";
+
+CREATE OR REPLACE FUNCTION natural_sort_key(input TEXT) RETURNS TEXT AS $$
+    SELECT left(string_agg(
+        CASE
+            WHEN part[1] !~ '^[0-9]+$' THEN lower(part[1])
+            WHEN length(n.digits) <= 10 THEN '0' || lpad(n.digits, 10, '0')
+            ELSE length(length(n.digits)::text) || length(n.digits)::text || n.digits
+        END, '' ORDER BY ord), 1024)
+    FROM regexp_matches(input, '([0-9]+|[^0-9]+)', 'g') WITH ORDINALITY AS t(part, ord)
+    CROSS JOIN LATERAL (SELECT COALESCE(NULLIF(ltrim(part[1], '0'), ''), '0') AS digits) AS n;
+$$ LANGUAGE sql IMMUTABLE;
+
+-- Backfill existing rows
+UPDATE decks
+SET name_sort_key = natural_sort_key(name)
+WHERE name_sort_key IS NULL;
+
+-- Index both the folder-scoped listing and the global listing
+CREATE INDEX IF NOT EXISTS idx_decks_folder_name_sort_key ON decks(folder_id, name_sort_key);
+CREATE INDEX IF NOT EXISTS idx_decks_name_sort_key ON decks(name_sort_key);
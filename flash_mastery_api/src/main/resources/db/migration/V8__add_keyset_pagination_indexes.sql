@@ -0,0 +1,19 @@
+-- Composite indexes matching the keyset (cursor) pagination seek predicates.
+-- Every keyset sort uses the primary key as tie-breaker, so it is the last index column.
+
+-- Decks: latest first, optionally scoped to a folder
+CREATE INDEX IF NOT EXISTS idx_decks_folder_created_at_id ON decks(folder_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_decks_created_at_id ON decks(created_at DESC, id DESC);
+
+-- Decks: natural name order (replaces the V7 folder/name index without the id tie-breaker)
+DROP INDEX IF EXISTS idx_decks_folder_name_sort_key;
+DROP INDEX IF EXISTS idx_decks_name_sort_key;
+CREATE INDEX IF NOT EXISTS idx_decks_folder_name_sort_key_id ON decks(folder_id, name_sort_key, id);
+CREATE INDEX IF NOT EXISTS idx_decks_name_sort_key_id ON decks(name_sort_key, id);
+
+-- Decks: card count order
+CREATE INDEX IF NOT EXISTS idx_decks_folder_card_count_id ON decks(folder_id, card_count, id);
+
+-- Flashcards: newest first within a deck (covers the plain deck_id lookups as well)
+CREATE INDEX IF NOT EXISTS idx_flashcards_deck_created_at_id ON flashcards(deck_id, created_at DESC, id DESC);
+DROP INDEX IF EXISTS idx_flashcards_deck_id;
@@ -0,0 +1,7 @@
+-- Trigram index for ranked deck name search (DeckSearchMode.RANKED).
+-- The extension lives in public so its operators resolve regardless of search_path;
+-- queries reference them as public.word_similarity / OPERATOR(public.<%).
+CREATE EXTENSION IF NOT EXISTS pg_trgm WITH SCHEMA public;
+
+-- Serves both lower(name) LIKE '%q%' and the word-similarity operator
+CREATE INDEX IF NOT EXISTS idx_decks_name_trgm ON decks USING gin (lower(name) public.gin_trgm_ops);
@@ -0,0 +1,61 @@
+package com.flash.mastery.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.ImportJob;
+import com.flash.mastery.entity.enums.ImportJobStatus;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ImportJobRepositoryTest {
+
+    private static final List<ImportJobStatus> UNFINISHED = List.of(ImportJobStatus.QUEUED, ImportJobStatus.RUNNING);
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void claimWaitsForTheOwnersLeaseToExpire() {
+        final var now = LocalDateTime.now();
+        final var jobId = saveRunningJob("other", now.minusSeconds(10));
+
+        assertThat(claim(jobId, "me", now, now.minusMinutes(2))).isZero();
+        assertThat(this.importJobRepository.findResumableIds(UNFINISHED, "me", now.minusMinutes(2)))
+                .doesNotContain(jobId);
+
+        assertThat(this.importJobRepository.findResumableIds(UNFINISHED, "me", now)).contains(jobId);
+        assertThat(claim(jobId, "me", now, now)).isOne();
+        assertThat(this.importJobRepository.findById(jobId).orElseThrow().getOwner()).isEqualTo("me");
+        assertThat(claim(jobId, "other", now, now.minusMinutes(2))).isZero();
+    }
+
+    private int claim(UUID jobId, String owner, LocalDateTime now, LocalDateTime expiredBefore) {
+        return this.transactionTemplate.execute(status -> this.importJobRepository
+                .claim(jobId, owner, UNFINISHED, now, expiredBefore));
+    }
+
+    private UUID saveRunningJob(String owner, LocalDateTime heartbeatAt) {
+        return this.importJobRepository.save(ImportJob.builder()
+                .folderId(UUID.randomUUID())
+                .filename("cards.csv")
+                .spoolPath("/nonexistent/cards.csv")
+                .flashcardType(FlashcardType.VOCABULARY)
+                .status(ImportJobStatus.RUNNING)
+                .owner(owner)
+                .heartbeatAt(heartbeatAt)
+                .build()).getId();
+    }
+}
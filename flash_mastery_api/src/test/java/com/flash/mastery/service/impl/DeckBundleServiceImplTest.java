@@ -0,0 +1,196 @@
+package com.flash.mastery.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.flash.mastery.constant.ErrorCodes;
+import com.flash.mastery.entity.Deck;
+import com.flash.mastery.entity.Flashcard;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.Folder;
+import com.flash.mastery.entity.StudySession;
+import com.flash.mastery.entity.StudySessionProgress;
+import com.flash.mastery.entity.enums.StudyMode;
+import com.flash.mastery.entity.enums.StudySessionStatus;
+import com.flash.mastery.exception.BadRequestException;
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.repository.FolderRepository;
+import com.flash.mastery.repository.StudySessionRepository;
+import com.flash.mastery.service.DeckBundleService;
+import com.flash.mastery.util.bundle.BundleDeck;
+import com.flash.mastery.util.bundle.BundleFolder;
+import com.flash.mastery.util.bundle.BundleFormat;
+import com.flash.mastery.util.bundle.BundleWriter;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class DeckBundleServiceImplTest {
+
+    @Autowired
+    private DeckBundleService deckBundleService;
+    @Autowired
+    private FolderRepository folderRepository;
+    @Autowired
+    private DeckRepository deckRepository;
+    @Autowired
+    private FlashcardRepository flashcardRepository;
+    @Autowired
+    private StudySessionRepository studySessionRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void restoresExportedFolderTreeWithNewIds() throws IOException {
+        final var original = this.transactionTemplate.execute(status -> createFolderTree());
+
+        final var bundle = new ByteArrayOutputStream();
+        this.deckBundleService.exportFolder(original.getId(), true, filename -> bundle);
+        final var response = this.deckBundleService.restore(null, bundleFile(bundle.toByteArray()));
+
+        assertThat(response.getFoldersRestored()).isEqualTo(2);
+        assertThat(response.getDecksRestored()).isEqualTo(3);
+        assertThat(response.getCardsRestored()).isEqualTo(5);
+        assertThat(response.getSessionsRestored()).isEqualTo(1);
+        assertThat(response.getRootFolderId()).isNotEqualTo(original.getId());
+
+        this.transactionTemplate.executeWithoutResult(status -> {
+            final var root = this.folderRepository.findById(response.getRootFolderId()).orElseThrow();
+            assertThat(root.getName()).isEqualTo(original.getName());
+            assertThat(root.getColor()).isEqualTo("#123456");
+            assertThat(root.getParent()).isNull();
+            assertThat(root.getDeckCount()).isEqualTo(1);
+
+            final var children = this.folderRepository.findByParentId(root.getId());
+            assertThat(children).extracting(Folder::getName).containsExactly("Child");
+            assertThat(children.get(0).getDeckCount()).isEqualTo(2);
+
+            final var verbs = singleDeck(root.getId());
+            assertThat(verbs.getName()).isEqualTo("Verbs");
+            assertThat(verbs.getCardCount()).isEqualTo(3);
+            final Map<String, Flashcard> cards = this.flashcardRepository.findByDeckId(verbs.getId()).stream()
+                    .collect(Collectors.toMap(Flashcard::getQuestion, Function.identity()));
+            assertThat(cards).containsOnlyKeys("go", "eat", "run");
+            assertThat(cards.get("go").getHint()).isEqualTo("motion");
+
+            final var childDecks = this.deckRepository.findByFolderId(children.get(0).getId(), Pageable.unpaged());
+            assertThat(childDecks).extracting(Deck::getName, Deck::getCardCount)
+                    .containsExactlyInAnyOrder(tuple("Nouns", 2), tuple("Empty", 0));
+
+            final var sessions = this.studySessionRepository.findByDeckId(verbs.getId());
+            assertThat(sessions).hasSize(1);
+            final var session = sessions.get(0);
+            assertThat(session.getCurrentMode()).isEqualTo(StudyMode.MATCHING);
+            assertThat(session.getFlashcardIds())
+                    .containsExactly(cards.get("run").getId(), cards.get("go").getId());
+            assertThat(session.getProgressRecords()).singleElement().satisfies(progress -> {
+                assertThat(progress.getFlashcard().getId()).isEqualTo(cards.get("run").getId());
+                assertThat(progress.isMatchingCompleted()).isTrue();
+                assertThat(progress.getCorrectAnswers()).isEqualTo(2);
+                assertThat(progress.getTotalAttempts()).isEqualTo(3);
+            });
+        });
+    }
+
+    @Test
+    void rejectsRecordsTheDatabaseWouldRefuse() throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try (var writer = new BundleWriter(out, false)) {
+            writer.folder(new BundleFolder(BundleFormat.NONE, "Kept only if valid", null, null));
+            writer.deck(new BundleDeck(0, " ", null, FlashcardType.VOCABULARY));
+        }
+        final long folders = this.folderRepository.count();
+
+        assertThatThrownBy(() -> this.deckBundleService.restore(null, bundleFile(out.toByteArray())))
+                .isInstanceOfSatisfying(BadRequestException.class,
+                        ex -> assertThat(ex.getErrorCode()).isEqualTo(ErrorCodes.BUNDLE_INVALID));
+        assertThat(this.folderRepository.count()).isEqualTo(folders);
+    }
+
+    /**
+     * A root folder with deck Verbs (3 cards and a session) and a child folder with decks
+     * Nouns (2 cards) and Empty.
+     */
+    private Folder createFolderTree() {
+        final var root = this.folderRepository.save(Folder.builder()
+                .name("Bundle " + UUID.randomUUID())
+                .color("#123456")
+                .build());
+        final var child = this.folderRepository.save(Folder.builder().name("Child").parent(root).build());
+        final var verbs = deck(root, "Verbs", 3);
+        final var go = card(verbs, "go", "đi", "motion");
+        card(verbs, "eat", "ăn", null);
+        final var run = card(verbs, "run", "chạy", null);
+        deck(child, "Empty", 0);
+        final var nouns = deck(child, "Nouns", 2);
+        card(nouns, "cat", "mèo", null);
+        card(nouns, "dog", "chó", null);
+
+        final var session = this.studySessionRepository.save(StudySession.builder()
+                .deck(verbs)
+                .flashcardIds(new ArrayList<>(List.of(run.getId(), go.getId())))
+                .currentMode(StudyMode.MATCHING)
+                .status(StudySessionStatus.IN_PROGRESS)
+                .build());
+        this.entityManager.persist(StudySessionProgress.builder()
+                .session(session)
+                .flashcard(run)
+                .overviewCompleted(true)
+                .matchingCompleted(true)
+                .correctAnswers(2)
+                .totalAttempts(3)
+                .build());
+        return root;
+    }
+
+    private Deck deck(Folder folder, String name, int cardCount) {
+        return this.deckRepository.save(Deck.builder()
+                .name(name)
+                .folder(folder)
+                .type(FlashcardType.VOCABULARY)
+                .cardCount(cardCount)
+                .build());
+    }
+
+    private Flashcard card(Deck deck, String question, String answer, String hint) {
+        return this.flashcardRepository.save(Flashcard.builder()
+                .deck(deck)
+                .question(question)
+                .answer(answer)
+                .hint(hint)
+                .type(FlashcardType.VOCABULARY)
+                .build());
+    }
+
+    private Deck singleDeck(UUID folderId) {
+        final var decks = this.deckRepository.findByFolderId(folderId, Pageable.unpaged()).getContent();
+        assertThat(decks).hasSize(1);
+        return decks.get(0);
+    }
+
+    private static MockMultipartFile bundleFile(byte[] content) {
+        return new MockMultipartFile("file", "backup" + BundleFormat.EXTENSION, BundleFormat.CONTENT_TYPE, content);
+    }
+}
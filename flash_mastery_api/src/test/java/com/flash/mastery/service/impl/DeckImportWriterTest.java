@@ -0,0 +1,194 @@
+package com.flash.mastery.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.flash.mastery.entity.Deck;
+import com.flash.mastery.entity.Flashcard;
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.repository.DeckRepository;
+import com.flash.mastery.repository.FlashcardRepository;
+import com.flash.mastery.util.importer.ImportResult;
+
+import jakarta.persistence.EntityManager;
+
+class DeckImportWriterTest {
+
+    private final DeckRepository deckRepository = mock(DeckRepository.class);
+    private final FlashcardRepository flashcardRepository = mock(FlashcardRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final List<Deck> decks = new ArrayList<>();
+    /** Cards the writer stored, standing in for the flashcards table. */
+    private final List<Flashcard> cards = new ArrayList<>();
+    private final ImportResult<ImportRow> summary = ImportResult.<ImportRow>builder().build();
+
+    @BeforeEach
+    void setUp() {
+        when(this.deckRepository.findNameKeysByFolderIdAndNameKeyIn(any(), anyCollection())).thenAnswer(invocation -> {
+            final Collection<String> nameKeys = invocation.getArgument(1);
+            return this.decks.stream()
+                    .map(deck -> deck.getName().toLowerCase(Locale.ROOT))
+                    .filter(nameKeys::contains)
+                    .toList();
+        });
+        when(this.deckRepository.save(any(Deck.class))).thenAnswer(invocation -> {
+            final Deck deck = invocation.getArgument(0);
+            deck.setId(UUID.randomUUID());
+            this.decks.add(deck);
+            return deck;
+        });
+        when(this.entityManager.getReference(eq(Deck.class), any())).thenAnswer(invocation -> {
+            final var deck = new Deck();
+            deck.setId(invocation.getArgument(1));
+            return deck;
+        });
+        when(this.flashcardRepository.saveAll(anyCollection())).thenAnswer(invocation -> {
+            final Collection<Flashcard> saved = invocation.getArgument(0);
+            this.cards.addAll(saved);
+            return List.copyOf(saved);
+        });
+        when(this.flashcardRepository.findTermHashesByDeckIdAndTermHashIn(any(), anyCollection()))
+                .thenAnswer(invocation -> {
+                    final UUID deckId = invocation.getArgument(0);
+                    final Collection<String> termHashes = invocation.getArgument(1);
+                    return this.cards.stream()
+                            .filter(card -> card.getDeck().getId().equals(deckId))
+                            .map(Flashcard::getTermHash)
+                            .filter(termHashes::contains)
+                            .toList();
+                });
+    }
+
+    @Test
+    void returnsToDeckOpenedEarlierInTheSameFile() {
+        final var writer = newWriter();
+
+        writer.write(List.of(
+                card(1, "a1", "A"),
+                card(2, "b1", "B"),
+                card(3, "a2", "A"),
+                card(4, "a1", "A")));
+        writer.write(List.of(
+                card(5, "b2", "B"),
+                card(6, "a3", "A")));
+        writer.finish();
+
+        assertThat(this.decks).extracting(Deck::getName).containsExactly("A", "B");
+        assertThat(questionsByDeck()).isEqualTo(Map.of(
+                "A", List.of("a1", "a2", "a3"),
+                "B", List.of("b1", "b2")));
+        assertThat(this.summary.getDecksCreated()).isEqualTo(2);
+        assertThat(this.summary.getDecksSkipped()).isZero();
+        assertThat(this.summary.getCardsImported()).isEqualTo(5);
+        assertThat(this.summary.getCardsSkippedDuplicate()).isEqualTo(1);
+    }
+
+    @Test
+    void repeatedDeckRowIsDuplicateName() {
+        final var writer = newWriter();
+
+        writer.write(List.of(
+                ImportRow.deck(1, "A"),
+                card(2, "a1", null),
+                ImportRow.deck(3, "B"),
+                card(4, "b1", null),
+                ImportRow.deck(5, "a"),
+                card(6, "a2", null)));
+        writer.finish();
+
+        // As before reopening existed, the cards do not merge into A
+        assertThat(questionsByDeck()).containsEntry("A", List.of("a1")).containsEntry("B", List.of("b1"));
+        assertThat(this.summary.getDecksSkipped()).isEqualTo(1);
+        assertThat(this.summary.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRowIndex()).isEqualTo(5));
+    }
+
+    @Test
+    void resumedImportReturnsToDeckCreatedBeforeRestart() {
+        final var first = newWriter();
+        first.write(List.of(
+                card(1, "a1", "A"),
+                card(2, "b1", "B")));
+        final var openedDeckIds = first.getOpenedDeckIds();
+
+        final var resumed = newWriter();
+        resumed.resume(first.getCurrentDeckId(), "B", false, false, openedDeckIds);
+        resumed.write(List.of(
+                card(3, "a2", "A"),
+                card(4, "a1", "A")));
+        resumed.finish();
+
+        assertThat(this.decks).extracting(Deck::getName).containsExactly("A", "B");
+        assertThat(questionsByDeck()).isEqualTo(Map.of(
+                "A", List.of("a1", "a2"),
+                "B", List.of("b1")));
+        assertThat(this.summary.getDecksSkipped()).isZero();
+        assertThat(this.summary.getCardsSkippedDuplicate()).isEqualTo(1);
+    }
+
+    @Test
+    void dryRunSkipsTermRepeatedAcrossRunsOfTheSameDeck() {
+        final var writer = new DeckImportWriter(this.deckRepository, this.flashcardRepository, this.entityManager,
+                null, true, UUID.randomUUID(), FlashcardType.VOCABULARY, this.summary);
+
+        writer.write(List.of(
+                card(1, "a1", "A"),
+                card(2, "b1", "B")));
+        writer.write(List.of(
+                card(3, "a1", "A"),
+                card(4, "a2", "A")));
+        writer.finish();
+
+        assertThat(this.cards).isEmpty();
+        assertThat(this.summary.getDecksCreated()).isEqualTo(2);
+        assertThat(this.summary.getCardsImported()).isEqualTo(3);
+        assertThat(this.summary.getCardsSkippedDuplicate()).isEqualTo(1);
+    }
+
+    @Test
+    void cardWhoseTypeDiffersFromDeckIsInvalid() {
+        final var writer = newWriter();
+
+        writer.write(List.of(
+                ImportRow.card(1, "go", "đi", null, FlashcardType.VOCABULARY, "Verbs"),
+                ImportRow.card(2, "was", "đã", null, FlashcardType.GRAMMAR, "Verbs")));
+        writer.finish();
+
+        assertThat(this.cards).extracting(Flashcard::getQuestion).containsExactly("go");
+        assertThat(this.summary.getCardsImported()).isEqualTo(1);
+        assertThat(this.summary.getInvalidRows()).isEqualTo(1);
+        assertThat(this.summary.getErrors()).singleElement()
+                .satisfies(error -> assertThat(error.getRowIndex()).isEqualTo(2));
+    }
+
+    private DeckImportWriter newWriter() {
+        return new DeckImportWriter(this.deckRepository, this.flashcardRepository, this.entityManager, null, false,
+                UUID.randomUUID(), FlashcardType.VOCABULARY, this.summary);
+    }
+
+    private Map<String, List<String>> questionsByDeck() {
+        final Map<UUID, String> deckNames = this.decks.stream().collect(Collectors.toMap(Deck::getId, Deck::getName));
+        return this.cards.stream().collect(Collectors.groupingBy(
+                card -> deckNames.get(card.getDeck().getId()),
+                Collectors.mapping(Flashcard::getQuestion, Collectors.toList())));
+    }
+
+    private static ImportRow card(int rowIndex, String question, String deckName) {
+        return ImportRow.card(rowIndex, question, "meaning of " + question, null, null, deckName);
+    }
+}
@@ -0,0 +1,182 @@
+package com.flash.mastery.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.flash.mastery.config.DatabaseFeatures;
+
+class FolderImportLocksTest {
+
+    private static final int FOLDERS = 8;
+    private static final long IMPORT_MILLIS = 20;
+    /** Only guards against a hang; a passing run never waits this long. */
+    private static final long HANG_SECONDS = 30;
+
+    private final FolderImportLocks locks = new FolderImportLocks(null, database(false), 3);
+    private final ExecutorService executor = Executors.newFixedThreadPool(FOLDERS);
+
+    @AfterEach
+    void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void importsIntoSameFolderRunOneAtATime() throws Exception {
+        final var folderId = UUID.randomUUID();
+        final var active = new AtomicInteger();
+        final var maxActive = new AtomicInteger();
+        final List<Callable<Void>> imports = new ArrayList<>();
+        for (int i = 0; i < FOLDERS; i++) {
+            imports.add(() -> {
+                try (var held = this.locks.lockForBatch(folderId)) {
+                    maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                    Thread.sleep(IMPORT_MILLIS);
+                    active.decrementAndGet();
+                }
+                return null;
+            });
+        }
+        for (final Future<Void> future : this.executor.invokeAll(imports)) {
+            future.get();
+        }
+
+        assertThat(maxActive).hasValue(1);
+    }
+
+    @Test
+    void differentFoldersAreLockedAtTheSameTime() throws Exception {
+        final var allHeld = new CountDownLatch(FOLDERS);
+        final var release = new CountDownLatch(1);
+        final List<Future<?>> imports = new ArrayList<>();
+        for (int i = 0; i < FOLDERS; i++) {
+            final var folderId = UUID.randomUUID();
+            imports.add(this.executor.submit(() -> {
+                try (var held = this.locks.lockForBatch(folderId)) {
+                    allHeld.countDown();
+                    release.await();
+                }
+                return null;
+            }));
+        }
+
+        // Every import holds its lock at once; serialized imports would never all count down
+        final boolean concurrent = allHeld.await(HANG_SECONDS, TimeUnit.SECONDS);
+        release.countDown();
+        for (final Future<?> future : imports) {
+            future.get();
+        }
+        assertThat(concurrent).isTrue();
+    }
+
+    @Test
+    void transactionLockIsReleasedWhenTransactionCompletes() throws Exception {
+        final var folderId = UUID.randomUUID();
+        final var acquired = new CountDownLatch(1);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            this.locks.lockForTransaction(folderId);
+            this.executor.submit(() -> {
+                try (var held = this.locks.lockForBatch(folderId)) {
+                    acquired.countDown();
+                }
+            });
+            while (!this.locks.hasWaiters(folderId)) {
+                Thread.onSpinWait();
+            }
+            assertThat(acquired.getCount()).isOne();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(acquired.await(HANG_SECONDS, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void postgresBatchLockUsesAdvisoryLockOnWholeFolderId() throws Exception {
+        final var connection = mock(Connection.class);
+        final var statement = mock(PreparedStatement.class);
+        final var dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        final var postgresLocks = new FolderImportLocks(dataSource, database(true), 3);
+        final var folderId = UUID.fromString("00000000-0000-0001-0000-000000000002");
+
+        postgresLocks.lockForBatch(folderId).close();
+
+        final var order = inOrder(connection, statement);
+        order.verify(connection).prepareStatement("SELECT pg_advisory_lock(?)");
+        order.verify(statement).setLong(1, 3L);
+        order.verify(connection).prepareStatement("SELECT pg_advisory_unlock(?)");
+        order.verify(statement).setLong(1, 3L);
+        order.verify(connection).close();
+    }
+
+    @Test
+    void postgresBatchLocksHoldAtMostTheConfiguredConnections() throws Exception {
+        final var dataSource = mock(DataSource.class);
+        final var open = new AtomicInteger();
+        final var maxOpen = new AtomicInteger();
+        when(dataSource.getConnection()).thenAnswer(invocation -> {
+            maxOpen.accumulateAndGet(open.incrementAndGet(), Math::max);
+            final var connection = mock(Connection.class);
+            when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+            doAnswer(close -> open.decrementAndGet()).when(connection).close();
+            return connection;
+        });
+        final var postgresLocks = new FolderImportLocks(dataSource, database(true), 3);
+        final var firstThreeHeld = new CountDownLatch(3);
+        final var release = new CountDownLatch(1);
+        final List<Future<?>> imports = new ArrayList<>();
+        for (int i = 0; i < FOLDERS; i++) {
+            final var folderId = UUID.randomUUID();
+            imports.add(this.executor.submit(() -> {
+                try (var held = postgresLocks.lockForBatch(folderId)) {
+                    firstThreeHeld.countDown();
+                    release.await();
+                }
+                return null;
+            }));
+        }
+
+        final boolean held = firstThreeHeld.await(HANG_SECONDS, TimeUnit.SECONDS);
+        release.countDown();
+        for (final Future<?> future : imports) {
+            future.get();
+        }
+        assertThat(held).isTrue();
+        assertThat(maxOpen).hasValue(3);
+        assertThat(open).hasValue(0);
+    }
+
+    private static DatabaseFeatures database(boolean postgres) {
+        final var features = mock(DatabaseFeatures.class);
+        when(features.isPostgres()).thenReturn(postgres);
+        return features;
+    }
+}
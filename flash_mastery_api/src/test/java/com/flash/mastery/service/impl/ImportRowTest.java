@@ -0,0 +1,74 @@
+package com.flash.mastery.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.util.importer.RowCursor;
+
+class ImportRowTest {
+
+    @Test
+    void tabularRowIgnoresCellsAfterMeaning() {
+        final var row = ImportRow.map(1, cells("go", "đi", "motion", "not a type", "Other deck"));
+
+        assertThat(row).isEqualTo(ImportRow.card(1, "go", "đi", null, null, null));
+    }
+
+    @Test
+    void tabularDeckRow() {
+        assertThat(ImportRow.map(1, cells(" * Verbs ", "ignored"))).isEqualTo(ImportRow.deck(1, "Verbs"));
+        assertThat(ImportRow.map(2, cells("*"))).isEqualTo(ImportRow.deck(2, DeckImportWriter.DEFAULT_DECK_NAME));
+    }
+
+    @Test
+    void escapedVocabReadsBackAsCard() {
+        for (final String vocab : List.of("*star", " * spaced", "\\*", "\\n", "\\", "plain")) {
+            final var row = ImportRow.map(1, cells(ImportRow.escapeVocab(vocab), "meaning"));
+
+            assertThat(row).isEqualTo(ImportRow.card(1, vocab.strip(), "meaning", null, null, null));
+        }
+    }
+
+    @Test
+    void jsonLineReadsNamedFields() {
+        final var row = ImportRow.mapJsonLine(3, cells("go", "đi", "motion", "grammar", "Verbs"));
+
+        assertThat(row).isEqualTo(ImportRow.card(3, "go", "đi", "motion", FlashcardType.GRAMMAR, "Verbs"));
+    }
+
+    @Test
+    void jsonLineWithOnlyDeckIsDeckRow() {
+        assertThat(ImportRow.mapJsonLine(1, cells(null, null, null, null, "Nouns")))
+                .isEqualTo(ImportRow.deck(1, "Nouns"));
+        assertThat(ImportRow.mapJsonLine(2, cells(null, null, null, null, null))).isNull();
+    }
+
+    @Test
+    void jsonLineRejectsUnknownTypeAndMissingAnswer() {
+        assertThatThrownBy(() -> ImportRow.mapJsonLine(1, cells("go", "đi", null, "verb", null)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ImportRow.mapJsonLine(1, cells("go", " ", null, null, null)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static RowCursor cells(String... values) {
+        final List<String> cells = Arrays.asList(values);
+        return new RowCursor() {
+            @Override
+            public int size() {
+                return cells.size();
+            }
+
+            @Override
+            public String cell(int index) {
+                return index < cells.size() ? cells.get(index) : null;
+            }
+        };
+    }
+}
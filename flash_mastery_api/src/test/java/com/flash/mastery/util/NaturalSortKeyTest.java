@@ -0,0 +1,41 @@
+package com.flash.mastery.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class NaturalSortKeyTest {
+
+    @Test
+    void ordersLikeNaturalOrderComparator() {
+        final List<String> names = List.of(
+                "Lesson 10", "lesson 2", "Lesson 1", "Lesson 1a", "Lesson 1 b", "Lesson 02x",
+                "a", "A2", "a10b3", "a10b20", "a 1", "2", "10", "x", "", "Unit 007", "Unit 8",
+                "Z 100", "alpha", "Alpha beta", "v1.2.10", "v1.2.9", "2147483647", "999999999");
+
+        final List<String> byKey = new ArrayList<>(names);
+        byKey.sort(Comparator.comparing(NaturalSortKey::of));
+        final List<String> byComparator = new ArrayList<>(names);
+        byComparator.sort(NaturalOrderComparator::compare);
+
+        assertThat(byKey).containsExactlyElementsOf(byComparator);
+    }
+
+    @Test
+    void ordersDigitRunsLongerThanPaddingByValue() {
+        final List<String> names = new ArrayList<>(List.of(
+                "Part 123456789012345678901234567890", "Part 100000000000", "Part 0099999999999",
+                "Part 9999999999", "Part 9"));
+
+        names.sort(Comparator.comparing(NaturalSortKey::of));
+
+        assertThat(names).containsExactly(
+                "Part 9", "Part 9999999999", "Part 0099999999999", "Part 100000000000",
+                "Part 123456789012345678901234567890");
+        assertThat(NaturalSortKey.of("Lesson 12345678901")).isEqualTo("lesson 21112345678901");
+    }
+}
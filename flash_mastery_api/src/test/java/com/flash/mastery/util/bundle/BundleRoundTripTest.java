@@ -0,0 +1,187 @@
+package com.flash.mastery.util.bundle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.flash.mastery.entity.FlashcardType;
+import com.flash.mastery.entity.enums.StudyMode;
+import com.flash.mastery.entity.enums.StudySessionStatus;
+import com.flash.mastery.util.exporter.CsvDeckExportWriter;
+
+class BundleRoundTripTest {
+
+    private static final int SIZE_DECKS = 20;
+    private static final int SIZE_CARDS_PER_DECK = 500;
+
+    @Test
+    void roundTripsEveryRecordKind() throws IOException {
+        final var studiedAt = LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_456_789);
+        final List<Object> written = List.of(
+                new BundleFolder(BundleFormat.NONE, "Languages", "All of them", "#ff0000"),
+                new BundleFolder(0, "Vietnamese", null, null),
+                new BundleDeck(1, "Verbs", "Common verbs", FlashcardType.VOCABULARY),
+                new BundleCard("go", "đi", "motion", FlashcardType.VOCABULARY),
+                new BundleCard("eat", "ăn", null, null),
+                new BundleSession(StudyMode.GUESS, StudyMode.RECALL, 3, StudySessionStatus.IN_PROGRESS, null,
+                        List.of(1, 0)),
+                new BundleProgress(1, true, true, false, false, true, 7, 9, studiedAt),
+                new BundleProgress(0, false, false, false, false, false, 0, 0, null),
+                new BundleDeck(BundleFormat.NONE, "", null, null),
+                new BundleSession(null, null, 0, StudySessionStatus.SUCCESS, studiedAt.minusYears(60), List.of()));
+
+        final var out = new ByteArrayOutputStream();
+        try (var writer = new BundleWriter(out, true)) {
+            for (final Object record : written) {
+                write(writer, record);
+            }
+        }
+
+        assertThat(read(out.toByteArray())).containsExactlyElementsOf(written);
+    }
+
+    @Test
+    void skipsRecordTypesAddedLater() throws IOException {
+        final var out = new ByteArrayOutputStream();
+        out.write(BundleFormat.MAGIC);
+        out.write(new byte[] { 0, BundleFormat.VERSION, 0, 0 });
+        try (var body = new DeflaterOutputStream(out)) {
+            final var record = new RecordOutput();
+            record.writeString("from a later version");
+            record.writeRecord(99, body);
+            record.writeOrdinal(BundleFormat.NONE);
+            record.writeString("Kept");
+            record.writeString(null);
+            record.writeEnum(null);
+            record.writeRecord(BundleFormat.TAG_DECK, body);
+            body.write(BundleFormat.TAG_END);
+        }
+
+        assertThat(read(out.toByteArray())).containsExactly(new BundleDeck(BundleFormat.NONE, "Kept", null, null));
+    }
+
+    @Test
+    void rejectsNewerVersion() {
+        final byte[] header = Arrays.copyOf(BundleFormat.MAGIC, BundleFormat.MAGIC.length + 4);
+        header[5] = BundleFormat.VERSION + 1;
+
+        assertThatThrownBy(() -> read(header))
+                .isInstanceOf(UnsupportedBundleVersionException.class);
+    }
+
+    @Test
+    void rejectsTruncatedOrForeignInput() throws IOException {
+        final var out = new ByteArrayOutputStream();
+        try (var writer = new BundleWriter(out, false)) {
+            writer.deck(new BundleDeck(BundleFormat.NONE, "Deck", null, null));
+            for (int i = 0; i < 1_000; i++) {
+                writer.card(new BundleCard("term " + i, "meaning " + i, null, null));
+            }
+        }
+        final byte[] bundle = out.toByteArray();
+
+        assertThatThrownBy(() -> read(Arrays.copyOf(bundle, bundle.length / 2)))
+                .isInstanceOf(BundleFormatException.class);
+        assertThatThrownBy(() -> read("question,answer\n".getBytes()))
+                .isInstanceOf(BundleFormatException.class);
+    }
+
+    @Test
+    void rejectsReferenceToUnknownFolder() throws IOException {
+        final var out = new ByteArrayOutputStream();
+        out.write(BundleFormat.MAGIC);
+        out.write(new byte[] { 0, BundleFormat.VERSION, 0, 0 });
+        try (var body = new DeflaterOutputStream(out)) {
+            final var record = new RecordOutput();
+            record.writeOrdinal(0);
+            record.writeString("Orphan");
+            record.writeString(null);
+            record.writeEnum(null);
+            record.writeRecord(BundleFormat.TAG_DECK, body);
+            body.write(BundleFormat.TAG_END);
+        }
+
+        assertThatThrownBy(() -> read(out.toByteArray()))
+                .isInstanceOf(BundleFormatException.class);
+    }
+
+    /**
+     * The bundle of some decks against their CSV export: it must be at most half the size.
+     */
+    @Test
+    void smallerThanCsv() throws IOException {
+        final var csvOut = new ByteArrayOutputStream();
+        final var bundleOut = new ByteArrayOutputStream();
+        try (var csv = new CsvDeckExportWriter(csvOut); var bundle = new BundleWriter(bundleOut, false)) {
+            for (int d = 0; d < SIZE_DECKS; d++) {
+                csv.deck("Deck " + d);
+                bundle.deck(new BundleDeck(BundleFormat.NONE, "Deck " + d, null, FlashcardType.VOCABULARY));
+                for (int c = 0; c < SIZE_CARDS_PER_DECK; c++) {
+                    final var question = "term " + d + "-" + c;
+                    final var answer = "meaning of term " + c + ", in deck " + d;
+                    final var hint = "hint " + c;
+                    csv.card(question, answer, hint, FlashcardType.VOCABULARY);
+                    bundle.card(new BundleCard(question, answer, hint, FlashcardType.VOCABULARY));
+                }
+            }
+        }
+
+        assertThat(bundleOut.size()).isLessThan(csvOut.size() / 2);
+        assertThat(read(bundleOut.toByteArray())).hasSize(SIZE_DECKS * (SIZE_CARDS_PER_DECK + 1));
+    }
+
+    private static void write(BundleWriter writer, Object record) throws IOException {
+        if (record instanceof BundleFolder folder) {
+            writer.folder(folder);
+        } else if (record instanceof BundleDeck deck) {
+            writer.deck(deck);
+        } else if (record instanceof BundleCard card) {
+            writer.card(card);
+        } else if (record instanceof BundleSession session) {
+            writer.session(session);
+        } else {
+            writer.progress((BundleProgress) record);
+        }
+    }
+
+    private static List<Object> read(byte[] bundle) throws IOException {
+        final List<Object> records = new ArrayList<>();
+        BundleReader.read(new ByteArrayInputStream(bundle), new BundleVisitor() {
+            @Override
+            public void folder(int ordinal, BundleFolder folder) {
+                records.add(folder);
+            }
+
+            @Override
+            public void deck(int ordinal, BundleDeck deck) {
+                records.add(deck);
+            }
+
+            @Override
+            public void card(int index, BundleCard card) {
+                records.add(card);
+            }
+
+            @Override
+            public void session(BundleSession session) {
+                records.add(session);
+            }
+
+            @Override
+            public void progress(BundleProgress progress) {
+                records.add(progress);
+            }
+        });
+        return records;
+    }
+}
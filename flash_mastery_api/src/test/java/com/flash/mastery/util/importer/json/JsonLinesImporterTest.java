@@ -0,0 +1,69 @@
+package com.flash.mastery.util.importer.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.flash.mastery.util.importer.ImportPipeline;
+import com.flash.mastery.util.importer.ImportResult;
+import com.flash.mastery.util.importer.Importer;
+import com.flash.mastery.util.importer.RowCursor;
+
+class JsonLinesImporterTest {
+
+    @Test
+    void readsFieldsInImportColumnOrder() throws IOException {
+        final var rows = parse(new JsonLinesImporter<>(), """
+                {"deck":"Verbs","question":"go","answer":"đi","hint":"motion","type":"grammar","extra":{"a":[1]}}
+                {"answer":"ăn","question":"eat"}
+                """);
+
+        assertThat(rows).containsExactly(
+                List.of("go", "đi", "motion", "grammar", "Verbs"),
+                Arrays.asList("eat", "ăn", null, null, null));
+    }
+
+    @Test
+    void deckOnlyLineHasOnlyTheDeckField() throws IOException {
+        final var rows = parse(new JsonLinesImporter<>(), "{\"deck\":\"Nouns\"}\n");
+
+        assertThat(rows).containsExactly(Arrays.asList(null, null, null, null, "Nouns"));
+    }
+
+    @Test
+    void blankLinesKeepRowsAlignedWithLines() throws IOException {
+        final var rows = parse(new JsonLinesImporter<>(), """
+                {"question":"a","answer":"1"}
+
+                {"question":"b","answer":"2"}
+                """);
+
+        assertThat(rows).hasSize(3);
+        assertThat(rows.get(1).get(0)).isNull();
+        assertThat(rows.get(2).get(0)).isEqualTo("b");
+    }
+
+    private static List<List<String>> parse(Importer<List<String>> importer, String input) throws IOException {
+        final List<List<String>> rows = new ArrayList<>();
+        final var result = ImportResult.<List<String>>builder().build();
+        final var pipeline = new ImportPipeline<List<String>>(JsonLinesImporterTest::cells, false, result,
+                rows::addAll);
+        importer.stream(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), pipeline);
+        return rows;
+    }
+
+    private static List<String> cells(int rowIndex, RowCursor row) {
+        final List<String> cells = new ArrayList<>(row.size());
+        for (int i = 0; i < row.size(); i++) {
+            cells.add(row.cell(i));
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,64 @@
+package db.migration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import org.flywaydb.core.api.migration.Context;
+import org.junit.jupiter.api.Test;
+
+import com.flash.mastery.util.TermHash;
+
+class RehashFlashcardTermsMigrationTest {
+
+    @Test
+    void rehashesTermsTheDatabaseLowerCasedWrongly() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:rehash;DB_CLOSE_DELAY=-1")) {
+            try (var statement = connection.createStatement()) {
+                statement.execute("CREATE TABLE flashcards (id UUID PRIMARY KEY, question TEXT NOT NULL, "
+                        + "term_hash VARCHAR(64))");
+            }
+            // As a C-locale lower() leaves it: the hash of the term with its upper-case letters
+            final var vietnamese = insert(connection, " Đường ", TermHash.of("đƯỜNG"));
+            final var correct = insert(connection, "Apple", TermHash.of("apple"));
+            final var missing = insert(connection, "Ñandú", null);
+
+            final var context = mock(Context.class);
+            when(context.getConnection()).thenReturn(connection);
+            new V16__rehash_flashcard_terms().migrate(context);
+
+            assertThat(hashes(connection)).isEqualTo(Map.of(
+                    vietnamese, TermHash.of("đường"),
+                    correct, TermHash.of("apple"),
+                    missing, TermHash.of("ñandú")));
+        }
+    }
+
+    private static UUID insert(Connection connection, String question, String termHash) throws Exception {
+        final var id = UUID.randomUUID();
+        try (var insert = connection.prepareStatement("INSERT INTO flashcards VALUES (?, ?, ?)")) {
+            insert.setObject(1, id);
+            insert.setString(2, question);
+            insert.setString(3, termHash);
+            insert.executeUpdate();
+        }
+        return id;
+    }
+
+    private static Map<UUID, String> hashes(Connection connection) throws Exception {
+        final Map<UUID, String> hashes = new HashMap<>();
+        try (var statement = connection.createStatement();
+                var rows = statement.executeQuery("SELECT id, term_hash FROM flashcards")) {
+            while (rows.next()) {
+                hashes.put(rows.getObject("id", UUID.class), rows.getString("term_hash"));
+            }
+        }
+        return hashes;
+    }
+}